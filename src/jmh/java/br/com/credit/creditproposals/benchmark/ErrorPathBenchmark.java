@@ -0,0 +1,85 @@
+package br.com.credit.creditproposals.benchmark;
+
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.presentation.dto.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Erros por segundo no pagamento de uma parcela já paga, lançado a "profundidade" chamadas de distância
+ * (uma requisição no Spring MVC passa de 100 quadros de pilha até o serviço):
+ * antes, IllegalStateException com pilha e a origem formatada com String.format no GlobalExceptionHandler;
+ * depois, BusinessRuleException sem pilha e o corpo ErrorResponse com o código do erro.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ErrorPathBenchmark {
+
+    @Param({"10", "150"})
+    private int profundidade;
+
+    private Proposal proposta;
+
+    @Setup
+    public void preparar() {
+        proposta = new Proposal("78858021088", new BigDecimal("1200.00"), 12, LocalDate.of(2025, 8, 12));
+        proposta.pagarParcela(1);
+    }
+
+    @Benchmark
+    public String antesExcecaoComPilha() {
+        try {
+            lancarComPilha(profundidade);
+            throw new AssertionError();
+        } catch (IllegalStateException e) {
+            // Mesmo trabalho do GlobalExceptionHandler anterior
+            StackTraceElement origem = e.getStackTrace()[0];
+            String local = String.format("%s.%s(linha %d)",
+                    origem.getClassName(), origem.getMethodName(), origem.getLineNumber());
+            return e.getMessage() + local;
+        }
+    }
+
+    @Benchmark
+    public ErrorResponse depoisExcecaoDeDominio() {
+        try {
+            pagar(profundidade);
+            throw new AssertionError();
+        } catch (BusinessRuleException e) {
+            return ErrorResponse.de(e.getCodigo(), e.getMessage());
+        }
+    }
+
+    private void lancarComPilha(int restante) {
+        if (restante > 0) {
+            lancarComPilha(restante - 1);
+            return;
+        }
+        throw new IllegalStateException("Parcela já está paga");
+    }
+
+    private void pagar(int restante) {
+        if (restante > 0) {
+            pagar(restante - 1);
+            return;
+        }
+        proposta.pagarParcela(1);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.credit.creditproposals.benchmark;
+
+import br.com.credit.creditproposals.domain.model.Proposal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de propostas (divisão do valor e geração das parcelas) e pagamento de parcela pela entidade.
+ */
+@State(Scope.Thread)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProposalBenchmark {
+
+    private static final int PROPOSTAS_POR_ITERACAO = 10_000;
+    private static final LocalDate DATA = LocalDate.of(2025, 8, 12);
+
+    @Param({"1", "12", "24"})
+    private int quantidadeParcelas;
+
+    private BigDecimal valor;
+    private Proposal[] propostas;
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        valor = new BigDecimal("1500.00");
+    }
+
+    /**
+     * Cada pagamento altera a proposta, então cada iteração recebe propostas novas
+     */
+    @Setup(Level.Iteration)
+    public void prepararPagamentos() {
+        propostas = new Proposal[PROPOSTAS_POR_ITERACAO];
+        for (int i = 0; i < propostas.length; i++) {
+            propostas[i] = new Proposal("78858021088", valor, quantidadeParcelas, DATA);
+        }
+        proxima = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Proposal criarProposta() {
+        return new Proposal("78858021088", valor, quantidadeParcelas, DATA);
+    }
+
+    /**
+     * Paga a última parcela (pior caso da busca pelo número) de uma proposta ainda não paga
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = PROPOSTAS_POR_ITERACAO)
+    @Measurement(iterations = 10, batchSize = PROPOSTAS_POR_ITERACAO)
+    public Proposal pagarUltimaParcela() {
+        Proposal proposta = propostas[proxima++];
+        proposta.pagarParcela(quantidadeParcelas);
+        return proposta;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.credit.creditproposals.benchmark;
+
+import br.com.credit.creditproposals.application.service.ProposalRequestValidator;
+import br.com.credit.creditproposals.presentation.dto.ProposalRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validações de ProposalRequest por segundo: Hibernate Validator (anotações do DTO, inclui @CPF)
+ * contra o ProposalRequestValidator, para requisições válidas e inválidas.
+ * Com -Djmh.args="ProposalRequestValidation -prof gc" também mostra a alocação por validação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ProposalRequestValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private ProposalRequestValidator validadorRapido;
+    private ProposalRequest valida;
+    private ProposalRequest cpfInvalido;
+    private ProposalRequest todosInvalidos;
+
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        validadorRapido = new ProposalRequestValidator();
+        valida = request("78858021088", new BigDecimal("1500.00"), 12, LocalDate.of(2025, 8, 12));
+        cpfInvalido = request("78858021089", new BigDecimal("1500.00"), 12, LocalDate.of(2025, 8, 12));
+        todosInvalidos = request("123", new BigDecimal("50.00"), 30, null);
+    }
+
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProposalRequest>> validarRequisicaoValida() {
+        return validator.validate(valida);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProposalRequest>> validarCpfInvalido() {
+        return validator.validate(cpfInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProposalRequest>> validarTodosOsCamposInvalidos() {
+        return validator.validate(todosInvalidos);
+    }
+
+    @Benchmark
+    public List<String> rapidoRequisicaoValida() {
+        return validadorRapido.validar(valida);
+    }
+
+    @Benchmark
+    public List<String> rapidoCpfInvalido() {
+        return validadorRapido.validar(cpfInvalido);
+    }
+
+    @Benchmark
+    public List<String> rapidoTodosOsCamposInvalidos() {
+        return validadorRapido.validar(todosInvalidos);
+    }
+
+    private static ProposalRequest request(String cpf, BigDecimal valor, int parcelas, LocalDate data) {
+        ProposalRequest request = new ProposalRequest();
+        request.setCpf(cpf);
+        request.setValorSolicitado(valor);
+        request.setQuantidadeParcelas(parcelas);
+        request.setDataSolicitacao(data);
+        return request;
+    }
+}
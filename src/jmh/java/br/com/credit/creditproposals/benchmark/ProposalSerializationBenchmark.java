@@ -0,0 +1,98 @@
+package br.com.credit.creditproposals.benchmark;
+
+import br.com.credit.creditproposals.application.query.InstallmentView;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.model.Installment;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.presentation.dto.CompactProposalResponse;
+import br.com.credit.creditproposals.presentation.dto.ProposalJsonSerializers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de uma proposta com 24 parcelas: a entidade Proposal, o ProposalView
+ * por introspecção do record, o ProposalView com o serializador dedicado (formato padrão da API)
+ * e o formato compacto (Accept: application/vnd.propostas.compacto+json),
+ * com um ObjectMapper configurado como o do Spring Boot.
+ * O tamanho em bytes de cada formato é impresso na preparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ProposalSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper objectMapperSerializadores;
+    private Proposal proposta;
+    private ProposalView view;
+    private CompactProposalResponse compacta;
+
+    @Setup
+    public void preparar() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        objectMapperSerializadores = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new ProposalJsonSerializers.ProposalViewSerializer(),
+                        new ProposalJsonSerializers.CompactProposalSerializer())
+                .build();
+        proposta = new Proposal("78858021088", new BigDecimal("2400.00"), 24, LocalDate.of(2025, 8, 12));
+        proposta.pagarParcela(1);
+
+        List<InstallmentView> parcelas = new ArrayList<>();
+        long id = 1;
+        for (Installment parcela : proposta.getParcelas()) {
+            parcelas.add(new InstallmentView(id++, parcela.getNumero(), parcela.getValor(), parcela.getStatus(),
+                    parcela.getDataVencimento()));
+        }
+        view = new ProposalView(1L, proposta.getCpf(), proposta.getValorSolicitado(),
+                proposta.getQuantidadeParcelas(), proposta.getDataSolicitacao(), parcelas);
+        compacta = CompactProposalResponse.de(view);
+
+        System.out.printf("%nbytes por proposta: entidade=%d view=%d compacta=%d%n",
+                objectMapper.writeValueAsBytes(proposta).length,
+                objectMapperSerializadores.writeValueAsBytes(view).length,
+                objectMapperSerializadores.writeValueAsBytes(compacta).length);
+    }
+
+    @Benchmark
+    public byte[] serializarEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(proposta);
+    }
+
+    @Benchmark
+    public byte[] serializarView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(view);
+    }
+
+    @Benchmark
+    public byte[] serializarViewComSerializador() throws JsonProcessingException {
+        return objectMapperSerializadores.writeValueAsBytes(view);
+    }
+
+    @Benchmark
+    public byte[] serializarCompacta() throws JsonProcessingException {
+        return objectMapperSerializadores.writeValueAsBytes(compacta);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.credit.creditproposals;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,6 +11,7 @@ import org.slf4j.LoggerFactory;
  * Responsável por iniciar o contexto da aplicação
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CreditProposalsApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(CreditProposalsApplication.class);
@@ -0,0 +1,84 @@
+package br.com.credit.creditproposals.application.config;
+
+import br.com.credit.creditproposals.application.datasource.ReadWriteRoutingDataSource;
+import br.com.credit.creditproposals.application.datasource.ReadYourWritesFilter;
+import br.com.credit.creditproposals.application.datasource.RecentWriteTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Réplica somente leitura (propostas.replica.habilitado=true).
+ *
+ * O DataSource usado pelo JPA, pelos JdbcTemplate e pelo Flyway passa a ser um LazyConnectionDataSourceProxy
+ * sobre o ReadWriteRoutingDataSource: as transações somente leitura do ProposalService (buscarProposta,
+ * listarPropostas e demais consultas) usam o pool "replica" e o restante, incluindo as migrações e as tarefas
+ * em segundo plano, o pool "primario" (spring.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "propostas.replica", name = "habilitado", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARIO);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ProposalProperties properties) {
+        ProposalProperties.Replica config = properties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(config.getUrl())
+                .username(config.getUsuario())
+                .password(config.getSenha())
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+        dataSource.setMaximumPoolSize(Math.max(1, config.getTamanhoPool()));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") HikariDataSource primarioDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 ProposalProperties properties) {
+        ReadWriteRoutingDataSource roteamento = new ReadWriteRoutingDataSource();
+        roteamento.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARIO, primarioDataSource,
+                ReadWriteRoutingDataSource.REPLICA, replicaDataSource));
+        roteamento.setDefaultTargetDataSource(primarioDataSource);
+        roteamento.afterPropertiesSet();
+        logger.info("Transações somente leitura na réplica {} (atraso máximo tolerado: {})",
+                properties.getReplica().getUrl(), properties.getReplica().getAtrasoMaximo());
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    // Depois do identificador de correlação, antes dos demais filtros
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(RecentWriteTracker escritasRecentes) {
+        FilterRegistrationBean<ReadYourWritesFilter> registro =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(escritasRecentes));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registro;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.credit.creditproposals.application.config;
+
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migrações executadas fora de transação (V3, V7 e V10) criam índices com CREATE INDEX CONCURRENTLY,
+ * que espera o fim de todas as transações abertas no banco. Por padrão o Flyway mantém o bloqueio das
+ * migrações em uma transação aberta (pg_advisory_xact_lock) durante toda a execução, e o índice esperaria
+ * por ela indefinidamente; com o bloqueio de sessão (pg_advisory_lock) nenhuma transação fica aberta.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayBloqueioDeSessao() {
+        return configuracao -> configuracao.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.credit.creditproposals.application.config;
+
+import br.com.credit.creditproposals.application.logging.CorrelationIdFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Identificador de correlação nos logs. O filtro roda antes dos demais,
+ * para que os logs de todos os filtros e do GlobalExceptionHandler levem o mesmo identificador.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registro = new FilterRegistrationBean<>(new CorrelationIdFilter());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.credit.creditproposals.application.config;
+
+import br.com.credit.creditproposals.application.metrics.HibernateRequestMetricsFilter;
+import br.com.credit.creditproposals.application.metrics.HibernateRequestStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Métricas além das fornecidas pelo Actuator (HTTP, HikariCP e estatísticas globais do Hibernate):
+ * contagem de comandos SQL e entidades carregadas por requisição.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernateRequestStatistics hibernateRequestStatistics() {
+        return new HibernateRequestStatistics();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer(HibernateRequestStatistics estatisticas) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, estatisticas);
+            propriedades.put(AvailableSettings.INTERCEPTOR, estatisticas);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<HibernateRequestMetricsFilter> hibernateRequestMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<HibernateRequestMetricsFilter> registro =
+                new FilterRegistrationBean<>(new HibernateRequestMetricsFilter(registry));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
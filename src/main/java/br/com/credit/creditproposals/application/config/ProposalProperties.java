@@ -0,0 +1,558 @@
+package br.com.credit.creditproposals.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Propriedades de configuração da aplicação de propostas (prefixo "propostas")
+ * Os valores padrão ficam nos próprios campos e podem ser sobrescritos no application.properties
+ */
+@ConfigurationProperties(prefix = "propostas")
+public class ProposalProperties {
+
+    private final Lote lote = new Lote();
+    private final Paginacao paginacao = new Paginacao();
+    private final Pagamento pagamento = new Pagamento();
+    private final Idempotencia idempotencia = new Idempotencia();
+    private final Cache cache = new Cache();
+    private final Exportacao exportacao = new Exportacao();
+    private final Importacao importacao = new Importacao();
+    private final ThreadsVirtuais threadsVirtuais = new ThreadsVirtuais();
+    private final RecebimentoAssincrono recebimentoAssincrono = new RecebimentoAssincrono();
+    private final Parcelas parcelas = new Parcelas();
+    private final Log log = new Log();
+    private final Arquivamento arquivamento = new Arquivamento();
+    private final Vencimento vencimento = new Vencimento();
+    private final Replica replica = new Replica();
+
+    public Lote getLote() {
+        return lote;
+    }
+
+    public Paginacao getPaginacao() {
+        return paginacao;
+    }
+
+    public Pagamento getPagamento() {
+        return pagamento;
+    }
+
+    public Idempotencia getIdempotencia() {
+        return idempotencia;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Exportacao getExportacao() {
+        return exportacao;
+    }
+
+    public Importacao getImportacao() {
+        return importacao;
+    }
+
+    public ThreadsVirtuais getThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    public RecebimentoAssincrono getRecebimentoAssincrono() {
+        return recebimentoAssincrono;
+    }
+
+    public Parcelas getParcelas() {
+        return parcelas;
+    }
+
+    public Log getLog() {
+        return log;
+    }
+
+    public Arquivamento getArquivamento() {
+        return arquivamento;
+    }
+
+    public Vencimento getVencimento() {
+        return vencimento;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
+    /**
+     * Configurações da criação de propostas em lote
+     */
+    public static class Lote {
+
+        // Quantidade máxima de propostas aceitas em uma única requisição
+        private int tamanhoMaximo = 1000;
+
+        public int getTamanhoMaximo() {
+            return tamanhoMaximo;
+        }
+
+        public void setTamanhoMaximo(int tamanhoMaximo) {
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+    }
+
+    /**
+     * Configurações da listagem por cursor (GET /propostas/cursor)
+     */
+    public static class Paginacao {
+
+        // Tamanho máximo de página aceito no parâmetro "size"
+        private int tamanhoMaximo = 100;
+
+        public int getTamanhoMaximo() {
+            return tamanhoMaximo;
+        }
+
+        public void setTamanhoMaximo(int tamanhoMaximo) {
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+    }
+
+    /**
+     * Configurações do pagamento de parcelas
+     */
+    public static class Pagamento {
+
+        // Pagamento em lote: quantidade máxima de parcelas por requisição
+        private int tamanhoMaximoLote = 10_000;
+
+        // Pagamento em lote: parcelas aplicadas por transação
+        private int tamanhoLote = 1000;
+
+        public int getTamanhoMaximoLote() {
+            return tamanhoMaximoLote;
+        }
+
+        public void setTamanhoMaximoLote(int tamanhoMaximoLote) {
+            this.tamanhoMaximoLote = tamanhoMaximoLote;
+        }
+
+        public int getTamanhoLote() {
+            return tamanhoLote;
+        }
+
+        public void setTamanhoLote(int tamanhoLote) {
+            this.tamanhoLote = tamanhoLote;
+        }
+    }
+
+    /**
+     * Configurações das chaves de idempotência (cabeçalho Idempotency-Key)
+     */
+    public static class Idempotencia {
+
+        // Tempo durante o qual uma resposta registrada pode ser devolvida novamente
+        private Duration ttl = Duration.ofHours(24);
+
+        // Quantidade máxima de respostas mantidas em memória (as demais ficam apenas no banco)
+        private int tamanhoMaximoCache = 10_000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getTamanhoMaximoCache() {
+            return tamanhoMaximoCache;
+        }
+
+        public void setTamanhoMaximoCache(int tamanhoMaximoCache) {
+            this.tamanhoMaximoCache = tamanhoMaximoCache;
+        }
+    }
+
+    /**
+     * Configurações do cache de consulta de propostas por ID
+     */
+    public static class Cache {
+
+        // Permite desligar o cache para comparar a latência com e sem ele
+        private boolean habilitado = true;
+
+        // Quantidade máxima de propostas mantidas em memória
+        private int tamanhoMaximo = 10_000;
+
+        // Tempo máximo que uma proposta permanece no cache após ser carregada
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public int getTamanhoMaximo() {
+            return tamanhoMaximo;
+        }
+
+        public void setTamanhoMaximo(int tamanhoMaximo) {
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Configurações da exportação de propostas (GET /propostas/export)
+     */
+    public static class Exportacao {
+
+        // Quantidade de linhas trazidas do banco a cada ida do cursor
+        private int tamanhoFetch = 1000;
+
+        public int getTamanhoFetch() {
+            return tamanhoFetch;
+        }
+
+        public void setTamanhoFetch(int tamanhoFetch) {
+            this.tamanhoFetch = tamanhoFetch;
+        }
+    }
+
+    /**
+     * Configurações da importação de propostas em CSV (POST /propostas/importacao)
+     */
+    public static class Importacao {
+
+        // Quantidade de propostas gravadas por transação
+        private int tamanhoLote = 5000;
+
+        // Quantidade máxima de linhas rejeitadas detalhadas no relatório (o total é sempre informado)
+        private int maxRejeicoesRelatorio = 1000;
+
+        public int getTamanhoLote() {
+            return tamanhoLote;
+        }
+
+        public void setTamanhoLote(int tamanhoLote) {
+            this.tamanhoLote = tamanhoLote;
+        }
+
+        public int getMaxRejeicoesRelatorio() {
+            return maxRejeicoesRelatorio;
+        }
+
+        public void setMaxRejeicoesRelatorio(int maxRejeicoesRelatorio) {
+            this.maxRejeicoesRelatorio = maxRejeicoesRelatorio;
+        }
+    }
+
+    /**
+     * Execução das requisições em threads virtuais (Java 21)
+     */
+    public static class ThreadsVirtuais {
+
+        // Desligado: cada requisição ocupa uma thread do pool do Tomcat (server.tomcat.threads.max)
+        private boolean habilitado = false;
+
+        // Requisições atendidas ao mesmo tempo; as demais aguardam sem ocupar thread de plataforma.
+        // Mantém a demanda por conexões proporcional ao pool do Hikari (spring.datasource.hikari.maximum-pool-size)
+        private int maxConcorrencia = 200;
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public int getMaxConcorrencia() {
+            return maxConcorrencia;
+        }
+
+        public void setMaxConcorrencia(int maxConcorrencia) {
+            this.maxConcorrencia = maxConcorrencia;
+        }
+    }
+
+    /**
+     * Recebimento assíncrono de propostas: POST /propostas responde 202 e a gravação é feita em lotes
+     */
+    public static class RecebimentoAssincrono {
+
+        private boolean habilitado = false;
+
+        // Propostas aceitas aguardando gravação; com a fila cheia a criação responde 429
+        private int capacidadeFila = 10_000;
+
+        // Quantidade máxima de propostas gravadas por transação
+        private int tamanhoLote = 500;
+
+        // Tempo máximo que a primeira proposta de um lote aguarda até o lote ser gravado
+        private Duration intervaloMaximo = Duration.ofMillis(50);
+
+        // Tempo máximo para gravar as propostas que ainda estão na fila quando a aplicação é encerrada
+        private Duration tempoDrenagem = Duration.ofSeconds(30);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public int getCapacidadeFila() {
+            return capacidadeFila;
+        }
+
+        public void setCapacidadeFila(int capacidadeFila) {
+            this.capacidadeFila = capacidadeFila;
+        }
+
+        public int getTamanhoLote() {
+            return tamanhoLote;
+        }
+
+        public void setTamanhoLote(int tamanhoLote) {
+            this.tamanhoLote = tamanhoLote;
+        }
+
+        public Duration getIntervaloMaximo() {
+            return intervaloMaximo;
+        }
+
+        public void setIntervaloMaximo(Duration intervaloMaximo) {
+            this.intervaloMaximo = intervaloMaximo;
+        }
+
+        public Duration getTempoDrenagem() {
+            return tempoDrenagem;
+        }
+
+        public void setTempoDrenagem(Duration tempoDrenagem) {
+            this.tempoDrenagem = tempoDrenagem;
+        }
+    }
+
+    /**
+     * Forma de armazenamento das parcelas das novas propostas
+     */
+    public static class Parcelas {
+
+        public enum Armazenamento {
+            // Uma linha na tabela "parcela" por parcela (entidade Installment)
+            LINHAS,
+            // Valor e mapa de bits das parcelas pagas na própria linha da proposta
+            COMPACTO
+        }
+
+        private Armazenamento armazenamento = Armazenamento.LINHAS;
+
+        // Converte em segundo plano as propostas já gravadas em linhas (somente no armazenamento compacto)
+        private boolean compactarExistentes = false;
+
+        // Propostas convertidas por transação da compactação
+        private int tamanhoLoteCompactacao = 500;
+
+        public Armazenamento getArmazenamento() {
+            return armazenamento;
+        }
+
+        public void setArmazenamento(Armazenamento armazenamento) {
+            this.armazenamento = armazenamento;
+        }
+
+        public boolean isCompacto() {
+            return armazenamento == Armazenamento.COMPACTO;
+        }
+
+        public boolean isCompactarExistentes() {
+            return compactarExistentes;
+        }
+
+        public void setCompactarExistentes(boolean compactarExistentes) {
+            this.compactarExistentes = compactarExistentes;
+        }
+
+        public int getTamanhoLoteCompactacao() {
+            return tamanhoLoteCompactacao;
+        }
+
+        public void setTamanhoLoteCompactacao(int tamanhoLoteCompactacao) {
+            this.tamanhoLoteCompactacao = tamanhoLoteCompactacao;
+        }
+    }
+
+    /**
+     * Logs dos erros do cliente (a fila do appender assíncrono é configurada no logback-spring.xml)
+     */
+    public static class Log {
+
+        // Registra a 1ª ocorrência de cada código de erro 4xx e depois 1 a cada N (1 = todas)
+        private int amostragemErrosCliente = 100;
+
+        public int getAmostragemErrosCliente() {
+            return amostragemErrosCliente;
+        }
+
+        public void setAmostragemErrosCliente(int amostragemErrosCliente) {
+            this.amostragemErrosCliente = amostragemErrosCliente;
+        }
+    }
+
+    /**
+     * Arquivamento das propostas quitadas (todas as parcelas pagas) nas tabelas proposta_arquivo e parcela_arquivo
+     */
+    public static class Arquivamento {
+
+        private boolean habilitado = false;
+
+        // Propostas verificadas (e, se quitadas, movidas) por transação
+        private int tamanhoLote = 200;
+
+        // Fração máxima do tempo em que o arquivamento fica trabalhando: após um lote de duração d, espera d * (1 - f) / f
+        private double ocupacaoMaxima = 0.1;
+
+        // Espera entre o fim de uma varredura completa da tabela e o início da próxima
+        private Duration pausaEntreVarreduras = Duration.ofHours(1);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public int getTamanhoLote() {
+            return tamanhoLote;
+        }
+
+        public void setTamanhoLote(int tamanhoLote) {
+            this.tamanhoLote = tamanhoLote;
+        }
+
+        public double getOcupacaoMaxima() {
+            return ocupacaoMaxima;
+        }
+
+        public void setOcupacaoMaxima(double ocupacaoMaxima) {
+            this.ocupacaoMaxima = ocupacaoMaxima;
+        }
+
+        public Duration getPausaEntreVarreduras() {
+            return pausaEntreVarreduras;
+        }
+
+        public void setPausaEntreVarreduras(Duration pausaEntreVarreduras) {
+            this.pausaEntreVarreduras = pausaEntreVarreduras;
+        }
+    }
+
+    /**
+     * Marcação das parcelas EM_ABERTO com vencimento anterior a hoje como VENCIDA
+     */
+    public static class Vencimento {
+
+        private boolean habilitado = true;
+
+        // Parcelas lidas do índice e marcadas por transação
+        private int tamanhoLote = 1000;
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public int getTamanhoLote() {
+            return tamanhoLote;
+        }
+
+        public void setTamanhoLote(int tamanhoLote) {
+            this.tamanhoLote = tamanhoLote;
+        }
+    }
+
+    /**
+     * Réplica somente leitura: as transações somente leitura usam a réplica e as demais o banco principal
+     * (spring.datasource.*)
+     */
+    public static class Replica {
+
+        private boolean habilitado = false;
+
+        private String url;
+
+        private String usuario;
+
+        private String senha;
+
+        // Conexões do pool da réplica (o pool do principal segue spring.datasource.hikari.*)
+        private int tamanhoPool = 10;
+
+        // Atraso de replicação tolerado: por esse tempo após uma escrita, as leituras do mesmo cliente
+        // e as cargas no cache da proposta alterada usam o principal (0 = sempre a réplica)
+        private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public void setUsuario(String usuario) {
+            this.usuario = usuario;
+        }
+
+        public String getSenha() {
+            return senha;
+        }
+
+        public void setSenha(String senha) {
+            this.senha = senha;
+        }
+
+        public int getTamanhoPool() {
+            return tamanhoPool;
+        }
+
+        public void setTamanhoPool(int tamanhoPool) {
+            this.tamanhoPool = tamanhoPool;
+        }
+
+        public Duration getAtrasoMaximo() {
+            return atrasoMaximo;
+        }
+
+        public void setAtrasoMaximo(Duration atrasoMaximo) {
+            this.atrasoMaximo = atrasoMaximo;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.credit.creditproposals.application.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Modo opcional em que o Tomcat atende cada requisição em uma thread virtual
+ * (propostas.threads-virtuais.habilitado=true).
+ *
+ * As chamadas bloqueantes do ProposalService (JDBC) passam a liberar a thread de plataforma enquanto aguardam.
+ * A quantidade de requisições em execução ao mesmo tempo é limitada por "propostas.threads-virtuais.max-concorrencia",
+ * para que um pico de requisições não se transforme em milhares de threads disputando as conexões do Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "propostas.threads-virtuais", name = "habilitado", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean(destroyMethod = "close")
+    ExecutorLimitado executorThreadsVirtuais(ProposalProperties properties) {
+        int maxConcorrencia = properties.getThreadsVirtuais().getMaxConcorrencia();
+        logger.info("Requisições atendidas em threads virtuais (máximo de {} simultâneas)", maxConcorrencia);
+        return new ExecutorLimitado(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()),
+                maxConcorrencia);
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat(ExecutorLimitado executor) {
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // Respostas assíncronas (exportação em streaming) também rodam em threads virtuais
+    @Bean
+    public WebMvcConfigurer threadsVirtuaisAsync(ExecutorLimitado executor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+            }
+        };
+    }
+
+    /**
+     * Cria uma thread virtual por tarefa; a tarefa só começa a executar quando há permissão disponível.
+     * Quem aguarda a permissão é a própria thread virtual, sem bloquear as threads do Tomcat.
+     */
+    static final class ExecutorLimitado implements Executor, AutoCloseable {
+
+        private final ExecutorService threadsVirtuais;
+        private final Semaphore permissoes;
+
+        ExecutorLimitado(ExecutorService threadsVirtuais, int maxConcorrencia) {
+            this.threadsVirtuais = threadsVirtuais;
+            this.permissoes = new Semaphore(Math.max(1, maxConcorrencia));
+        }
+
+        @Override
+        public void execute(Runnable tarefa) {
+            threadsVirtuais.execute(() -> {
+                permissoes.acquireUninterruptibly();
+                try {
+                    tarefa.run();
+                } finally {
+                    permissoes.release();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            threadsVirtuais.close();
+        }
+    }
+}
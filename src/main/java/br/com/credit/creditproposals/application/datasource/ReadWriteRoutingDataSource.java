@@ -0,0 +1,48 @@
+package br.com.credit.creditproposals.application.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe o banco de cada conexão: a réplica nas transações somente leitura
+ * (@Transactional(readOnly = true) ou TransactionTemplate com setReadOnly(true)) e o principal nas demais,
+ * inclusive fora de transação.
+ *
+ * Deve ficar atrás de um LazyConnectionDataSourceProxy: o gerenciador de transações pede a conexão
+ * antes de marcar a transação como somente leitura, e o proxy só obtém a conexão real no primeiro comando.
+ *
+ * forcarPrimario() leva ao principal as transações somente leitura da thread atual,
+ * para que um cliente leia as próprias escritas antes de chegarem à réplica.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARIO_FORCADO = new ThreadLocal<>();
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARIO_FORCADO.get() == null) {
+            return REPLICA;
+        }
+        return PRIMARIO;
+    }
+
+    /**
+     * Leva ao principal as leituras da thread atual até restaurar(anterior), em um bloco finally.
+     *
+     * @return Estado anterior, a ser passado para restaurar
+     */
+    public static boolean forcarPrimario() {
+        boolean anterior = PRIMARIO_FORCADO.get() != null;
+        PRIMARIO_FORCADO.set(Boolean.TRUE);
+        return anterior;
+    }
+
+    public static void restaurar(boolean anterior) {
+        if (!anterior) {
+            PRIMARIO_FORCADO.remove();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.credit.creditproposals.application.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * Leva ao banco principal as leituras das requisições de escrita (POST, PUT, PATCH, DELETE)
+ * e as de um cliente que escreveu há menos de "propostas.replica.atraso-maximo".
+ *
+ * O cliente é identificado pelo cabeçalho X-Client-Id (até 64 caracteres) ou, sem ele, pelo endereço de origem.
+ * A escrita é registrada antes de ser executada, para que uma leitura enviada logo após a resposta
+ * já encontre o registro, e de novo ao terminar: o atraso máximo passa a contar do fim da escrita,
+ * mesmo quando ela dura mais que o atraso (importação, lote, pagamentos em lote).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Client-Id";
+
+    private static final int TAMANHO_MAXIMO = 64;
+
+    private final RecentWriteTracker escritasRecentes;
+
+    public ReadYourWritesFilter(RecentWriteTracker escritasRecentes) {
+        this.escritasRecentes = escritasRecentes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cliente = cliente(request);
+        boolean escrita = escrita(request.getMethod());
+        if (escrita) {
+            escritasRecentes.registrarCliente(cliente);
+        }
+        if (!escrita && !escritasRecentes.clienteEscreveuRecentemente(cliente)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean anterior = ReadWriteRoutingDataSource.forcarPrimario();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.restaurar(anterior);
+            if (escrita) {
+                escritasRecentes.registrarCliente(cliente);
+            }
+        }
+    }
+
+    private static boolean escrita(String metodo) {
+        return !("GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo));
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        String recebido = request.getHeader(CABECALHO);
+        if (recebido != null && !recebido.isEmpty() && recebido.length() <= TAMANHO_MAXIMO) {
+            return recebido;
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.credit.creditproposals.application.datasource;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+/**
+ * Clientes e propostas com escrita recente, mantidos por "propostas.replica.atraso-maximo".
+ * Nesse intervalo a réplica pode ainda não ter recebido a escrita, e as leituras correspondentes usam o principal:
+ *
+ * - cliente: todas as leituras das requisições do cliente (ReadYourWritesFilter)
+ * - proposta: a carga da proposta no ProposalCache, para que o cache não guarde a versão anterior da réplica
+ *
+ * Sem a réplica, ou com atraso máximo 0, nada é registrado.
+ */
+@Component
+public class RecentWriteTracker {
+
+    // Limite de entradas de cada tipo; as mais antigas expiram pelo atraso máximo
+    private static final int TAMANHO_MAXIMO = 100_000;
+
+    private final Cache<String, Boolean> clientes;
+    private final Cache<Long, Boolean> propostas;
+
+    public RecentWriteTracker(ProposalProperties properties) {
+        ProposalProperties.Replica config = properties.getReplica();
+        Duration atraso = config.getAtrasoMaximo();
+        boolean habilitado = config.isHabilitado() && atraso != null && atraso.isPositive();
+        this.clientes = habilitado ? criar(atraso) : null;
+        this.propostas = habilitado ? criar(atraso) : null;
+    }
+
+    public void registrarCliente(String cliente) {
+        if (clientes != null) {
+            clientes.put(cliente, Boolean.TRUE);
+        }
+    }
+
+    public boolean clienteEscreveuRecentemente(String cliente) {
+        return clientes != null && clientes.getIfPresent(cliente) != null;
+    }
+
+    public void registrarProposta(Long id) {
+        if (propostas != null) {
+            propostas.put(id, Boolean.TRUE);
+        }
+    }
+
+    public boolean propostaAlteradaRecentemente(Long id) {
+        return propostas != null && propostas.getIfPresent(id) != null;
+    }
+
+    private static <K> Cache<K, Boolean> criar(Duration atraso) {
+        return Caffeine.newBuilder()
+                .maximumSize(TAMANHO_MAXIMO)
+                .expireAfterWrite(atraso)
+                .build();
+    }
+}
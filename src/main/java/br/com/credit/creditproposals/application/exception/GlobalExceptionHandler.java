@@ -1,53 +1,105 @@
 package br.com.credit.creditproposals.application.exception;
 
+import br.com.credit.creditproposals.application.logging.ErrorLogSampler;
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.exception.DomainError;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.InvalidInputException;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import br.com.credit.creditproposals.presentation.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
 import java.util.stream.Collectors;
 import java.util.NoSuchElementException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.validation.FieldError;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.RestControllerAdvice;
-import java.util.Map;
-import java.util.HashMap;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+/**
+ * Converte as exceções em respostas de erro no formato ErrorResponse (código estável + mensagem).
+ *
+ * Os erros de negócio esperados (DomainError) seguem um caminho barato: não têm pilha de chamadas,
+ * não são formatados e são registrados apenas em nível DEBUG. Os logs dos demais erros do cliente (4xx)
+ * passam pela amostragem do ErrorLogSampler; os erros internos (500) são sempre registrados.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ErrorLogSampler amostragem;
+
+    public GlobalExceptionHandler(ErrorLogSampler amostragem) {
+        this.amostragem = amostragem;
+    }
+
     /**
-     * Obtém uma string formatada indicando a origem da exceção
+     * Obtém uma string indicando a origem da exceção
      * (classe, método e linha onde ocorreu).
      */
     private String formatarOrigem(Throwable e) {
-        if (e.getStackTrace().length > 0) {
-            StackTraceElement origem = e.getStackTrace()[0];
-            return String.format("%s.%s(linha %d)",
-                    origem.getClassName(),
-                    origem.getMethodName(),
-                    origem.getLineNumber());
+        StackTraceElement[] pilha = e.getStackTrace();
+        if (pilha.length > 0) {
+            StackTraceElement origem = pilha[0];
+            return origem.getClassName() + "." + origem.getMethodName() + "(linha " + origem.getLineNumber() + ")";
         }
         return "Origem desconhecida";
     }
 
+    /**
+     * Registra um erro do cliente, se a ocorrência for escolhida pela amostragem
+     * @param nivel = Nível do log
+     * @param codigo = Código do erro, usado para contar as ocorrências
+     * @param descricao = Descrição do tipo de erro
+     * @param detalhe = Mensagem do erro
+     * @param origem = Exceção cuja origem é registrada, ou null
+     */
+    private void registrarErroCliente(Level nivel, ErrorCode codigo, String descricao, String detalhe, Throwable origem) {
+        long ocorrencia = amostragem.registrar(codigo);
+        if (ocorrencia == 0 || !logger.isEnabledForLevel(nivel)) {
+            return;
+        }
+        if (origem == null) {
+            logger.atLevel(nivel).log("{}: {} | Ocorrência: {}", descricao, detalhe, ocorrencia);
+        } else {
+            logger.atLevel(nivel).log("{}: {} | Origem: {} | Ocorrência: {}",
+                    descricao, detalhe, formatarOrigem(origem), ocorrencia);
+        }
+    }
+
+    /**
+     * Trata os erros de negócio esperados (recurso inexistente, parcela já paga, dado inválido),
+     * retornando HTTP 404 para NotFoundException e HTTP 400 para os demais, com o código do erro.
+     */
+    @ExceptionHandler({NotFoundException.class, BusinessRuleException.class, InvalidInputException.class})
+    public ResponseEntity<ErrorResponse> handleDomainError(RuntimeException e) {
+        DomainError erro = (DomainError) e;
+        HttpStatus status = e instanceof NotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Erro de negócio {}: {}", erro.getCodigo(), erro.getMessage());
+        }
+        return responder(status, erro.getCodigo(), erro.getMessage());
+    }
+
     /**
      * Trata exceções do tipo IllegalArgumentException,
      * retornando HTTP 400 com a mensagem da exceção.
      */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
-        logger.warn("Requisição inválida: {} | Origem: {}", e.getMessage(), formatarOrigem(e));
-        return ResponseEntity.badRequest().body(e.getMessage());
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+        registrarErroCliente(Level.WARN, ErrorCode.REQUISICAO_INVALIDA, "Requisição inválida", e.getMessage(), e);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.REQUISICAO_INVALIDA, e.getMessage());
     }
 
     /**
@@ -55,9 +107,19 @@ public class GlobalExceptionHandler {
      * retornando HTTP 404 com a mensagem da exceção.
      */
     @ExceptionHandler(NoSuchElementException.class)
-    public ResponseEntity<String> handleNoSuchElement(NoSuchElementException e) {
-        logger.info("Recurso não encontrado: {} | Origem: {}", e.getMessage(), formatarOrigem(e));
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    public ResponseEntity<ErrorResponse> handleNoSuchElement(NoSuchElementException e) {
+        registrarErroCliente(Level.INFO, ErrorCode.RECURSO_NAO_ENCONTRADO, "Recurso não encontrado", e.getMessage(), e);
+        return responder(HttpStatus.NOT_FOUND, ErrorCode.RECURSO_NAO_ENCONTRADO, e.getMessage());
+    }
+
+    /**
+     * Trata corpos de requisição que não puderam ser lidos (JSON malformado ou com tipos incompatíveis),
+     * retornando HTTP 400 sem os detalhes do parser.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleNotReadable(HttpMessageNotReadableException e) {
+        registrarErroCliente(Level.WARN, ErrorCode.CORPO_INVALIDO, "Corpo da requisição inválido", e.getMessage(), null);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.CORPO_INVALIDO, ErrorCode.CORPO_INVALIDO.getMensagemPadrao());
     }
 
     /**
@@ -65,10 +127,9 @@ public class GlobalExceptionHandler {
      * retornando HTTP 500 com mensagem genérica.
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(Exception e) {
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
         logger.error("Erro interno no servidor: {} | Origem: {}", e.getMessage(), formatarOrigem(e), e);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("Ocorreu um erro interno no servidor.");
+        return responder(HttpStatus.INTERNAL_SERVER_ERROR, ErrorCode.ERRO_INTERNO, ErrorCode.ERRO_INTERNO.getMensagemPadrao());
     }
 
     /**
@@ -76,17 +137,13 @@ public class GlobalExceptionHandler {
      * retornando HTTP 400 com mensagem detalhada dos erros.
      */
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException e) {
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException e) {
         String mensagem = e.getConstraintViolations()
                 .stream()
-                .map(cv -> {
-                    String propriedade = cv.getPropertyPath().toString();
-                    String msg = cv.getMessage();
-                    return String.format("Erro de validação no campo '%s': %s", propriedade, msg);
-                })
+                .map(cv -> "Erro de validação no campo '" + cv.getPropertyPath() + "': " + cv.getMessage())
                 .collect(Collectors.joining("; "));
-        logger.warn("Erro de validação: {} | Origem: {}", mensagem, formatarOrigem(e));
-        return ResponseEntity.badRequest().body(mensagem);
+        registrarErroCliente(Level.WARN, ErrorCode.DADOS_INVALIDOS, "Erro de validação", mensagem, e);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.DADOS_INVALIDOS, mensagem);
     }
 
     /**
@@ -94,10 +151,10 @@ public class GlobalExceptionHandler {
      * retornando HTTP 404 com mensagem para indicar que o endpoint não existe.
      */
     @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<String> handleNoHandlerFound(NoHandlerFoundException e) {
-        logger.info("Endpoint não encontrado: {} | Origem: {}", e.getMessage(), formatarOrigem(e));
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Desculpe, o recurso que você tentou acessar não existe.");
+    public ResponseEntity<ErrorResponse> handleNoHandlerFound(NoHandlerFoundException e) {
+        registrarErroCliente(Level.INFO, ErrorCode.ENDPOINT_NAO_ENCONTRADO, "Endpoint não encontrado", e.getMessage(), null);
+        return responder(HttpStatus.NOT_FOUND, ErrorCode.ENDPOINT_NAO_ENCONTRADO,
+                ErrorCode.ENDPOINT_NAO_ENCONTRADO.getMensagemPadrao());
     }
 
     /**
@@ -105,7 +162,7 @@ public class GlobalExceptionHandler {
      * retornando HTTP 400 com a primeira mensagem de erro.
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<String> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String firstError = ex.getBindingResult()
                             .getFieldErrors()
                             .stream()
@@ -113,9 +170,9 @@ public class GlobalExceptionHandler {
                             .map(FieldError::getDefaultMessage)
                             .orElse("Erro desconhecido");
 
-        logger.warn("Erro de validação: {} | Origem: {}", firstError, formatarOrigem(ex));
+        registrarErroCliente(Level.WARN, ErrorCode.DADOS_INVALIDOS, "Erro de validação", firstError, null);
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(firstError);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.DADOS_INVALIDOS, firstError);
     }
 
     /**
@@ -124,22 +181,52 @@ public class GlobalExceptionHandler {
      * retornando HTTP 400 com uma mensagem explicativa.
      */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
-        String msg = String.format("Parâmetro inválido: '%s' não pôde ser convertido para %s",
-                e.getValue(), e.getRequiredType().getSimpleName());
-        logger.warn(msg + " | Origem: " + formatarOrigem(e));
-        return ResponseEntity.badRequest().body(msg);
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        String tipo = e.getRequiredType() == null ? "o tipo esperado" : e.getRequiredType().getSimpleName();
+        String msg = "Parâmetro inválido: '" + e.getValue() + "' não pôde ser convertido para " + tipo;
+        registrarErroCliente(Level.WARN, ErrorCode.PARAMETRO_INVALIDO, "Tipo de parâmetro incompatível", msg, null);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.PARAMETRO_INVALIDO, msg);
     }
 
     /**
      * Trata exceções de estado inválido (IllegalStateException),
      * retornando HTTP 400 com a mensagem da exceção.
-     * Usado, por exemplo, quando uma parcela já está paga
-     * e uma operação inválida é tentada.
      */
     @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<String> handleIllegalState(IllegalStateException e) {
-        logger.warn("Estado inválido: {} | Origem: {}", e.getMessage(), formatarOrigem(e));
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException e) {
+        registrarErroCliente(Level.WARN, ErrorCode.ESTADO_INVALIDO, "Estado inválido", e.getMessage(), e);
+        return responder(HttpStatus.BAD_REQUEST, ErrorCode.ESTADO_INVALIDO, e.getMessage());
+    }
+
+    /**
+     * Trata conflitos de concorrência detectados pelo banco
+     * (por exemplo, deadlock ou tempo de espera por bloqueio esgotado),
+     * retornando HTTP 409 para que o cliente repita a operação.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        registrarErroCliente(Level.WARN, ErrorCode.CONFLITO_CONCORRENCIA, "Conflito de concorrência", e.getMessage(), e);
+        return responder(HttpStatus.CONFLICT, ErrorCode.CONFLITO_CONCORRENCIA,
+                ErrorCode.CONFLITO_CONCORRENCIA.getMensagemPadrao());
+    }
+
+    /**
+     * Trata a fila de recebimento assíncrono cheia,
+     * retornando HTTP 429 com o cabeçalho Retry-After.
+     */
+    @ExceptionHandler(IntakeQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleIntakeQueueFull(IntakeQueueFullException e) {
+        registrarErroCliente(Level.WARN, ErrorCode.FILA_CHEIA, "Recebimento recusado", e.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponse.de(ErrorCode.FILA_CHEIA, e.getMessage()));
+    }
+
+    // O tipo é fixado em JSON para que o erro seja escrito também nos endpoints que produzem CSV ou NDJSON
+    private static ResponseEntity<ErrorResponse> responder(HttpStatus status, ErrorCode codigo, String mensagem) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponse.de(codigo, mensagem));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package br.com.credit.creditproposals.application.exception;
+
+/**
+ * Lançada quando a fila do recebimento assíncrono de propostas está cheia.
+ * O cliente deve repetir a requisição mais tarde (HTTP 429).
+ */
+public class IntakeQueueFullException extends RuntimeException {
+
+    public IntakeQueueFullException() {
+        super("Muitas propostas aguardando gravação. Tente novamente em instantes.");
+    }
+}
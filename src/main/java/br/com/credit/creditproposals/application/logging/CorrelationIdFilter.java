@@ -0,0 +1,60 @@
+package br.com.credit.creditproposals.application.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificador de correlação da requisição: usa o cabeçalho X-Correlation-Id recebido
+ * (se tiver até 64 letras, dígitos, '.', '_' ou '-') ou gera um novo, coloca no MDC
+ * (chave "correlationId", incluída em todos os logs da requisição) e devolve no cabeçalho da resposta.
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Correlation-Id";
+    public static final String CHAVE_MDC = "correlationId";
+
+    private static final int TAMANHO_MAXIMO = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String recebido = request.getHeader(CABECALHO);
+        String correlationId = valido(recebido) ? recebido : gerar();
+        MDC.put(CHAVE_MDC, correlationId);
+        response.setHeader(CABECALHO, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(CHAVE_MDC);
+        }
+    }
+
+    // Restringe os caracteres para que o valor do cliente não quebre as linhas de log nem o cabeçalho
+    static boolean valido(String correlationId) {
+        if (correlationId == null || correlationId.isEmpty() || correlationId.length() > TAMANHO_MAXIMO) {
+            return false;
+        }
+        for (int i = 0; i < correlationId.length(); i++) {
+            char c = correlationId.charAt(i);
+            boolean permitido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-';
+            if (!permitido) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // UUID aleatório sem o SecureRandom de UUID.randomUUID(), que é disputado entre as threads
+    private static String gerar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return new UUID(aleatorio.nextLong(), aleatorio.nextLong()).toString();
+    }
+}
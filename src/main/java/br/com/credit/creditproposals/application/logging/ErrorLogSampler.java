@@ -0,0 +1,36 @@
+package br.com.credit.creditproposals.application.logging;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Amostragem dos logs de erros do cliente (4xx), por código de erro: registra a primeira ocorrência
+ * e depois uma a cada "propostas.log.amostragem-erros-cliente" ocorrências, para que uma rajada
+ * de requisições inválidas não ocupe o log (nem a fila do appender) com a mesma mensagem.
+ */
+@Component
+public class ErrorLogSampler {
+
+    private final int amostragem;
+    private final AtomicLongArray ocorrencias = new AtomicLongArray(ErrorCode.values().length);
+
+    public ErrorLogSampler(ProposalProperties properties) {
+        this.amostragem = Math.max(1, properties.getLog().getAmostragemErrosCliente());
+    }
+
+    /**
+     * Conta uma ocorrência do erro
+     * @param codigo = Código do erro
+     * @return Número da ocorrência (a partir de 1) se ela deve ser registrada, ou 0 se deve ser omitida
+     */
+    public long registrar(ErrorCode codigo) {
+        long ocorrencia = ocorrencias.incrementAndGet(codigo.ordinal());
+        return (ocorrencia - 1) % amostragem == 0 ? ocorrencia : 0;
+    }
+
+    public int getAmostragem() {
+        return amostragem;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.credit.creditproposals.application.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+
+/**
+ * Registra, ao final de cada requisição, quantos comandos SQL e quantas entidades o Hibernate
+ * usou para atendê-la, por método e rota (o mesmo "uri" de http_server_requests):
+ * hibernate_requisicao_comandos e hibernate_requisicao_entidades_carregadas.
+ */
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public HibernateRequestMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HibernateRequestStatistics.Contagem contagem = HibernateRequestStatistics.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HibernateRequestStatistics.encerrar();
+            Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = rota == null ? "UNKNOWN" : rota.toString();
+            resumo("hibernate.requisicao.comandos", "Comandos SQL preparados pelo Hibernate por requisição",
+                    request.getMethod(), uri).record(contagem.comandos());
+            resumo("hibernate.requisicao.entidades.carregadas", "Entidades carregadas pelo Hibernate por requisição",
+                    request.getMethod(), uri).record(contagem.entidadesCarregadas());
+        }
+    }
+
+    private DistributionSummary resumo(String nome, String descricao, String metodo, String uri) {
+        return DistributionSummary.builder(nome)
+                .description(descricao)
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 5, 10, 25, 50, 100)
+                .register(registry);
+    }
+}
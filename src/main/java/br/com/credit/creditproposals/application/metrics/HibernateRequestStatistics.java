@@ -0,0 +1,65 @@
+package br.com.credit.creditproposals.application.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Conta, por requisição, os comandos SQL preparados pelo Hibernate e as entidades carregadas.
+ *
+ * As estatísticas do Hibernate são globais; aqui a contagem fica em uma ThreadLocal aberta
+ * pelo HibernateRequestMetricsFilter no início da requisição e lida ao final dela.
+ * Fora de uma requisição (jobs agendados, por exemplo) nada é contado.
+ */
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Inicia a contagem da thread atual
+     */
+    static Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.comandos++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.entidadesCarregadas++;
+        }
+        return false;
+    }
+
+    /**
+     * Contagem de uma requisição (acessada apenas pela thread da requisição)
+     */
+    static final class Contagem {
+
+        private long comandos;
+        private long entidadesCarregadas;
+
+        long comandos() {
+            return comandos;
+        }
+
+        long entidadesCarregadas() {
+            return entidadesCarregadas;
+        }
+    }
+}
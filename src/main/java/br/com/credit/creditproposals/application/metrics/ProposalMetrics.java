@@ -0,0 +1,103 @@
+package br.com.credit.creditproposals.application.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+
+/**
+ * Contadores de negócio das propostas, expostos em /actuator/prometheus.
+ *
+ * propostas_criadas_total{origem}: individual, lote, importacao ou assincrono (gravadas pela fila de recebimento)
+ * parcelas_pagas_total{caminho}: direto (UPDATE condicional de uma parcela) ou lote (pagamento em lote)
+ * propostas_arquivadas_total: propostas quitadas movidas para as tabelas de arquivo
+ * parcelas_vencidas_total: parcelas EM_ABERTO marcadas como VENCIDA
+ */
+@Component
+public class ProposalMetrics {
+
+    public static final String ORIGEM_INDIVIDUAL = "individual";
+    public static final String ORIGEM_LOTE = "lote";
+    public static final String ORIGEM_IMPORTACAO = "importacao";
+    public static final String ORIGEM_ASSINCRONA = "assincrono";
+
+    private final MeterRegistry registry;
+    private final Counter criadasIndividual;
+    private final Counter criadasLote;
+    private final Counter criadasImportacao;
+    private final Counter criadasAssincrona;
+    private final Counter pagasDireto;
+    private final Counter pagasLote;
+    private final Counter arquivadas;
+    private final Counter vencidas;
+
+    public ProposalMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.criadasIndividual = propostasCriadas(registry, ORIGEM_INDIVIDUAL);
+        this.criadasLote = propostasCriadas(registry, ORIGEM_LOTE);
+        this.criadasImportacao = propostasCriadas(registry, ORIGEM_IMPORTACAO);
+        this.criadasAssincrona = propostasCriadas(registry, ORIGEM_ASSINCRONA);
+        this.pagasDireto = parcelasPagas(registry, "direto");
+        this.pagasLote = parcelasPagas(registry, "lote");
+        this.arquivadas = Counter.builder("propostas.arquivadas")
+                .description("Propostas quitadas movidas para as tabelas de arquivo")
+                .register(registry);
+        this.vencidas = Counter.builder("parcelas.vencidas")
+                .description("Parcelas em aberto marcadas como vencidas")
+                .register(registry);
+    }
+
+    /**
+     * @param origem = ORIGEM_INDIVIDUAL, ORIGEM_LOTE, ORIGEM_IMPORTACAO ou ORIGEM_ASSINCRONA
+     * @param quantidade = Quantidade de propostas criadas
+     */
+    public void propostasCriadas(String origem, long quantidade) {
+        Counter contador = switch (origem) {
+            case ORIGEM_LOTE -> criadasLote;
+            case ORIGEM_IMPORTACAO -> criadasImportacao;
+            case ORIGEM_ASSINCRONA -> criadasAssincrona;
+            default -> criadasIndividual;
+        };
+        contador.increment(quantidade);
+    }
+
+    public void parcelaPagaDireto() {
+        pagasDireto.increment();
+    }
+
+    public void parcelasPagasEmLote(long quantidade) {
+        pagasLote.increment(quantidade);
+    }
+
+    public void propostasArquivadas(long quantidade) {
+        arquivadas.increment(quantidade);
+    }
+
+    public void parcelasVencidas(long quantidade) {
+        vencidas.increment(quantidade);
+    }
+
+    /**
+     * Expõe o tamanho da fila de recebimento assíncrono (propostas_recebimento_fila)
+     */
+    public void monitorarFilaRecebimento(Collection<?> fila) {
+        Gauge.builder("propostas.recebimento.fila", fila, Collection::size)
+                .description("Propostas aceitas aguardando gravação")
+                .register(registry);
+    }
+
+    private static Counter propostasCriadas(MeterRegistry registry, String origem) {
+        return Counter.builder("propostas.criadas")
+                .description("Propostas de crédito criadas")
+                .tag("origem", origem)
+                .register(registry);
+    }
+
+    private static Counter parcelasPagas(MeterRegistry registry, String caminho) {
+        return Counter.builder("parcelas.pagas")
+                .description("Parcelas pagas")
+                .tag("caminho", caminho)
+                .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.credit.creditproposals.application.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+/**
+ * Resumo da exposição de crédito de um CPF
+ */
+@Schema(description = "Resumo da exposição de crédito de um CPF")
+public record ClientSummaryView(
+
+    @Schema(description = "CPF do cliente", example = "78858021088")
+    String cpf,
+
+    @Schema(description = "Quantidade de propostas do cliente", example = "2")
+    int quantidadePropostas,
+
+    @Schema(description = "Soma dos valores solicitados", example = "2500.00")
+    BigDecimal totalSolicitado,
+
+    @Schema(description = "Soma das parcelas não pagas (EM_ABERTO ou VENCIDA)", example = "1800.00")
+    BigDecimal totalEmAberto,
+
+    @Schema(description = "Quantidade de parcelas não pagas (EM_ABERTO ou VENCIDA)", example = "18")
+    int parcelasEmAberto) {
+}
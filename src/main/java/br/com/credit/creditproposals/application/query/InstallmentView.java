@@ -0,0 +1,36 @@
+package br.com.credit.creditproposals.application.query;
+
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Representação imutável de uma parcela para leitura
+ * Mantém o mesmo formato JSON da entidade Installment
+ */
+@Schema(description = "Representa uma parcela de uma proposta de crédito")
+public record InstallmentView(
+
+    @Schema(description = "Identificador único da parcela", example = "1")
+    Long id,
+
+    @Schema(description = "Número sequencial da parcela dentro da proposta", example = "1")
+    int numero,
+
+    @Schema(description = "Valor monetário da parcela", example = "100.00")
+    BigDecimal valor,
+
+    @Schema(description = "Status atual da parcela", example = "EM_ABERTO", allowableValues = {"EM_ABERTO", "VENCIDA", "PAGA"})
+    InstallmentStatus status,
+
+    @Schema(description = "Data de vencimento da parcela", example = "2025-09-12")
+    LocalDate dataVencimento,
+
+    @Schema(description = "Indica se a parcela já foi paga", example = "false")
+    boolean paga) {
+
+    public InstallmentView(Long id, int numero, BigDecimal valor, InstallmentStatus status, LocalDate dataVencimento) {
+        this(id, numero, valor, status, dataVencimento, status == InstallmentStatus.PAGA);
+    }
+}
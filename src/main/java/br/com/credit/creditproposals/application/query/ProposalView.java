@@ -0,0 +1,36 @@
+package br.com.credit.creditproposals.application.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Representação imutável de uma proposta e suas parcelas para leitura
+ * Montada a partir de consultas em lote, sem carregar coleções lazy durante a serialização
+ */
+@Schema(description = "Representa uma proposta de crédito com seus dados e parcelas associadas")
+public record ProposalView(
+
+    @Schema(description = "Identificador único da proposta", example = "1")
+    Long id,
+
+    @Schema(description = "CPF do solicitante da proposta", example = "12345678910")
+    String cpf,
+
+    @Schema(description = "Valor solicitado para o crédito", example = "1000.00")
+    BigDecimal valorSolicitado,
+
+    @Schema(description = "Quantidade de parcelas para pagamento", example = "12")
+    int quantidadeParcelas,
+
+    @Schema(description = "Data da solicitação da proposta", example = "2025-08-12")
+    LocalDate dataSolicitacao,
+
+    @Schema(description = "Lista de parcelas associadas a esta proposta")
+    List<InstallmentView> parcelas) {
+
+    public ProposalView {
+        parcelas = List.copyOf(parcelas);
+    }
+}
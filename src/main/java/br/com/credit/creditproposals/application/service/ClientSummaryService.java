@@ -0,0 +1,165 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.query.ClientSummaryView;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import br.com.credit.creditproposals.domain.model.Cpf;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.domain.repository.ClientSummaryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * Mantém o resumo de exposição por CPF (tabela cliente_resumo) por incrementos,
+ * sempre dentro da transação que cria as propostas ou paga as parcelas.
+ *
+ * Cada alteração é um "INSERT ... ON CONFLICT DO NOTHING", que garante a linha do CPF sem erro
+ * em criações simultâneas, seguido de um UPDATE relativo, que trava apenas a linha do CPF.
+ * A consulta é uma busca pela chave primária, sem percorrer propostas e parcelas.
+ */
+@Service
+public class ClientSummaryService {
+
+    private static final String GARANTIR_LINHA = """
+            INSERT INTO cliente_resumo (cpf, quantidade_propostas, total_solicitado, total_em_aberto, parcelas_em_aberto)
+            VALUES (?, 0, 0, 0, 0)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String SOMAR_PROPOSTAS = """
+            UPDATE cliente_resumo
+            SET quantidade_propostas = quantidade_propostas + ?,
+                total_solicitado = total_solicitado + ?,
+                total_em_aberto = total_em_aberto + ?,
+                parcelas_em_aberto = parcelas_em_aberto + ?
+            WHERE cpf = ?
+            """;
+
+    // O CPF e o valor vêm da proposta (armazenamento compacto) ou da própria parcela, sem carregar a proposta
+    private static final String SUBTRAIR_PARCELA_PAGA = """
+            UPDATE cliente_resumo
+            SET total_em_aberto = total_em_aberto - COALESCE(
+                    (SELECT p.valor_parcela FROM proposta p WHERE p.id = ?),
+                    (SELECT i.valor FROM parcela i WHERE i.proposta_id = ? AND i.numero = ?)),
+                parcelas_em_aberto = parcelas_em_aberto - 1
+            WHERE cpf = (SELECT p.cpf FROM proposta p WHERE p.id = ?)
+            """;
+
+    private final ClientSummaryRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientSummaryService(ClientSummaryRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Busca o resumo de um CPF.
+     *
+     * @param cpf = CPF do cliente, com ou sem pontuação
+     * @return Resumo do cliente
+     * @throws IllegalArgumentException se o CPF for inválido
+     * @throws NoSuchElementException se o CPF não tiver propostas
+     */
+    @Transactional(readOnly = true)
+    public ClientSummaryView buscarResumo(String cpf) {
+        return repository.findById(Cpf.validar(cpf))
+                .map(r -> new ClientSummaryView(Cpf.formatar(r.getCpf()), r.getQuantidadePropostas(), r.getTotalSolicitado(),
+                        r.getTotalEmAberto(), r.getParcelasEmAberto()))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.CLIENTE_NAO_ENCONTRADO));
+    }
+
+    /**
+     * Soma ao resumo as propostas recém-criadas (todas as parcelas em aberto).
+     * Os incrementos são agrupados por CPF e enviados em lote, em ordem de CPF,
+     * para que lotes simultâneos travem as linhas sempre na mesma ordem.
+     *
+     * @param propostas = Propostas criadas na transação atual
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPropostas(List<Proposal> propostas) {
+        List<ProposalBulkWriter.NovaProposta> novas = new ArrayList<>(propostas.size());
+        for (Proposal proposta : propostas) {
+            novas.add(new ProposalBulkWriter.NovaProposta(proposta.getCpf(), proposta.getValorSolicitado(),
+                    proposta.getQuantidadeParcelas(), proposta.getDataSolicitacao()));
+        }
+        registrarNovasPropostas(novas);
+    }
+
+    /**
+     * Igual a registrarPropostas, para propostas gravadas sem a entidade (ProposalBulkWriter).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarNovasPropostas(List<ProposalBulkWriter.NovaProposta> propostas) {
+        Map<Long, Acrescimo> porCpf = new TreeMap<>();
+        for (ProposalBulkWriter.NovaProposta proposta : propostas) {
+            BigDecimal valorParcela = Proposal.calcularValorParcela(proposta.valorSolicitado(), proposta.quantidadeParcelas());
+            porCpf.computeIfAbsent(Cpf.paraNumero(proposta.cpf()), cpf -> new Acrescimo())
+                    .somar(proposta.valorSolicitado(),
+                            valorParcela.multiply(BigDecimal.valueOf(proposta.quantidadeParcelas())),
+                            proposta.quantidadeParcelas());
+        }
+        if (porCpf.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> linhas = new ArrayList<>(porCpf.size());
+        List<Object[]> incrementos = new ArrayList<>(porCpf.size());
+        porCpf.forEach((cpf, acrescimo) -> {
+            linhas.add(new Object[] {cpf});
+            incrementos.add(new Object[] {acrescimo.propostas, acrescimo.totalSolicitado, acrescimo.totalEmAberto,
+                    acrescimo.parcelas, cpf});
+        });
+        jdbcTemplate.batchUpdate(GARANTIR_LINHA, linhas);
+        jdbcTemplate.batchUpdate(SOMAR_PROPOSTAS, incrementos);
+    }
+
+    /**
+     * Subtrai do resumo uma parcela que acabou de ser paga.
+     *
+     * @param propostaId = ID da proposta
+     * @param numeroParcela = Número da parcela paga
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPagamento(Long propostaId, int numeroParcela) {
+        jdbcTemplate.update(SUBTRAIR_PARCELA_PAGA, propostaId, propostaId, numeroParcela, propostaId);
+    }
+
+    /**
+     * Subtrai do resumo várias parcelas pagas, em um batch JDBC.
+     *
+     * @param pagas = Parcelas que acabaram de ser pagas
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPagamentos(List<PaymentBatchService.ItemPagamento> pagas) {
+        if (pagas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SUBTRAIR_PARCELA_PAGA, pagas.stream()
+                .map(p -> new Object[] {p.propostaId(), p.propostaId(), p.numeroParcela(), p.propostaId()})
+                .toList());
+    }
+
+    private static final class Acrescimo {
+
+        private int propostas;
+        private BigDecimal totalSolicitado = BigDecimal.ZERO;
+        private BigDecimal totalEmAberto = BigDecimal.ZERO;
+        private int parcelas;
+
+        void somar(BigDecimal valorSolicitado, BigDecimal valorEmAberto, int quantidadeParcelas) {
+            propostas++;
+            totalSolicitado = totalSolicitado.add(valorSolicitado);
+            totalEmAberto = totalEmAberto.add(valorEmAberto);
+            parcelas += quantidadeParcelas;
+        }
+    }
+}
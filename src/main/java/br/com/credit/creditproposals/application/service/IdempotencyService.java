@@ -0,0 +1,228 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.InvalidInputException;
+import br.com.credit.creditproposals.domain.model.IdempotencyRecord;
+import br.com.credit.creditproposals.domain.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Garante que requisições repetidas com o mesmo cabeçalho Idempotency-Key
+ * recebam a resposta original, sem executar a operação de escrita novamente.
+ *
+ * As respostas ficam em um cache em memória limitado (tamanho e validade) e são
+ * gravadas na tabela "idempotencia" na mesma transação da operação, de modo que
+ * a resposta registrada existe se, e somente se, a escrita foi confirmada.
+ * Requisições simultâneas com a mesma chave aguardam o resultado da primeira.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String CABECALHO = "Idempotency-Key";
+    private static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANHO_MAXIMO_CHAVE = 200;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalProperties.Idempotencia config;
+
+    private final Cache<String, RespostaRegistrada> respostas;
+    private final ConcurrentHashMap<String, CompletableFuture<RespostaRegistrada>> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              ProposalProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getIdempotencia();
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximoCache())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave de idempotência.
+     *
+     * @param chave = Valor do cabeçalho Idempotency-Key (se ausente, a operação é executada normalmente)
+     * @param operacao = Nome da operação, para que a mesma chave não colida entre endpoints diferentes
+     * @param conteudo = Representação dos dados da requisição, usada para detectar reuso da chave com outro conteúdo
+     * @param acao = Operação de escrita a ser executada
+     * @return Resposta da operação, ou a resposta original se a chave já foi utilizada
+     * @throws IllegalArgumentException se a chave for inválida ou já tiver sido usada com outro conteúdo
+     */
+    public ResponseEntity<?> executar(String chave, String operacao, String conteudo, Supplier<ResponseEntity<?>> acao) {
+        if (chave == null) {
+            return acao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new InvalidInputException(ErrorCode.CHAVE_IDEMPOTENCIA_INVALIDA,
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        String id = operacao + ":" + chave;
+        String impressao = impressao(conteudo);
+
+        RespostaRegistrada registrada = respostas.getIfPresent(id);
+        if (registrada != null) {
+            return registrada.repetir(impressao);
+        }
+
+        CompletableFuture<RespostaRegistrada> nova = new CompletableFuture<>();
+        CompletableFuture<RespostaRegistrada> existente = emAndamento.putIfAbsent(id, nova);
+        if (existente != null) {
+            // Outra requisição com a mesma chave está em andamento: aguarda o resultado dela
+            return aguardar(existente).repetir(impressao);
+        }
+
+        try {
+            RespostaRegistrada anterior = buscarRegistrada(id);
+            if (anterior != null) {
+                respostas.put(id, anterior);
+                nova.complete(anterior);
+                return anterior.repetir(impressao);
+            }
+
+            Execucao execucao;
+            try {
+                execucao = executarERegistrar(id, impressao, acao);
+            } catch (DataIntegrityViolationException e) {
+                // Outra instância registrou a mesma chave primeiro; a nossa transação foi desfeita
+                RespostaRegistrada concorrente = buscarRegistrada(id);
+                if (concorrente == null) {
+                    throw e;
+                }
+                respostas.put(id, concorrente);
+                nova.complete(concorrente);
+                return concorrente.repetir(impressao);
+            }
+
+            respostas.put(id, execucao.registrada());
+            nova.complete(execucao.registrada());
+            return execucao.resposta();
+        } catch (RuntimeException e) {
+            // Falhas não são registradas: quem aguardava recebe o mesmo erro e uma nova tentativa executa a operação
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(id, nova);
+        }
+    }
+
+    /**
+     * Remove do banco as respostas que já passaram do prazo de validade.
+     */
+    @Scheduled(fixedDelayString = "${propostas.idempotencia.intervalo-limpeza:PT1H}")
+    public void removerExpiradas() {
+        int removidas = repository.removerCriadosAntesDe(Instant.now().minus(config.getTtl()));
+        if (removidas > 0) {
+            logger.info("Respostas de idempotência expiradas removidas: {}", removidas);
+        }
+    }
+
+    // Executa a operação e grava a resposta na mesma transação.
+    // Uma resposta expirada da mesma chave, ainda não removida por removerExpiradas, é substituída
+    private Execucao executarERegistrar(String id, String impressao, Supplier<ResponseEntity<?>> acao) {
+        return transactionTemplate.execute(status -> {
+            ResponseEntity<?> resposta = acao.get();
+            RespostaRegistrada registrada = RespostaRegistrada.de(resposta, impressao, serializar(resposta.getBody()));
+            repository.removerExpirada(id, Instant.now().minus(config.getTtl()));
+            repository.saveAndFlush(new IdempotencyRecord(id, impressao, registrada.status(),
+                    registrada.location(), registrada.corpo(), Instant.now()));
+            return new Execucao(resposta, registrada);
+        });
+    }
+
+    private RespostaRegistrada buscarRegistrada(String id) {
+        return repository.findByChaveAndCriadoEmAfter(id, Instant.now().minus(config.getTtl()))
+                .map(r -> new RespostaRegistrada(r.getImpressao(), r.getStatusHttp(), r.getLocation(), r.getCorpo()))
+                .orElse(null);
+    }
+
+    private RespostaRegistrada aguardar(CompletableFuture<RespostaRegistrada> futura) {
+        try {
+            return futura.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private String serializar(Object corpo) {
+        if (corpo == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível registrar a resposta da requisição", e);
+        }
+    }
+
+    private static String impressao(String conteudo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Execucao(ResponseEntity<?> resposta, RespostaRegistrada registrada) {
+    }
+
+    /**
+     * Resposta imutável registrada para uma chave, com o corpo já serializado em JSON
+     */
+    private record RespostaRegistrada(String impressao, int status, String location, String corpo) {
+
+        static RespostaRegistrada de(ResponseEntity<?> resposta, String impressao, String corpo) {
+            return new RespostaRegistrada(impressao, resposta.getStatusCode().value(),
+                    resposta.getHeaders().getFirst(HttpHeaders.LOCATION), corpo);
+        }
+
+        ResponseEntity<?> repetir(String impressaoAtual) {
+            if (impressao != null && !impressao.equals(impressaoAtual)) {
+                throw new InvalidInputException(ErrorCode.CHAVE_IDEMPOTENCIA_REUTILIZADA);
+            }
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).header(CABECALHO_REPETIDA, "true");
+            if (location != null) {
+                builder.header(HttpHeaders.LOCATION, location);
+            }
+            if (corpo == null) {
+                return builder.build();
+            }
+            return builder.contentType(MediaType.APPLICATION_JSON).body(corpo);
+        }
+    }
+}
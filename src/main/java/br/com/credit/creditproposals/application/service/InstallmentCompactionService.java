@@ -0,0 +1,108 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+
+/**
+ * Converte as propostas gravadas com uma linha por parcela para o armazenamento compacto,
+ * um lote de propostas por transação, percorrendo a tabela pela chave primária.
+ *
+ * As parcelas do lote são travadas antes da conversão: um pagamento simultâneo pelo UPDATE direto
+ * espera o fim do lote e, sem encontrar mais a parcela, paga pelo mapa de bits.
+ */
+@Service
+public class InstallmentCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentCompactionService.class);
+
+    private static final String PROXIMAS_PROPOSTAS = """
+            SELECT id FROM proposta
+            WHERE id > :ultimoId AND valor_parcela IS NULL
+            ORDER BY id
+            LIMIT :limite
+            """;
+
+    private static final String TRAVAR_PARCELAS = "SELECT id FROM parcela WHERE proposta_id IN (:ids) FOR UPDATE";
+
+    // O valor é igual em todas as parcelas; o mapa de pagas soma 2^(n-1) de cada parcela PAGA
+    private static final String COMPACTAR = """
+            UPDATE proposta p
+            SET valor_parcela = (SELECT MIN(i.valor) FROM parcela i WHERE i.proposta_id = p.id),
+                parcelas_pagas = (SELECT COALESCE(SUM(CASE WHEN i.status = 'PAGA' THEN CAST(POWER(2, i.numero - 1) AS INT) ELSE 0 END), 0)
+                                  FROM parcela i WHERE i.proposta_id = p.id)
+            WHERE p.id IN (:ids) AND p.valor_parcela IS NULL
+            """;
+
+    private static final String REMOVER_PARCELAS = "DELETE FROM parcela WHERE proposta_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalCache cache;
+    private final ProposalProperties.Parcelas config;
+
+    private volatile long ultimoId;
+    private volatile boolean concluida;
+
+    public InstallmentCompactionService(NamedParameterJdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        ProposalCache cache,
+                                        ProposalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cache;
+        this.config = properties.getParcelas();
+    }
+
+    /**
+     * Converte um lote por execução, enquanto houver propostas em linhas.
+     * Só age com o armazenamento compacto e "propostas.parcelas.compactar-existentes=true".
+     */
+    @Scheduled(fixedDelayString = "${propostas.parcelas.intervalo-compactacao:PT1S}")
+    public void compactarPendentes() {
+        if (!config.isCompacto() || !config.isCompactarExistentes() || concluida) {
+            return;
+        }
+        int convertidas = compactarLote();
+        if (convertidas == 0) {
+            concluida = true;
+            logger.info("Compactação das parcelas concluída (último ID verificado: {})", ultimoId);
+        }
+    }
+
+    /**
+     * Converte o próximo lote de propostas em uma transação.
+     *
+     * @return Quantidade de propostas convertidas (0 quando não há mais propostas em linhas)
+     */
+    public synchronized int compactarLote() {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> lote = jdbcTemplate.queryForList(PROXIMAS_PROPOSTAS, new MapSqlParameterSource()
+                    .addValue("ultimoId", ultimoId)
+                    .addValue("limite", Math.max(1, config.getTamanhoLoteCompactacao())), Long.class);
+            if (lote.isEmpty()) {
+                return lote;
+            }
+            MapSqlParameterSource parametros = new MapSqlParameterSource("ids", lote);
+            jdbcTemplate.queryForList(TRAVAR_PARCELAS, parametros, Long.class);
+            jdbcTemplate.update(COMPACTAR, parametros);
+            jdbcTemplate.update(REMOVER_PARCELAS, parametros);
+            lote.forEach(cache::invalidar);
+            return lote;
+        });
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        // Avança o cursor somente depois do commit, para que um lote desfeito seja refeito
+        ultimoId = ids.get(ids.size() - 1);
+        logger.debug("Compactadas {} propostas até o ID {}", ids.size(), ultimoId);
+        return ids.size();
+    }
+}
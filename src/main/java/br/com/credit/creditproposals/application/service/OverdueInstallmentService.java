@@ -0,0 +1,140 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Marca como VENCIDA as parcelas EM_ABERTO com vencimento anterior a hoje.
+ *
+ * As parcelas são lidas pelo índice parcial idx_parcela_vencimento_em_aberto (data_vencimento, id) WHERE status = 'EM_ABERTO',
+ * em ordem de vencimento, "tamanho-lote" parcelas por transação. O cursor (vencimento e ID da última parcela lida)
+ * continua a leitura do ponto em que o lote anterior parou, sem reler as entradas das parcelas já marcadas,
+ * e a varredura termina na primeira parcela ainda não vencida: o custo depende apenas das parcelas vencidas, não do tamanho da tabela.
+ * As consultas repetem o literal 'EM_ABERTO' do índice, para que o PostgreSQL possa usá-lo.
+ *
+ * O UPDATE só altera as parcelas que continuam EM_ABERTO: uma paga no meio do lote fica PAGA,
+ * e uma marcada como VENCIDA continua podendo ser paga pelo UPDATE condicional do pagamento.
+ * As propostas no armazenamento compacto guardam apenas o mapa de pagas e não são marcadas.
+ */
+@Service
+public class OverdueInstallmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueInstallmentService.class);
+
+    private static final String PRIMEIRAS_VENCIDAS = """
+            SELECT id, proposta_id, data_vencimento FROM parcela
+            WHERE status = 'EM_ABERTO' AND data_vencimento < :hoje
+            ORDER BY data_vencimento, id
+            LIMIT :limite
+            """;
+
+    private static final String PROXIMAS_VENCIDAS = """
+            SELECT id, proposta_id, data_vencimento FROM parcela
+            WHERE status = 'EM_ABERTO' AND data_vencimento < :hoje
+              AND data_vencimento >= :ultimaData
+              AND (data_vencimento > :ultimaData OR id > :ultimoId)
+            ORDER BY data_vencimento, id
+            LIMIT :limite
+            """;
+
+    private static final String MARCAR_VENCIDAS = """
+            UPDATE parcela
+            SET status = 'VENCIDA'
+            WHERE id IN (:ids) AND status = 'EM_ABERTO'
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalCache cache;
+    private final ProposalMetrics metricas;
+    private final ProposalProperties.Vencimento config;
+
+    public OverdueInstallmentService(NamedParameterJdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     ProposalCache cache,
+                                     ProposalMetrics metricas,
+                                     ProposalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cache;
+        this.metricas = metricas;
+        this.config = properties.getVencimento();
+    }
+
+    /**
+     * Marca as parcelas vencidas até hoje. Só age com "propostas.vencimento.habilitado=true".
+     */
+    @Scheduled(fixedDelayString = "${propostas.vencimento.intervalo:PT1H}")
+    public void marcarVencidas() {
+        if (!config.isHabilitado()) {
+            return;
+        }
+        int marcadas = marcarVencidas(LocalDate.now());
+        if (marcadas > 0) {
+            logger.info("{} parcelas marcadas como vencidas", marcadas);
+        }
+    }
+
+    /**
+     * Marca como VENCIDA as parcelas EM_ABERTO com vencimento anterior à data informada, um lote por transação.
+     *
+     * @param hoje = Data de referência: vencem as parcelas com vencimento anterior a ela
+     * @return Quantidade de parcelas marcadas
+     */
+    public synchronized int marcarVencidas(LocalDate hoje) {
+        int limite = Math.max(1, config.getTamanhoLote());
+        int total = 0;
+        Lido ultima = null;
+        while (true) {
+            Lido cursor = ultima;
+            Lote lote = transactionTemplate.execute(status -> marcarLote(hoje, cursor, limite));
+            if (lote == null || lote.lidas().isEmpty()) {
+                break;
+            }
+            total += lote.marcadas();
+            ultima = lote.lidas().get(lote.lidas().size() - 1);
+            if (lote.lidas().size() < limite) {
+                break;
+            }
+        }
+        if (total > 0) {
+            metricas.parcelasVencidas(total);
+        }
+        return total;
+    }
+
+    private Lote marcarLote(LocalDate hoje, Lido cursor, int limite) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("hoje", hoje)
+                .addValue("limite", limite);
+        if (cursor != null) {
+            parametros.addValue("ultimaData", cursor.dataVencimento()).addValue("ultimoId", cursor.id());
+        }
+        List<Lido> lidas = jdbcTemplate.query(cursor == null ? PRIMEIRAS_VENCIDAS : PROXIMAS_VENCIDAS, parametros,
+                (rs, linha) -> new Lido(rs.getLong("id"), rs.getLong("proposta_id"),
+                        rs.getObject("data_vencimento", LocalDate.class)));
+        if (lidas.isEmpty()) {
+            return new Lote(lidas, 0);
+        }
+        int marcadas = jdbcTemplate.update(MARCAR_VENCIDAS,
+                new MapSqlParameterSource("ids", lidas.stream().map(Lido::id).toList()));
+        lidas.stream().map(Lido::propostaId).distinct().forEach(cache::invalidar);
+        return new Lote(lidas, marcadas);
+    }
+
+    private record Lido(long id, long propostaId, LocalDate dataVencimento) {
+    }
+
+    private record Lote(List<Lido> lidas, int marcadas) {
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Paga muitas parcelas de propostas diferentes de uma vez (conciliação de pagamentos).
+ *
+ * Os itens são aplicados em blocos de "propostas.pagamento.tamanho-lote", cada bloco em uma transação,
+ * com os mesmos UPDATEs condicionais do pagamento direto enviados em batch JDBC, sem carregar propostas.
+ * Dentro do bloco os itens são aplicados em ordem de (proposta, parcela), para que blocos simultâneos
+ * travem as linhas sempre na mesma ordem. Só os itens recusados passam por uma consulta de diagnóstico.
+ */
+@Service
+public class PaymentBatchService {
+
+    public enum SituacaoPagamento { PAGA, JA_PAGA, NAO_ENCONTRADA }
+
+    // Mesmo UPDATE de InstallmentRepository.pagar: a parcela pode estar EM_ABERTO ou VENCIDA
+    private static final String PAGAR_EM_LINHA = """
+            UPDATE parcela
+            SET status = ?
+            WHERE proposta_id = ? AND numero = ? AND status <> ?
+            """;
+
+    // Mesmo UPDATE de ProposalRepository.pagarParcelaCompacta
+    private static final String PAGAR_COMPACTA = """
+            UPDATE proposta
+            SET parcelas_pagas = parcelas_pagas + ?
+            WHERE id = ?
+              AND parcelas_pagas IS NOT NULL
+              AND ? BETWEEN 1 AND quantidade_parcelas
+              AND MOD(parcelas_pagas / ?, 2) = 0
+            """;
+
+    // Inclui as propostas arquivadas (quitadas), cujas parcelas existem e já estão pagas
+    private static final String QUANTIDADE_PARCELAS = """
+            SELECT id, quantidade_parcelas FROM proposta WHERE id IN (:ids)
+            UNION ALL
+            SELECT id, quantidade_parcelas FROM proposta_arquivo WHERE id IN (:ids)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClientSummaryService resumoClientes;
+    private final ProposalCache cache;
+    private final ProposalMetrics metricas;
+    private final ProposalProperties properties;
+
+    public PaymentBatchService(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedJdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ClientSummaryService resumoClientes,
+                               ProposalCache cache,
+                               ProposalMetrics metricas,
+                               ProposalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resumoClientes = resumoClientes;
+        this.cache = cache;
+        this.metricas = metricas;
+        this.properties = properties;
+    }
+
+    /**
+     * Paga as parcelas informadas.
+     *
+     * @param itens = Parcelas a pagar (a mesma parcela repetida é paga uma vez e as demais ficam como JA_PAGA)
+     * @return Situação de cada item, na mesma ordem da lista recebida
+     */
+    public List<SituacaoPagamento> pagar(List<ItemPagamento> itens) {
+        SituacaoPagamento[] situacoes = new SituacaoPagamento[itens.size()];
+        int tamanhoLote = Math.max(1, properties.getPagamento().getTamanhoLote());
+        for (int inicio = 0; inicio < itens.size(); inicio += tamanhoLote) {
+            int fim = Math.min(itens.size(), inicio + tamanhoLote);
+            List<Integer> indices = new ArrayList<>(fim - inicio);
+            for (int i = inicio; i < fim; i++) {
+                indices.add(i);
+            }
+            indices.sort(Comparator.comparing((Integer i) -> itens.get(i).propostaId())
+                    .thenComparingInt(i -> itens.get(i).numeroParcela()));
+            transactionTemplate.executeWithoutResult(status -> pagarBloco(itens, indices, situacoes));
+        }
+        return Arrays.asList(situacoes);
+    }
+
+    private void pagarBloco(List<ItemPagamento> itens, List<Integer> indices, SituacaoPagamento[] situacoes) {
+        boolean compacto = properties.getParcelas().isCompacto();
+        List<Integer> pendentes = compacto ? pagarCompactas(itens, indices) : pagarEmLinha(itens, indices);
+        if (!pendentes.isEmpty()) {
+            pendentes = compacto ? pagarEmLinha(itens, pendentes) : pagarCompactas(itens, pendentes);
+        }
+        Set<Integer> recusados = Set.copyOf(pendentes);
+
+        List<ItemPagamento> pagos = new ArrayList<>(indices.size());
+        Set<Long> propostasAlteradas = new LinkedHashSet<>();
+        for (Integer indice : indices) {
+            if (!recusados.contains(indice)) {
+                ItemPagamento item = itens.get(indice);
+                situacoes[indice] = SituacaoPagamento.PAGA;
+                pagos.add(item);
+                propostasAlteradas.add(item.propostaId());
+            }
+        }
+        diagnosticarRecusados(itens, pendentes, situacoes);
+
+        resumoClientes.registrarPagamentos(pagos);
+        propostasAlteradas.forEach(cache::invalidar);
+        metricas.parcelasPagasEmLote(pagos.size());
+    }
+
+    // Retorna os índices dos itens que não alteraram nenhuma linha
+    private List<Integer> pagarEmLinha(List<ItemPagamento> itens, List<Integer> indices) {
+        if (indices.isEmpty()) {
+            return List.of();
+        }
+        String paga = InstallmentStatus.PAGA.name();
+        int[] alteradas = jdbcTemplate.batchUpdate(PAGAR_EM_LINHA, indices.stream()
+                .map(i -> new Object[] {paga, itens.get(i).propostaId(), itens.get(i).numeroParcela(), paga})
+                .toList());
+        return naoAlterados(indices, alteradas);
+    }
+
+    private List<Integer> pagarCompactas(List<ItemPagamento> itens, List<Integer> indices) {
+        List<Integer> validos = new ArrayList<>(indices.size());
+        List<Integer> pendentes = new ArrayList<>();
+        for (Integer indice : indices) {
+            int numero = itens.get(indice).numeroParcela();
+            if (numero >= 1 && numero < Integer.SIZE) {
+                validos.add(indice);
+            } else {
+                pendentes.add(indice);
+            }
+        }
+        if (validos.isEmpty()) {
+            return pendentes;
+        }
+        int[] alteradas = jdbcTemplate.batchUpdate(PAGAR_COMPACTA, validos.stream()
+                .map(i -> {
+                    ItemPagamento item = itens.get(i);
+                    int bit = Proposal.bitParcela(item.numeroParcela());
+                    return new Object[] {bit, item.propostaId(), item.numeroParcela(), bit};
+                })
+                .toList());
+        pendentes.addAll(naoAlterados(validos, alteradas));
+        return pendentes;
+    }
+
+    private static List<Integer> naoAlterados(List<Integer> indices, int[] alteradas) {
+        List<Integer> pendentes = new ArrayList<>();
+        for (int i = 0; i < alteradas.length; i++) {
+            if (alteradas[i] == 0) {
+                pendentes.add(indices.get(i));
+            }
+        }
+        return pendentes;
+    }
+
+    // Mesma regra do pagamento direto: parcela fora de 1..quantidade (ou proposta inexistente) não existe; do contrário, já está paga
+    private void diagnosticarRecusados(List<ItemPagamento> itens, List<Integer> recusados, SituacaoPagamento[] situacoes) {
+        if (recusados.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        recusados.forEach(i -> ids.add(itens.get(i).propostaId()));
+        Map<Long, Integer> quantidades = new HashMap<>();
+        namedJdbcTemplate.query(QUANTIDADE_PARCELAS, new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    quantidades.put(rs.getLong(1), rs.getInt(2));
+                });
+        for (Integer indice : recusados) {
+            ItemPagamento item = itens.get(indice);
+            Integer quantidade = quantidades.get(item.propostaId());
+            boolean existe = quantidade != null && item.numeroParcela() >= 1 && item.numeroParcela() <= quantidade;
+            situacoes[indice] = existe ? SituacaoPagamento.JA_PAGA : SituacaoPagamento.NAO_ENCONTRADA;
+        }
+    }
+
+    /**
+     * Parcela a pagar
+     */
+    public record ItemPagamento(long propostaId, int numeroParcela) {
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+
+/**
+ * Move as propostas quitadas (todas as parcelas pagas) e as suas parcelas para as tabelas de arquivo
+ * (proposta_arquivo e parcela_arquivo), reduzindo as tabelas e os índices usados pelo tráfego.
+ *
+ * A tabela de propostas é percorrida pela chave primária, "tamanho-lote" propostas por transação, de modo
+ * que cada lote examina sempre a mesma quantidade de linhas. Entre os lotes o arquivamento espera
+ * proporcionalmente ao tempo gasto no lote anterior ("ocupacao-maxima"), e ao fim de cada varredura
+ * espera "pausa-entre-varreduras" antes de recomeçar do início.
+ *
+ * Uma proposta quitada não volta a ter parcelas em aberto, então a condição não muda depois de verificada.
+ * As linhas são travadas na mesma ordem da compactação (parcelas e depois propostas) antes da cópia,
+ * e a cópia lê o estado confirmado (por exemplo, uma proposta compactada enquanto o lote esperava a trava).
+ * As consultas por ID continuam encontrando a proposta no arquivo, com o mesmo conteúdo, por isso o cache não é invalidado.
+ */
+@Service
+public class ProposalArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalArchivalService.class);
+
+    private static final String PROXIMAS_PROPOSTAS = """
+            SELECT id FROM proposta
+            WHERE id > :ultimoId
+            ORDER BY id
+            LIMIT :limite
+            """;
+
+    // Em linhas: nenhuma parcela fora de PAGA; compacta: os bits das parcelas 1..quantidade todos ligados
+    private static final String QUITADAS = """
+            SELECT p.id FROM proposta p
+            WHERE p.id IN (:ids)
+              AND ((p.valor_parcela IS NULL
+                    AND NOT EXISTS (SELECT 1 FROM parcela i WHERE i.proposta_id = p.id AND i.status <> 'PAGA'))
+                OR (p.valor_parcela IS NOT NULL
+                    AND p.parcelas_pagas = CAST(POWER(2, p.quantidade_parcelas) AS INT) - 1))
+            """;
+
+    private static final String TRAVAR_PARCELAS = "SELECT id FROM parcela WHERE proposta_id IN (:ids) FOR UPDATE";
+
+    private static final String TRAVAR_PROPOSTAS = "SELECT id FROM proposta WHERE id IN (:ids) FOR UPDATE";
+
+    private static final String COPIAR_PROPOSTAS = """
+            INSERT INTO proposta_arquivo (id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao,
+                                          valor_parcela, parcelas_pagas, arquivada_em)
+            SELECT id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao,
+                   valor_parcela, parcelas_pagas, CURRENT_TIMESTAMP
+            FROM proposta
+            WHERE id IN (:ids)
+            """;
+
+    private static final String COPIAR_PARCELAS = """
+            INSERT INTO parcela_arquivo (id, proposta_id, numero, valor, status, data_vencimento)
+            SELECT id, proposta_id, numero, valor, status, data_vencimento
+            FROM parcela
+            WHERE proposta_id IN (:ids)
+            """;
+
+    private static final String REMOVER_PARCELAS = "DELETE FROM parcela WHERE proposta_id IN (:ids)";
+
+    private static final String REMOVER_PROPOSTAS = "DELETE FROM proposta WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalMetrics metricas;
+    private final ProposalProperties.Arquivamento config;
+
+    private volatile long ultimoId;
+    private volatile long liberadoEm = System.nanoTime();
+
+    public ProposalArchivalService(NamedParameterJdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ProposalMetrics metricas,
+                                   ProposalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricas = metricas;
+        this.config = properties.getArquivamento();
+    }
+
+    /**
+     * Processa um lote por execução, respeitando a ocupação máxima e a pausa entre varreduras.
+     * Só age com "propostas.arquivamento.habilitado=true".
+     */
+    @Scheduled(fixedDelayString = "${propostas.arquivamento.intervalo:PT1S}")
+    public void arquivarQuitadas() {
+        if (!config.isHabilitado() || System.nanoTime() - liberadoEm < 0) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Lote lote = arquivarLote();
+        long fim = System.nanoTime();
+        if (lote.verificadas() == 0) {
+            liberadoEm = fim + config.getPausaEntreVarreduras().toNanos();
+            logger.info("Varredura de arquivamento concluída; próxima em {}", config.getPausaEntreVarreduras());
+            return;
+        }
+        double ocupacao = Math.min(1.0, Math.max(0.01, config.getOcupacaoMaxima()));
+        liberadoEm = fim + (long) ((fim - inicio) * (1 - ocupacao) / ocupacao);
+    }
+
+    /**
+     * Verifica as próximas propostas da varredura e arquiva as quitadas, em uma transação.
+     * Ao chegar ao fim da tabela, a próxima chamada recomeça do início.
+     *
+     * @return Quantidade de propostas verificadas (0 no fim da varredura) e arquivadas
+     */
+    public synchronized Lote arquivarLote() {
+        Lote lote = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(PROXIMAS_PROPOSTAS, new MapSqlParameterSource()
+                    .addValue("ultimoId", ultimoId)
+                    .addValue("limite", Math.max(1, config.getTamanhoLote())), Long.class);
+            if (ids.isEmpty()) {
+                return new Lote(0, 0, 0);
+            }
+            List<Long> quitadas = jdbcTemplate.queryForList(QUITADAS, new MapSqlParameterSource("ids", ids), Long.class);
+            if (!quitadas.isEmpty()) {
+                MapSqlParameterSource parametros = new MapSqlParameterSource("ids", quitadas);
+                jdbcTemplate.queryForList(TRAVAR_PARCELAS, parametros, Long.class);
+                jdbcTemplate.queryForList(TRAVAR_PROPOSTAS, parametros, Long.class);
+                jdbcTemplate.update(COPIAR_PROPOSTAS, parametros);
+                jdbcTemplate.update(COPIAR_PARCELAS, parametros);
+                jdbcTemplate.update(REMOVER_PARCELAS, parametros);
+                jdbcTemplate.update(REMOVER_PROPOSTAS, parametros);
+            }
+            return new Lote(ids.size(), quitadas.size(), ids.get(ids.size() - 1));
+        });
+        // Avança o cursor somente depois do commit, para que um lote desfeito seja refeito
+        ultimoId = lote.ultimoId();
+        if (lote.arquivadas() > 0) {
+            metricas.propostasArquivadas(lote.arquivadas());
+            logger.debug("Arquivadas {} de {} propostas verificadas até o ID {}",
+                    lote.arquivadas(), lote.verificadas(), lote.ultimoId());
+        }
+        return lote;
+    }
+
+    /**
+     * Resultado de um lote do arquivamento
+     *
+     * @param verificadas = Propostas examinadas (0 quando a varredura chegou ao fim)
+     * @param arquivadas = Propostas quitadas movidas para o arquivo
+     * @param ultimoId = Maior ID examinado (0 no fim da varredura, para recomeçar do início)
+     */
+    public record Lote(int verificadas, int arquivadas, long ultimoId) {
+    }
+}
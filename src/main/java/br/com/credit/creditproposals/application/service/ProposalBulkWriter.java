@@ -0,0 +1,173 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.domain.model.Cpf;
+import br.com.credit.creditproposals.domain.model.Installment;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava propostas e parcelas diretamente por JDBC, em lotes, sem instanciar as entidades.
+ *
+ * As parcelas são geradas com as mesmas regras de Proposal.gerarParcelas (valor dividido
+ * igualmente com Proposal.calcularValorParcela, vencimento com Installment.calcularVencimento
+ * e status inicial EM_ABERTO), ou gravadas na própria
+ * proposta no armazenamento compacto, e os IDs vêm das mesmas sequências usadas pelo Hibernate. O resumo por CPF é atualizado na mesma transação,
+ * que deve ter sido aberta por quem chama.
+ */
+@Component
+public class ProposalBulkWriter {
+
+    private static final String INSERT_PROPOSTA = """
+            INSERT INTO proposta (id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    // Armazenamento compacto: as parcelas ficam na própria proposta
+    private static final String INSERT_PROPOSTA_COMPACTA = """
+            INSERT INTO proposta (id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao,
+                                  valor_parcela, parcelas_pagas)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_PARCELA = """
+            INSERT INTO parcela (id, numero, valor, status, proposta_id, data_vencimento)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    // Comandos enviados por ida ao banco (o driver do PostgreSQL os reescreve em INSERTs multi-linha)
+    private static final int TAMANHO_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final ClientSummaryService resumoClientes;
+    private final ProposalProperties.Parcelas configParcelas;
+
+    public ProposalBulkWriter(JdbcTemplate jdbcTemplate, SequenceIdAllocator idAllocator,
+                              ClientSummaryService resumoClientes, ProposalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.resumoClientes = resumoClientes;
+        this.configParcelas = properties.getParcelas();
+    }
+
+    /**
+     * Grava as propostas informadas e suas parcelas.
+     *
+     * @param propostas = Propostas já validadas
+     * @return IDs gerados, na mesma ordem das propostas
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> gravar(List<NovaProposta> propostas) {
+        if (propostas.isEmpty()) {
+            return List.of();
+        }
+        return gravar(propostas, idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PROPOSTA, propostas.size()));
+    }
+
+    /**
+     * Grava as propostas com IDs já reservados no SequenceIdAllocator (as parcelas recebem IDs novos).
+     *
+     * @param propostas = Propostas já validadas
+     * @param idsPropostas = ID de cada proposta, na mesma ordem
+     * @return IDs das propostas, na mesma ordem
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> gravar(List<NovaProposta> propostas, long[] idsPropostas) {
+        if (propostas.size() != idsPropostas.length) {
+            throw new IllegalArgumentException("Quantidade de IDs diferente da quantidade de propostas");
+        }
+        if (propostas.isEmpty()) {
+            return List.of();
+        }
+        if (configParcelas.isCompacto()) {
+            gravarCompactas(propostas, idsPropostas);
+            resumoClientes.registrarNovasPropostas(propostas);
+            return paraLista(idsPropostas);
+        }
+        int totalParcelas = 0;
+        for (NovaProposta proposta : propostas) {
+            totalParcelas += proposta.quantidadeParcelas();
+        }
+        long[] idsParcelas = idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PARCELA, totalParcelas);
+
+        List<PropostaComId> linhasPropostas = new ArrayList<>(propostas.size());
+        List<NovaParcela> linhasParcelas = new ArrayList<>(totalParcelas);
+        int proximaParcela = 0;
+        for (int i = 0; i < propostas.size(); i++) {
+            NovaProposta proposta = propostas.get(i);
+            long propostaId = idsPropostas[i];
+            linhasPropostas.add(new PropostaComId(propostaId, proposta));
+
+            BigDecimal valorParcela = Proposal.calcularValorParcela(proposta.valorSolicitado(), proposta.quantidadeParcelas());
+            for (int numero = 1; numero <= proposta.quantidadeParcelas(); numero++) {
+                linhasParcelas.add(new NovaParcela(idsParcelas[proximaParcela++], numero, valorParcela, propostaId,
+                        Installment.calcularVencimento(proposta.dataSolicitacao(), numero)));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PROPOSTA, linhasPropostas, TAMANHO_BATCH, (ps, linha) -> {
+            ps.setLong(1, linha.id());
+            ps.setLong(2, Cpf.paraNumero(linha.proposta().cpf()));
+            ps.setBigDecimal(3, linha.proposta().valorSolicitado());
+            ps.setInt(4, linha.proposta().quantidadeParcelas());
+            ps.setObject(5, linha.proposta().dataSolicitacao());
+        });
+        String status = InstallmentStatus.EM_ABERTO.name();
+        jdbcTemplate.batchUpdate(INSERT_PARCELA, linhasParcelas, TAMANHO_BATCH, (ps, linha) -> {
+            ps.setLong(1, linha.id());
+            ps.setInt(2, linha.numero());
+            ps.setBigDecimal(3, linha.valor());
+            ps.setString(4, status);
+            ps.setLong(5, linha.propostaId());
+            ps.setObject(6, linha.dataVencimento());
+        });
+        resumoClientes.registrarNovasPropostas(propostas);
+        return paraLista(idsPropostas);
+    }
+
+    // Uma linha por proposta, sem reservar IDs de parcela
+    private void gravarCompactas(List<NovaProposta> propostas, long[] idsPropostas) {
+        List<PropostaComId> linhas = new ArrayList<>(propostas.size());
+        for (int i = 0; i < propostas.size(); i++) {
+            linhas.add(new PropostaComId(idsPropostas[i], propostas.get(i)));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROPOSTA_COMPACTA, linhas, TAMANHO_BATCH, (ps, linha) -> {
+            NovaProposta proposta = linha.proposta();
+            ps.setLong(1, linha.id());
+            ps.setLong(2, Cpf.paraNumero(proposta.cpf()));
+            ps.setBigDecimal(3, proposta.valorSolicitado());
+            ps.setInt(4, proposta.quantidadeParcelas());
+            ps.setObject(5, proposta.dataSolicitacao());
+            ps.setBigDecimal(6, Proposal.calcularValorParcela(proposta.valorSolicitado(), proposta.quantidadeParcelas()));
+        });
+    }
+
+    private static List<Long> paraLista(long[] ids) {
+        List<Long> lista = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            lista.add(id);
+        }
+        return lista;
+    }
+
+    /**
+     * Dados de uma proposta a ser gravada
+     */
+    public record NovaProposta(String cpf, BigDecimal valorSolicitado, int quantidadeParcelas, LocalDate dataSolicitacao) {
+    }
+
+    private record PropostaComId(long id, NovaProposta proposta) {
+    }
+
+    private record NovaParcela(long id, int numero, BigDecimal valor, long propostaId, LocalDate dataVencimento) {
+    }
+}
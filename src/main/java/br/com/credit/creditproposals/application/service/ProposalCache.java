@@ -0,0 +1,133 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.datasource.ReadWriteRoutingDataSource;
+import br.com.credit.creditproposals.application.datasource.RecentWriteTracker;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura das propostas consultadas por ID, limitado por tamanho e validade.
+ * Armazena apenas ProposalView (imutável), nunca entidades gerenciadas pelo JPA.
+ *
+ * Toda operação que altera uma proposta ou suas parcelas deve chamar invalidar(id),
+ * para que a próxima consulta busque os dados atualizados no banco.
+ * Com a réplica de leitura, a proposta invalidada é recarregada do banco principal enquanto
+ * a escrita pode não ter chegado à réplica (RecentWriteTracker).
+ */
+@Component
+public class ProposalCache {
+
+    private final boolean habilitado;
+    private final AsyncCache<Long, ProposalView> propostas;
+    private final LongAdder invalidacoes = new LongAdder();
+    private final RecentWriteTracker escritasRecentes;
+
+    public ProposalCache(ProposalProperties properties, RecentWriteTracker escritasRecentes) {
+        this.escritasRecentes = escritasRecentes;
+        ProposalProperties.Cache config = properties.getCache();
+        this.habilitado = config.isHabilitado();
+        this.propostas = habilitado
+                ? Caffeine.newBuilder()
+                    .maximumSize(config.getTamanhoMaximo())
+                    .expireAfterWrite(config.getTtl())
+                    .recordStats()
+                    .buildAsync()
+                : null;
+    }
+
+    /**
+     * Retorna a proposta do cache ou a carrega com a função informada.
+     * Carregamentos simultâneos da mesma proposta são feitos uma única vez.
+     *
+     * O cache guarda o carregamento em andamento e a consulta ao banco é feita fora dele, na thread de quem chamou:
+     * carregar dentro do cache travaria a entrada (e as vizinhas) enquanto espera uma conexão, e uma invalidação
+     * feita após o commit, ainda com a conexão da transação, esperaria por ela até esgotar o pool.
+     */
+    public ProposalView obter(Long id, Function<Long, ProposalView> carregar) {
+        if (!habilitado) {
+            return carregar.apply(id);
+        }
+        CompletableFuture<ProposalView> carregamento = new CompletableFuture<>();
+        CompletableFuture<ProposalView> proposta = propostas.get(id, (chave, executor) -> carregamento);
+        if (proposta == carregamento) {
+            try {
+                carregamento.complete(carregarAtualizada(id, carregar));
+            } catch (RuntimeException e) {
+                // O cache descarta os carregamentos com erro; quem aguardava recebe a mesma exceção
+                carregamento.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return proposta.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * Remove a proposta do cache. Dentro de uma transação, a remoção acontece após o commit,
+     * para que uma consulta concorrente não volte a guardar os dados anteriores à alteração.
+     */
+    public void invalidar(Long id) {
+        if (!habilitado) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remover(id);
+                }
+            });
+        } else {
+            remover(id);
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        if (!habilitado) {
+            return new Estatisticas(false, 0, 0, 0, 0, 0, 0.0);
+        }
+        CacheStats stats = propostas.synchronous().stats();
+        return new Estatisticas(true, stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                invalidacoes.sum(), propostas.synchronous().estimatedSize(), stats.hitRate());
+    }
+
+    private void remover(Long id) {
+        escritasRecentes.registrarProposta(id);
+        propostas.synchronous().invalidate(id);
+        invalidacoes.increment();
+    }
+
+    // Uma proposta alterada há pouco é lida do principal, para não guardar no cache a versão anterior da réplica
+    private ProposalView carregarAtualizada(Long id, Function<Long, ProposalView> carregar) {
+        if (!escritasRecentes.propostaAlteradaRecentemente(id)) {
+            return carregar.apply(id);
+        }
+        boolean anterior = ReadWriteRoutingDataSource.forcarPrimario();
+        try {
+            return carregar.apply(id);
+        } finally {
+            ReadWriteRoutingDataSource.restaurar(anterior);
+        }
+    }
+
+    /**
+     * Contadores do cache desde o início da aplicação
+     * remocoes = entradas descartadas por tamanho ou validade; invalidacoes = remoções por escrita
+     */
+    public record Estatisticas(boolean habilitado, long acertos, long falhas, long remocoes,
+                               long invalidacoes, long tamanho, double taxaAcerto) {
+    }
+}
@@ -0,0 +1,260 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.domain.model.Cpf;
+import br.com.credit.creditproposals.domain.model.Installment;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exporta todas as propostas e suas parcelas diretamente para o stream da resposta.
+ *
+ * Usa um único cursor JDBC somente-leitura (fetch size configurável em
+ * "propostas.exportacao.tamanho-fetch") e mantém em memória apenas a proposta
+ * que está sendo escrita, de modo que o consumo de heap não depende do tamanho da tabela.
+ */
+@Service
+public class ProposalExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalExportService.class);
+
+    public enum Formato { NDJSON, CSV }
+
+    // A ordenação por (proposta, número) acompanha a chave primária e o índice uk_parcela_proposta_numero
+    private static final String CONSULTA = """
+            SELECT p.id, p.cpf, p.valor_solicitado, p.quantidade_parcelas, p.data_solicitacao,
+                   i.id AS parcela_id, i.numero, i.valor, i.status, p.valor_parcela, p.parcelas_pagas, i.data_vencimento
+            FROM proposta p
+            LEFT JOIN parcela i ON i.proposta_id = p.id
+            ORDER BY p.id, i.numero
+            """;
+
+    private static final String CABECALHO_CSV =
+            "proposta_id,cpf,valor_solicitado,quantidade_parcelas,data_solicitacao,parcela_id,numero,valor,status,data_vencimento\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leituraTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProposalExportService(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 ProposalProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getExportacao().getTamanhoFetch());
+        // O PostgreSQL só usa cursor (respeitando o fetch size) dentro de uma transação
+        this.leituraTemplate = new TransactionTemplate(transactionManager);
+        this.leituraTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve todas as propostas no formato informado.
+     * NDJSON: uma proposta por linha, com suas parcelas. CSV: uma linha por parcela.
+     *
+     * @param formato = Formato de saída
+     * @param saida = Stream da resposta (não é fechado ao final)
+     * @return Quantidade de propostas e parcelas exportadas
+     */
+    public Resumo exportar(Formato formato, OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        Escritor escritor = formato == Formato.CSV ? new EscritorCsv(saida) : new EscritorNdjson(saida);
+        Agrupador agrupador = new Agrupador(escritor);
+
+        try {
+            leituraTemplate.executeWithoutResult(status -> jdbcTemplate.query(CONSULTA, agrupador));
+            agrupador.finalizar();
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente encerrou a conexão no meio da exportação
+            throw e.getCause();
+        }
+
+        Resumo resumo = new Resumo(agrupador.propostas, agrupador.parcelas, (System.nanoTime() - inicio) / 1_000_000);
+        logger.info("Exportação {} concluída: {} propostas, {} parcelas em {} ms",
+                formato, resumo.propostas(), resumo.parcelas(), resumo.duracaoMillis());
+        return resumo;
+    }
+
+    public record Resumo(long propostas, long parcelas, long duracaoMillis) {
+    }
+
+    private record LinhaProposta(long id, String cpf, BigDecimal valorSolicitado, int quantidadeParcelas, LocalDate dataSolicitacao) {
+    }
+
+    // ID nulo nas parcelas reconstruídas do armazenamento compacto
+    private record LinhaParcela(Long id, int numero, BigDecimal valor, String status, LocalDate dataVencimento) {
+    }
+
+    /**
+     * Junta as linhas consecutivas de uma mesma proposta e entrega a proposta completa ao escritor
+     */
+    private static final class Agrupador implements RowCallbackHandler {
+
+        private final Escritor escritor;
+        private final List<LinhaParcela> parcelasAtuais = new ArrayList<>(24);
+        private final LocalDate hoje = LocalDate.now();
+        private LinhaProposta atual;
+        private long propostas;
+        private long parcelas;
+
+        Agrupador(Escritor escritor) {
+            this.escritor = escritor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (atual == null || atual.id() != id) {
+                emitir();
+                atual = new LinhaProposta(id, Cpf.formatar(rs.getLong(2)), rs.getBigDecimal(3), rs.getInt(4),
+                        rs.getObject(5, LocalDate.class));
+                BigDecimal valorParcela = rs.getBigDecimal(10);
+                if (valorParcela != null) {
+                    reconstruirParcelas(valorParcela, rs.getInt(11));
+                    return;
+                }
+            }
+            long parcelaId = rs.getLong(6);
+            if (!rs.wasNull()) {
+                parcelasAtuais.add(new LinhaParcela(parcelaId, rs.getInt(7), rs.getBigDecimal(8), rs.getString(9),
+                        rs.getObject(12, LocalDate.class)));
+            }
+        }
+
+        // Armazenamento compacto: a única linha da proposta (sem parcela no LEFT JOIN) traz as parcelas
+        private void reconstruirParcelas(BigDecimal valorParcela, int parcelasPagas) {
+            for (int numero = 1; numero <= atual.quantidadeParcelas(); numero++) {
+                boolean paga = (parcelasPagas & Proposal.bitParcela(numero)) != 0;
+                LocalDate vencimento = Installment.calcularVencimento(atual.dataSolicitacao(), numero);
+                parcelasAtuais.add(new LinhaParcela(null, numero, valorParcela,
+                        Installment.calcularStatus(paga, vencimento, hoje).name(), vencimento));
+            }
+        }
+
+        void finalizar() throws IOException {
+            emitir();
+            escritor.finalizar();
+        }
+
+        private void emitir() {
+            if (atual == null) {
+                return;
+            }
+            try {
+                escritor.escrever(atual, parcelasAtuais);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            propostas++;
+            parcelas += parcelasAtuais.size();
+            parcelasAtuais.clear();
+            atual = null;
+        }
+    }
+
+    private interface Escritor {
+        void escrever(LinhaProposta proposta, List<LinhaParcela> parcelas) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    // Mesmo formato JSON de GET /propostas/{id}, uma proposta por linha
+    private final class EscritorNdjson implements Escritor {
+
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(OutputStream saida) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida);
+            this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void escrever(LinhaProposta proposta, List<LinhaParcela> parcelas) throws IOException {
+            gerador.writeStartObject();
+            gerador.writeNumberField("id", proposta.id());
+            gerador.writeStringField("cpf", proposta.cpf());
+            gerador.writeNumberField("valorSolicitado", proposta.valorSolicitado());
+            gerador.writeNumberField("quantidadeParcelas", proposta.quantidadeParcelas());
+            gerador.writeStringField("dataSolicitacao", proposta.dataSolicitacao().toString());
+            gerador.writeArrayFieldStart("parcelas");
+            for (LinhaParcela parcela : parcelas) {
+                gerador.writeStartObject();
+                if (parcela.id() == null) {
+                    gerador.writeNullField("id");
+                } else {
+                    gerador.writeNumberField("id", parcela.id());
+                }
+                gerador.writeNumberField("numero", parcela.numero());
+                gerador.writeNumberField("valor", parcela.valor());
+                gerador.writeStringField("status", parcela.status());
+                gerador.writeStringField("dataVencimento",
+                        parcela.dataVencimento() == null ? null : parcela.dataVencimento().toString());
+                gerador.writeBooleanField("paga", "PAGA".equals(parcela.status()));
+                gerador.writeEndObject();
+            }
+            gerador.writeEndArray();
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            gerador.flush();
+        }
+    }
+
+    // Uma linha por parcela, repetindo os dados da proposta
+    private static final class EscritorCsv implements Escritor {
+
+        private final Writer escritor;
+
+        EscritorCsv(OutputStream saida) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+            this.escritor.write(CABECALHO_CSV);
+        }
+
+        @Override
+        public void escrever(LinhaProposta proposta, List<LinhaParcela> parcelas) throws IOException {
+            String dadosProposta = proposta.id() + "," + proposta.cpf() + "," + proposta.valorSolicitado().toPlainString()
+                    + "," + proposta.quantidadeParcelas() + "," + proposta.dataSolicitacao() + ",";
+            if (parcelas.isEmpty()) {
+                escritor.write(dadosProposta);
+                escritor.write(",,,,\n");
+                return;
+            }
+            for (LinhaParcela parcela : parcelas) {
+                escritor.write(dadosProposta);
+                escritor.write((parcela.id() == null ? "" : parcela.id()) + "," + parcela.numero() + "," + parcela.valor().toPlainString()
+                        + "," + parcela.status() + "," + (parcela.dataVencimento() == null ? "" : parcela.dataVencimento()) + "\n");
+            }
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            escritor.flush();
+        }
+    }
+}
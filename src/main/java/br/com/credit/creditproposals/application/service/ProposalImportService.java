@@ -0,0 +1,223 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.presentation.dto.ProposalRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Importa propostas a partir de um CSV lido linha a linha.
+ *
+ * Cada linha é validada com as mesmas regras de ProposalRequest; as válidas são gravadas
+ * pelo ProposalBulkWriter em transações de "propostas.importacao.tamanho-lote" propostas,
+ * e as inválidas entram no relatório de rejeições. Apenas um lote fica em memória por vez.
+ */
+@Service
+public class ProposalImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalImportService.class);
+
+    public static final List<String> COLUNAS = List.of("cpf", "valorSolicitado", "quantidadeParcelas", "dataSolicitacao");
+
+    private final ProposalBulkWriter writer;
+    private final ProposalRequestValidator validador;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalProperties.Importacao config;
+    private final ProposalMetrics metricas;
+
+    public ProposalImportService(ProposalBulkWriter writer,
+                                 ProposalRequestValidator validador,
+                                 PlatformTransactionManager transactionManager,
+                                 ProposalProperties properties,
+                                 ProposalMetrics metricas) {
+        this.writer = writer;
+        this.validador = validador;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getImportacao();
+        this.metricas = metricas;
+    }
+
+    /**
+     * Importa as propostas do CSV informado. A primeira linha deve ser o cabeçalho com as colunas
+     * cpf, valorSolicitado, quantidadeParcelas e dataSolicitacao (em qualquer ordem).
+     * Os lotes já gravados permanecem gravados se um lote posterior falhar.
+     *
+     * @param csv = Conteúdo do CSV (não é fechado ao final)
+     * @return Totais da importação e as linhas rejeitadas com seus erros
+     * @throws IllegalArgumentException se o cabeçalho estiver ausente ou incompleto
+     */
+    public Resultado importar(Reader csv) throws IOException {
+        long inicio = System.nanoTime();
+        BufferedReader leitor = csv instanceof BufferedReader b ? b : new BufferedReader(csv, 64 * 1024);
+        int[] posicoes = lerCabecalho(leitor.readLine());
+        int tamanhoLote = config.getTamanhoLote();
+
+        List<ProposalBulkWriter.NovaProposta> lote = new ArrayList<>(tamanhoLote);
+        List<LinhaRejeitada> rejeicoes = new ArrayList<>();
+        long numeroLinha = 1;
+        long lidas = 0;
+        long importadas = 0;
+        long rejeitadas = 0;
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            lidas++;
+
+            List<String> erros = new ArrayList<>(1);
+            ProposalRequest request = converter(linha, posicoes, erros);
+            if (request != null) {
+                erros.addAll(validador.validar(request));
+            }
+            if (!erros.isEmpty()) {
+                rejeitadas++;
+                if (rejeicoes.size() < config.getMaxRejeicoesRelatorio()) {
+                    erros.sort(null);
+                    rejeicoes.add(new LinhaRejeitada(numeroLinha, erros));
+                }
+                continue;
+            }
+
+            lote.add(new ProposalBulkWriter.NovaProposta(request.getCpf(), request.getValorSolicitado(),
+                    request.getQuantidadeParcelas(), request.getDataSolicitacao()));
+            if (lote.size() >= tamanhoLote) {
+                importadas += gravar(lote);
+            }
+        }
+        importadas += gravar(lote);
+
+        long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+        Resultado resultado = new Resultado(lidas, importadas, rejeitadas, rejeicoes, duracaoMillis,
+                importadas / Math.max(duracaoMillis / 1000.0, 0.001));
+        logger.info("Importação concluída: {} linhas, {} importadas, {} rejeitadas em {} ms ({} propostas/s)",
+                lidas, importadas, rejeitadas, duracaoMillis, Math.round(resultado.propostasPorSegundo()));
+        return resultado;
+    }
+
+    // Grava o lote em uma transação própria e o esvazia
+    private int gravar(List<ProposalBulkWriter.NovaProposta> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        int quantidade = lote.size();
+        transactionTemplate.executeWithoutResult(status -> writer.gravar(lote));
+        metricas.propostasCriadas(ProposalMetrics.ORIGEM_IMPORTACAO, quantidade);
+        lote.clear();
+        return quantidade;
+    }
+
+    // Índice de cada coluna esperada no cabeçalho
+    private static int[] lerCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio: o cabeçalho é obrigatório");
+        }
+        String[] nomes = dividir(removerBom(cabecalho));
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < nomes.length; i++) {
+            indices.put(nomes[i], i);
+        }
+        int[] posicoes = new int[COLUNAS.size()];
+        for (int i = 0; i < COLUNAS.size(); i++) {
+            Integer indice = indices.get(COLUNAS.get(i));
+            if (indice == null) {
+                throw new IllegalArgumentException("Cabeçalho do CSV deve conter as colunas " + String.join(",", COLUNAS));
+            }
+            posicoes[i] = indice;
+        }
+        return posicoes;
+    }
+
+    // Converte a linha em ProposalRequest; erros de formato são adicionados à lista e retornam null
+    private static ProposalRequest converter(String linha, int[] posicoes, List<String> erros) {
+        String[] campos = dividir(linha);
+        for (int posicao : posicoes) {
+            if (posicao >= campos.length) {
+                erros.add("Quantidade de colunas inválida");
+                return null;
+            }
+        }
+
+        ProposalRequest request = new ProposalRequest();
+        request.setCpf(campos[posicoes[0]].isEmpty() ? null : campos[posicoes[0]]);
+
+        String valor = campos[posicoes[1]];
+        if (!valor.isEmpty()) {
+            try {
+                request.setValorSolicitado(new BigDecimal(valor));
+            } catch (NumberFormatException e) {
+                erros.add("Valor solicitado inválido: " + valor);
+            }
+        }
+
+        String quantidade = campos[posicoes[2]];
+        try {
+            request.setQuantidadeParcelas(Integer.parseInt(quantidade));
+        } catch (NumberFormatException e) {
+            erros.add("Quantidade de parcelas inválida: " + quantidade);
+        }
+
+        String data = campos[posicoes[3]];
+        if (!data.isEmpty()) {
+            try {
+                request.setDataSolicitacao(LocalDate.parse(data));
+            } catch (DateTimeParseException e) {
+                erros.add("Data de solicitação inválida: " + data);
+            }
+        }
+        return erros.isEmpty() ? request : null;
+    }
+
+    // Campos separados por vírgula, sem espaços nas pontas e sem aspas opcionais
+    private static String[] dividir(String linha) {
+        String[] campos = linha.split(",", -1);
+        for (int i = 0; i < campos.length; i++) {
+            String campo = campos[i].strip();
+            if (campo.length() >= 2 && campo.startsWith("\"") && campo.endsWith("\"")) {
+                campo = campo.substring(1, campo.length() - 1).strip();
+            }
+            campos[i] = campo;
+        }
+        return campos;
+    }
+
+    private static String removerBom(String linha) {
+        return !linha.isEmpty() && linha.charAt(0) == '\uFEFF' ? linha.substring(1) : linha;
+    }
+
+    /**
+     * Resultado da importação
+     *
+     * @param linhasLidas = Linhas de dados lidas (sem o cabeçalho e linhas em branco)
+     * @param importadas = Propostas gravadas
+     * @param rejeitadas = Total de linhas rejeitadas
+     * @param rejeicoes = Linhas rejeitadas detalhadas, limitadas a "propostas.importacao.max-rejeicoes-relatorio"
+     * @param duracaoMillis = Duração total da importação
+     * @param propostasPorSegundo = Vazão da importação
+     */
+    public record Resultado(long linhasLidas, long importadas, long rejeitadas, List<LinhaRejeitada> rejeicoes,
+                            long duracaoMillis, double propostasPorSegundo) {
+    }
+
+    /**
+     * Linha rejeitada (numerada a partir de 1, contando o cabeçalho) e os motivos
+     */
+    public record LinhaRejeitada(long linha, List<String> erros) {
+    }
+}
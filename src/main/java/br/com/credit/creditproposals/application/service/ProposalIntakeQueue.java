@@ -0,0 +1,304 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.exception.IntakeQueueFullException;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import br.com.credit.creditproposals.domain.repository.ProposalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recebimento assíncrono de propostas (propostas.recebimento-assincrono.habilitado=true).
+ *
+ * A requisição apenas reserva o ID e coloca a proposta em uma fila limitada em memória;
+ * uma única thread grava a fila em lotes (group commit), cada lote em uma transação,
+ * quando o lote atinge "tamanho-lote" propostas ou a primeira aguarda "intervalo-maximo".
+ * Com a fila cheia a proposta é recusada (IntakeQueueFullException). No encerramento da aplicação
+ * a fila para de aceitar propostas e é gravada por completo antes de o pool de conexões ser fechado.
+ */
+@Service
+public class ProposalIntakeQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalIntakeQueue.class);
+
+    // Para depois que o servidor web deixou de receber requisições (e antes do fechamento do DataSource)
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long ESPERA_MAXIMA_NOVA_TENTATIVA_MILLIS = 5_000;
+
+    public enum SituacaoRecebimento { PENDENTE, GRAVADA, FALHOU }
+
+    private final ProposalBulkWriter writer;
+    private final SequenceIdAllocator idAllocator;
+    private final ProposalRepository propostaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProposalMetrics metricas;
+    private final ProposalProperties.RecebimentoAssincrono config;
+
+    private final ArrayBlockingQueue<Pendente> fila;
+    // Situação das propostas recentes; as mais antigas são consultadas no banco
+    private final Cache<Long, SituacaoRecebimento> situacoes;
+    // Impede que uma proposta entre na fila depois que o encerramento começou
+    private final ReentrantReadWriteLock aceite = new ReentrantReadWriteLock();
+
+    private volatile boolean aceitando;
+    private volatile boolean executando;
+    private volatile long prazoDrenagem = Long.MAX_VALUE;
+    private Thread gravador;
+
+    private long[] idsReservados = new long[0];
+    private int proximoId;
+
+    public ProposalIntakeQueue(ProposalBulkWriter writer,
+                               SequenceIdAllocator idAllocator,
+                               ProposalRepository propostaRepository,
+                               PlatformTransactionManager transactionManager,
+                               ProposalMetrics metricas,
+                               ProposalProperties properties) {
+        this.writer = writer;
+        this.idAllocator = idAllocator;
+        this.propostaRepository = propostaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricas = metricas;
+        this.config = properties.getRecebimentoAssincrono();
+        this.fila = new ArrayBlockingQueue<>(Math.max(1, config.getCapacidadeFila()));
+        this.situacoes = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getCapacidadeFila()) * 10L)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        metricas.monitorarFilaRecebimento(fila);
+    }
+
+    public boolean isHabilitado() {
+        return config.isHabilitado();
+    }
+
+    /**
+     * Reserva o ID da proposta e a coloca na fila de gravação.
+     *
+     * @param cpf = CPF do solicitante
+     * @param valor = Valor solicitado para crédito
+     * @param quantidadeParcelas = Número de parcelas para pagamento
+     * @param dataSolicitacao = Data da solicitação da proposta
+     * @return ID que a proposta terá após a gravação
+     * @throws IntakeQueueFullException se a fila estiver cheia ou a aplicação estiver em encerramento
+     */
+    public long enfileirar(String cpf, BigDecimal valor, int quantidadeParcelas, LocalDate dataSolicitacao) {
+        aceite.readLock().lock();
+        try {
+            if (!aceitando || fila.remainingCapacity() == 0) {
+                throw new IntakeQueueFullException();
+            }
+            long id = reservarId();
+            situacoes.put(id, SituacaoRecebimento.PENDENTE);
+            Pendente pendente = new Pendente(id,
+                    new ProposalBulkWriter.NovaProposta(cpf, valor, quantidadeParcelas, dataSolicitacao));
+            if (!fila.offer(pendente)) {
+                situacoes.invalidate(id);
+                throw new IntakeQueueFullException();
+            }
+            return id;
+        } finally {
+            aceite.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id = ID retornado por enfileirar
+     * @return Situação da gravação da proposta
+     * @throws NoSuchElementException se a proposta não estiver na fila nem gravada
+     */
+    public SituacaoRecebimento situacao(Long id) {
+        SituacaoRecebimento situacao = situacoes.getIfPresent(id);
+        if (situacao != null) {
+            return situacao;
+        }
+        if (propostaRepository.existsById(id)) {
+            return SituacaoRecebimento.GRAVADA;
+        }
+        throw new NotFoundException(ErrorCode.RECEBIMENTO_NAO_ENCONTRADO);
+    }
+
+    // Uma ida à sequência reserva um bloco inteiro de IDs, consumido pelas próximas propostas
+    private synchronized long reservarId() {
+        if (proximoId >= idsReservados.length) {
+            idsReservados = idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PROPOSTA, SequenceIdAllocator.TAMANHO_BLOCO);
+            proximoId = 0;
+        }
+        return idsReservados[proximoId++];
+    }
+
+    @Override
+    public void start() {
+        aceitando = true;
+        executando = true;
+        prazoDrenagem = Long.MAX_VALUE;
+        gravador = new Thread(this::gravarContinuamente, "recebimento-propostas");
+        gravador.start();
+        logger.info("Recebimento assíncrono de propostas iniciado (fila de {}, lotes de até {} a cada {} ms)",
+                fila.remainingCapacity(), config.getTamanhoLote(), config.getIntervaloMaximo().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        aceite.writeLock().lock();
+        try {
+            aceitando = false;
+        } finally {
+            aceite.writeLock().unlock();
+        }
+        long tempoDrenagem = config.getTempoDrenagem().toNanos();
+        prazoDrenagem = System.nanoTime() + tempoDrenagem;
+        logger.info("Encerrando o recebimento assíncrono: {} propostas na fila", fila.size());
+        try {
+            gravador.join(TimeUnit.NANOSECONDS.toMillis(tempoDrenagem) + 1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (gravador.isAlive() || !fila.isEmpty()) {
+            logger.error("Recebimento assíncrono encerrado com {} propostas não gravadas", fila.size());
+        }
+        executando = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return config.isHabilitado();
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    // Laço da thread gravadora: termina quando a fila para de aceitar propostas e fica vazia
+    private void gravarContinuamente() {
+        int tamanhoLote = Math.max(1, config.getTamanhoLote());
+        long intervaloMaximo = config.getIntervaloMaximo().toNanos();
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (true) {
+            try {
+                Pendente primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    if (!aceitando && fila.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                lote.add(primeiro);
+                long limite = System.nanoTime() + intervaloMaximo;
+                while (lote.size() < tamanhoLote) {
+                    fila.drainTo(lote, tamanhoLote - lote.size());
+                    long restante = limite - System.nanoTime();
+                    if (lote.size() >= tamanhoLote || restante <= 0 || !aceitando) {
+                        break;
+                    }
+                    Pendente proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+                    if (proxima == null) {
+                        break;
+                    }
+                    lote.add(proxima);
+                }
+            } catch (InterruptedException e) {
+                // A thread só termina com a fila vazia; a interrupção apenas antecipa a gravação do lote atual
+                Thread.interrupted();
+            }
+            if (!lote.isEmpty()) {
+                gravarComNovasTentativas(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação. Falhas temporárias (banco indisponível, por exemplo) são repetidas
+     * com espera crescente; durante o encerramento, até o fim do prazo de drenagem.
+     */
+    private void gravarComNovasTentativas(List<Pendente> lote) {
+        long espera = 100;
+        while (true) {
+            try {
+                gravar(lote);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Um registro inválido não pode impedir a gravação dos demais
+                logger.warn("Lote de {} propostas recusado pelo banco; gravando individualmente", lote.size(), e);
+                gravarIndividualmente(lote);
+                return;
+            } catch (RuntimeException e) {
+                if (System.nanoTime() - prazoDrenagem > 0) {
+                    marcarFalha(lote, e);
+                    return;
+                }
+                logger.warn("Falha ao gravar lote de {} propostas; nova tentativa em {} ms", lote.size(), espera, e);
+                dormir(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_NOVA_TENTATIVA_MILLIS);
+            }
+        }
+    }
+
+    private void gravarIndividualmente(List<Pendente> lote) {
+        for (Pendente pendente : lote) {
+            try {
+                gravar(List.of(pendente));
+            } catch (RuntimeException e) {
+                marcarFalha(List.of(pendente), e);
+            }
+        }
+    }
+
+    private void gravar(List<Pendente> lote) {
+        List<ProposalBulkWriter.NovaProposta> propostas = new ArrayList<>(lote.size());
+        long[] ids = new long[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            propostas.add(lote.get(i).proposta());
+            ids[i] = lote.get(i).id();
+        }
+        transactionTemplate.executeWithoutResult(status -> writer.gravar(propostas, ids));
+        for (Pendente pendente : lote) {
+            situacoes.put(pendente.id(), SituacaoRecebimento.GRAVADA);
+        }
+        metricas.propostasCriadas(ProposalMetrics.ORIGEM_ASSINCRONA, lote.size());
+    }
+
+    // Registra no log os dados completos, para que a proposta possa ser recuperada manualmente
+    private void marcarFalha(List<Pendente> lote, RuntimeException erro) {
+        for (Pendente pendente : lote) {
+            situacoes.put(pendente.id(), SituacaoRecebimento.FALHOU);
+            logger.error("Proposta aceita não gravada: id={} {}", pendente.id(), pendente.proposta(), erro);
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+        }
+    }
+
+    private record Pendente(long id, ProposalBulkWriter.NovaProposta proposta) {
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.domain.model.Cpf;
+import br.com.credit.creditproposals.presentation.dto.ProposalRequest;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valida ProposalRequest com as mesmas regras e mensagens das anotações do DTO,
+ * sem passar pelo Hibernate Validator (metadados, reflexão, expressões regulares e objetos de violação).
+ * Uma requisição válida não aloca nenhum objeto.
+ *
+ * As anotações continuam no DTO para a documentação da API; as duas validações
+ * são comparadas em ProposalRequestValidatorTest.
+ */
+@Component
+public class ProposalRequestValidator {
+
+    private static final BigDecimal VALOR_MINIMO = new BigDecimal(ProposalRequest.VALOR_MINIMO);
+
+    /**
+     * @param request = Requisição a validar
+     * @return Mensagens de erro em ordem alfabética (lista vazia se a requisição for válida)
+     */
+    public List<String> validar(ProposalRequest request) {
+        List<String> erros = List.of();
+
+        String cpf = request.getCpf();
+        if (cpf == null) {
+            erros = adicionar(erros, ProposalRequest.CPF_OBRIGATORIO);
+        } else if (!Cpf.valido(cpf)) {
+            // Assim como no @NotBlank + @CPF, um CPF em branco recebe as duas mensagens
+            if (cpf.isBlank()) {
+                erros = adicionar(erros, ProposalRequest.CPF_OBRIGATORIO);
+            }
+            erros = adicionar(erros, ProposalRequest.CPF_INVALIDO);
+        }
+
+        BigDecimal valor = request.getValorSolicitado();
+        if (valor == null) {
+            erros = adicionar(erros, ProposalRequest.VALOR_OBRIGATORIO);
+        } else if (valor.compareTo(VALOR_MINIMO) < 0) {
+            erros = adicionar(erros, ProposalRequest.VALOR_ABAIXO_DO_MINIMO);
+        }
+
+        int parcelas = request.getQuantidadeParcelas();
+        if (parcelas < ProposalRequest.PARCELAS_MINIMO) {
+            erros = adicionar(erros, ProposalRequest.PARCELAS_ABAIXO_DO_MINIMO);
+        } else if (parcelas > ProposalRequest.PARCELAS_MAXIMO) {
+            erros = adicionar(erros, ProposalRequest.PARCELAS_ACIMA_DO_MAXIMO);
+        }
+
+        if (request.getDataSolicitacao() == null) {
+            erros = adicionar(erros, ProposalRequest.DATA_OBRIGATORIA);
+        }
+
+        if (erros.size() > 1) {
+            erros.sort(null);
+        }
+        return erros;
+    }
+
+    // A lista só é criada no primeiro erro
+    private static List<String> adicionar(List<String> erros, String mensagem) {
+        if (erros.isEmpty()) {
+            erros = new ArrayList<>(4);
+        }
+        erros.add(mensagem);
+        return erros;
+    }
+}
@@ -1,70 +1,296 @@
 package br.com.credit.creditproposals.application.service;
 
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.application.query.InstallmentView;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import br.com.credit.creditproposals.domain.model.ArchivedProposal;
+import br.com.credit.creditproposals.domain.model.Cpf;
+import br.com.credit.creditproposals.domain.model.Installment;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
 import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.domain.repository.ArchivedProposalRepository;
+import br.com.credit.creditproposals.domain.repository.InstallmentProjection;
+import br.com.credit.creditproposals.domain.repository.InstallmentRepository;
 import br.com.credit.creditproposals.domain.repository.ProposalRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 public class ProposalService {
 
     private final ProposalRepository propostaRepository;
+    private final InstallmentRepository parcelaRepository;
+    private final ArchivedProposalRepository arquivoRepository;
+    private final TransactionTemplate leituraTemplate;
+    private final ProposalProperties properties;
+    private final ProposalCache cache;
+    private final ProposalMetrics metricas;
+    private final ClientSummaryService resumoClientes;
 
-    public ProposalService(ProposalRepository propostaRepository) {
+    public ProposalService(ProposalRepository propostaRepository,
+                           InstallmentRepository parcelaRepository,
+                           ArchivedProposalRepository arquivoRepository,
+                           PlatformTransactionManager transactionManager,
+                           ProposalProperties properties,
+                           ProposalCache cache,
+                           ProposalMetrics metricas,
+                           ClientSummaryService resumoClientes) {
         this.propostaRepository = propostaRepository;
+        this.parcelaRepository = parcelaRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.leituraTemplate = new TransactionTemplate(transactionManager);
+        this.leituraTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.cache = cache;
+        this.metricas = metricas;
+        this.resumoClientes = resumoClientes;
     }
 
     /**
      * Cria uma nova proposta de crédito com os dados informados,
-     * gera as parcelas correspondentes e persiste no banco.
-     * 
+     * gera as parcelas correspondentes e persiste no banco,
+     * atualizando o resumo do CPF na mesma transação.
+     *
      * @param cpf = CPF do solicitante
      * @param valor = Valor solicitado para crédito
      * @param quantidadeParcelas = Número de parcelas para pagamento
      * @param dataSolicitacao = Data da solicitação da proposta
      * @return ID da proposta criada
      */
+    @Transactional
     public Long criarProposta(String cpf, BigDecimal valor, int quantidadeParcelas, LocalDate dataSolicitacao) {
         Proposal proposta = new Proposal(cpf, valor, quantidadeParcelas, dataSolicitacao);
+        aplicarArmazenamento(proposta);
         propostaRepository.save(proposta);
+        resumoClientes.registrarPropostas(List.of(proposta));
+        metricas.propostasCriadas(ProposalMetrics.ORIGEM_INDIVIDUAL, 1);
         return proposta.getId();
     }
 
     /**
-     * Busca uma proposta pelo seu ID.
-     * 
+     * Cria várias propostas em uma única transação.
+     * Com IDs alocados em blocos pela sequência e o batching JDBC do Hibernate,
+     * os INSERTs de propostas e parcelas são enviados agrupados ao banco.
+     *
+     * @param propostas = Propostas já validadas, ainda não persistidas
+     * @return IDs das propostas criadas, na mesma ordem da lista recebida
+     */
+    @Transactional
+    public List<Long> criarPropostasEmLote(List<Proposal> propostas) {
+        propostas.forEach(this::aplicarArmazenamento);
+        propostaRepository.saveAll(propostas);
+        resumoClientes.registrarPropostas(propostas);
+        metricas.propostasCriadas(ProposalMetrics.ORIGEM_LOTE, propostas.size());
+        return propostas.stream()
+                .map(Proposal::getId)
+                .toList();
+    }
+
+    /**
+     * Busca uma proposta pelo seu ID, já com suas parcelas.
+     * Consulta primeiro o cache; na ausência, executa duas consultas em uma transação
+     * somente leitura (a proposta e as suas parcelas) e guarda o resultado no cache.
+     * Se a proposta não estiver nas tabelas principais, é procurada no arquivo das propostas quitadas.
+     * Com a réplica de leitura habilitada, a transação somente leitura é atendida pela réplica.
+     *
      * @param id = ID da proposta
      * @return Proposta encontrada
      * @throws NoSuchElementException se a proposta não for encontrada
      */
-    public Proposal buscarProposta(Long id) {
-        return propostaRepository.findById(id).orElseThrow(() -> new java.util.NoSuchElementException("Proposta não encontrada"));
+    public ProposalView buscarProposta(Long id) {
+        return cache.obter(id, this::carregarView);
     }
 
     /**
      * Retorna uma página paginada de propostas.
-     * 
+     * As parcelas de todas as propostas da página são buscadas em uma única consulta.
+     * Com a réplica de leitura habilitada, a transação somente leitura é atendida pela réplica.
+     *
      * @param pageable = Objeto que define paginação e ordenação
      * @return Página de propostas
      */
-    public Page<Proposal> listarPropostas(Pageable pageable) {
-        return propostaRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<ProposalView> listarPropostas(Pageable pageable) {
+        Page<Proposal> pagina = propostaRepository.findAll(pageable);
+        return new PageImpl<>(montarViews(pagina.getContent()), pagina.getPageable(), pagina.getTotalElements());
+    }
+
+    /**
+     * Retorna uma página com as propostas de um CPF.
+     *
+     * @param cpf = CPF do solicitante, com ou sem pontuação
+     * @param pageable = Objeto que define paginação e ordenação
+     * @return Página de propostas do CPF
+     * @throws IllegalArgumentException se o CPF for inválido
+     */
+    @Transactional(readOnly = true)
+    public Page<ProposalView> listarPropostasPorCpf(String cpf, Pageable pageable) {
+        String normalizado = Cpf.formatar(Cpf.validar(cpf));
+        Page<Proposal> pagina = propostaRepository.findByCpf(normalizado, pageable);
+        return new PageImpl<>(montarViews(pagina.getContent()), pagina.getPageable(), pagina.getTotalElements());
+    }
+
+    /**
+     * Retorna as propostas seguintes ao cursor informado (paginação por keyset).
+     * O custo não depende da profundidade da página, pois a consulta parte
+     * diretamente do último ID lido usando o índice da chave primária.
+     *
+     * @param aposId = ID da última proposta já retornada ao cliente (0 para a primeira página)
+     * @param tamanho = Quantidade de propostas por página
+     * @return Fatia de propostas, sem contagem total
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProposalView> listarPropostasAposCursor(Long aposId, int tamanho) {
+        Slice<Proposal> fatia = propostaRepository.findByIdGreaterThanOrderByIdAsc(aposId, PageRequest.of(0, tamanho));
+        return new SliceImpl<>(montarViews(fatia.getContent()), fatia.getPageable(), fatia.hasNext());
     }
 
     /**
-     * Marca uma parcela específica de uma proposta como PAGA.
-     * 
+     * Marca uma parcela como PAGA com um único UPDATE condicional, sem carregar a proposta.
+     * A condição do UPDATE (parcela ainda não paga) já impede que dois pagamentos simultâneos sejam aceitos,
+     * sem controle de versão nem novas tentativas.
+     * O UPDATE do armazenamento configurado é tentado primeiro; se não alterar nenhuma linha,
+     * tenta-se o outro (a proposta pode ter sido gravada antes de uma troca de armazenamento).
+     * Somente quando nenhuma linha é alterada é feita uma consulta extra pela chave primária
+     * da proposta, para identificar o erro (proposta ou parcela inexistente, parcela já paga).
+     *
      * @param propostaId = ID da proposta
      * @param numeroParcela = Número da parcela a ser paga
      * @throws NoSuchElementException se a proposta ou parcela não existir
      * @throws IllegalStateException se a parcela já estiver paga
      */
+    @Transactional
     public void pagarParcela(Long propostaId, int numeroParcela) {
-        Proposal proposta = buscarProposta(propostaId);
-        proposta.pagarParcela(numeroParcela);
-        propostaRepository.save(proposta);
+        boolean compacto = properties.getParcelas().isCompacto();
+        int alteradas = compacto
+                ? pagarParcelaCompacta(propostaId, numeroParcela)
+                : pagarParcelaEmLinha(propostaId, numeroParcela);
+        if (alteradas == 0) {
+            alteradas = compacto
+                    ? pagarParcelaEmLinha(propostaId, numeroParcela)
+                    : pagarParcelaCompacta(propostaId, numeroParcela);
+        }
+        if (alteradas == 0) {
+            throw diagnosticarPagamentoRecusado(propostaId, numeroParcela);
+        }
+        resumoClientes.registrarPagamento(propostaId, numeroParcela);
+        metricas.parcelaPagaDireto();
+        cache.invalidar(propostaId);
+    }
+
+    private int pagarParcelaEmLinha(Long propostaId, int numeroParcela) {
+        return parcelaRepository.pagar(propostaId, numeroParcela);
+    }
+
+    private int pagarParcelaCompacta(Long propostaId, int numeroParcela) {
+        if (numeroParcela < 1 || numeroParcela > Integer.SIZE - 1) {
+            return 0;
+        }
+        return propostaRepository.pagarParcelaCompacta(propostaId, numeroParcela, Proposal.bitParcela(numeroParcela));
+    }
+
+    private void aplicarArmazenamento(Proposal proposta) {
+        if (properties.getParcelas().isCompacto()) {
+            proposta.compactarParcelas();
+        }
+    }
+
+    // As parcelas de uma proposta são sempre numeradas de 1 até a quantidade de parcelas.
+    // Uma proposta arquivada está quitada: as suas parcelas existem e já estão pagas
+    private RuntimeException diagnosticarPagamentoRecusado(Long propostaId, int numeroParcela) {
+        Integer quantidadeParcelas = propostaRepository.findQuantidadeParcelasById(propostaId)
+                .or(() -> arquivoRepository.findQuantidadeParcelasById(propostaId))
+                .orElse(null);
+        if (quantidadeParcelas == null) {
+            return new NotFoundException(ErrorCode.PROPOSTA_NAO_ENCONTRADA);
+        }
+        if (numeroParcela < 1 || numeroParcela > quantidadeParcelas) {
+            return new NotFoundException(ErrorCode.PARCELA_NAO_ENCONTRADA);
+        }
+        return new BusinessRuleException(ErrorCode.PARCELA_JA_PAGA);
+    }
+
+    private ProposalView carregarView(Long id) {
+        return leituraTemplate.execute(status -> propostaRepository.findById(id)
+                .map(proposta -> montarViews(List.of(proposta)).get(0))
+                .orElseGet(() -> carregarViewArquivada(id)));
+    }
+
+    // Proposta quitada: no armazenamento compacto as parcelas não foram arquivadas em linhas e são reconstruídas, todas pagas
+    private ProposalView carregarViewArquivada(Long id) {
+        ArchivedProposal proposta = arquivoRepository.findComParcelasById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.PROPOSTA_NAO_ENCONTRADA));
+        List<InstallmentView> parcelas = new ArrayList<>(proposta.getQuantidadeParcelas());
+        if (proposta.isParcelasCompactas()) {
+            for (int numero = 1; numero <= proposta.getQuantidadeParcelas(); numero++) {
+                parcelas.add(new InstallmentView(null, numero, proposta.getValorParcela(), InstallmentStatus.PAGA,
+                        Installment.calcularVencimento(proposta.getDataSolicitacao(), numero)));
+            }
+        } else {
+            proposta.getParcelas().forEach(i -> parcelas.add(
+                    new InstallmentView(i.getId(), i.getNumero(), i.getValor(), i.getStatus(), i.getDataVencimento())));
+        }
+        return new ProposalView(proposta.getId(), proposta.getCpf(), proposta.getValorSolicitado(),
+                proposta.getQuantidadeParcelas(), proposta.getDataSolicitacao(), List.copyOf(parcelas));
+    }
+
+    /**
+     * Converte as propostas em DTOs, buscando as parcelas de todas elas em uma única consulta.
+     * As propostas com armazenamento compacto já trazem as parcelas e ficam fora da consulta.
+     */
+    private List<ProposalView> montarViews(List<Proposal> propostas) {
+        if (propostas.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<InstallmentView>> parcelasPorProposta = new HashMap<>();
+        List<Long> ids = new ArrayList<>(propostas.size());
+        for (Proposal proposta : propostas) {
+            if (proposta.isParcelasCompactas()) {
+                parcelasPorProposta.put(proposta.getId(), proposta.getParcelas().stream()
+                        .map(i -> new InstallmentView(i.getId(), i.getNumero(), i.getValor(), i.getStatus(),
+                                i.getDataVencimento()))
+                        .toList());
+            } else {
+                ids.add(proposta.getId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            for (InstallmentProjection parcela : parcelaRepository.findProjectionsByPropostaIds(ids)) {
+                parcelasPorProposta
+                        .computeIfAbsent(parcela.propostaId(), chave -> new ArrayList<>())
+                        .add(new InstallmentView(parcela.id(), parcela.numero(), parcela.valor(), parcela.status(),
+                                parcela.dataVencimento()));
+            }
+        }
+
+        return propostas.stream()
+                .map(p -> new ProposalView(
+                        p.getId(),
+                        p.getCpf(),
+                        p.getValorSolicitado(),
+                        p.getQuantidadeParcelas(),
+                        p.getDataSolicitacao(),
+                        parcelasPorProposta.getOrDefault(p.getId(), List.of())))
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package br.com.credit.creditproposals.application.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserva IDs das sequências proposta_seq e parcela_seq para gravações feitas por JDBC.
+ *
+ * As sequências têm incremento 50 e seguem a mesma regra do otimizador pooled do Hibernate:
+ * cada valor v obtido da sequência reserva o bloco (v - 49 .. v). Assim os IDs reservados
+ * aqui nunca colidem com os gerados pelas entidades, e N IDs custam uma única consulta.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    public static final String SEQUENCIA_PROPOSTA = "proposta_seq";
+    public static final String SEQUENCIA_PARCELA = "parcela_seq";
+
+    // Deve ser igual ao allocationSize das entidades e ao INCREMENT BY das sequências
+    static final int TAMANHO_BLOCO = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserva a quantidade de IDs informada.
+     *
+     * @param sequencia = Nome da sequência (SEQUENCIA_PROPOSTA ou SEQUENCIA_PARCELA)
+     * @param quantidade = Quantidade de IDs necessária
+     * @return IDs reservados, em ordem crescente dentro de cada bloco
+     */
+    public long[] reservar(String sequencia, int quantidade) {
+        long[] ids = new long[quantidade];
+        if (quantidade == 0) {
+            return ids;
+        }
+        int blocos = (quantidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        int[] preenchidos = {0};
+        jdbcTemplate.query(consultaBlocos(sequencia), rs -> {
+            long fim = rs.getLong(1);
+            // O primeiro valor de uma sequência nova é 1: o bloco não pode conter IDs negativos
+            for (long id = Math.max(1, fim - TAMANHO_BLOCO + 1); id <= fim && preenchidos[0] < quantidade; id++) {
+                ids[preenchidos[0]++] = id;
+            }
+        }, blocos);
+        if (preenchidos[0] < quantidade) {
+            // Só acontece se um dos blocos for o primeiro da sequência (menor que o tamanho do bloco)
+            long[] restantes = reservar(sequencia, quantidade - preenchidos[0]);
+            System.arraycopy(restantes, 0, ids, preenchidos[0], restantes.length);
+        }
+        return ids;
+    }
+
+    // Uma linha por bloco em uma única ida ao banco
+    private String consultaBlocos(String sequencia) {
+        if (!SEQUENCIA_PROPOSTA.equals(sequencia) && !SEQUENCIA_PARCELA.equals(sequencia)) {
+            throw new IllegalArgumentException("Sequência desconhecida: " + sequencia);
+        }
+        if (isPostgres()) {
+            return "SELECT nextval('" + sequencia + "') FROM generate_series(1, ?)";
+        }
+        return "SELECT NEXT VALUE FOR " + sequencia + " FROM SYSTEM_RANGE(1, ?)";
+    }
+
+    private boolean isPostgres() {
+        Boolean valor = postgres;
+        if (valor == null) {
+            valor = jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao ->
+                    conexao.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres"));
+            postgres = valor;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.credit.creditproposals.domain.exception;
+
+/**
+ * Operação recusada pelo estado atual da proposta (HTTP 400). Sem pilha de chamadas; veja DomainError.
+ */
+public class BusinessRuleException extends IllegalStateException implements DomainError {
+
+    private final ErrorCode codigo;
+
+    public BusinessRuleException(ErrorCode codigo) {
+        this(codigo, codigo.getMensagemPadrao());
+    }
+
+    public BusinessRuleException(ErrorCode codigo, String mensagem) {
+        super(mensagem);
+        this.codigo = codigo;
+    }
+
+    @Override
+    public ErrorCode getCodigo() {
+        return codigo;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.credit.creditproposals.domain.exception;
+
+/**
+ * Erro de negócio esperado (parcela já paga, proposta inexistente, CPF inválido...).
+ *
+ * As implementações estendem as exceções padrão já tratadas pela aplicação
+ * (NoSuchElementException, IllegalStateException, IllegalArgumentException) e não capturam
+ * a pilha de chamadas: são lançadas com frequência, fazem parte do fluxo normal da API
+ * e a pilha não ajudaria a diagnosticá-las.
+ */
+public interface DomainError {
+
+    ErrorCode getCodigo();
+
+    String getMessage();
+}
@@ -0,0 +1,40 @@
+package br.com.credit.creditproposals.domain.exception;
+
+/**
+ * Códigos estáveis dos erros devolvidos no campo "codigo" das respostas de erro.
+ * Os nomes não devem ser alterados: clientes podem tratar os erros pelo código.
+ */
+public enum ErrorCode {
+
+    PROPOSTA_NAO_ENCONTRADA("Proposta não encontrada"),
+    PARCELA_NAO_ENCONTRADA("Parcela não encontrada"),
+    PARCELA_JA_PAGA("Parcela já está paga"),
+    CLIENTE_NAO_ENCONTRADO("Cliente não encontrado"),
+    RECEBIMENTO_NAO_ENCONTRADO("Recebimento não encontrado"),
+    CPF_INVALIDO("CPF inválido"),
+    CURSOR_INVALIDO("Cursor inválido"),
+    DADOS_INVALIDOS("Dados da proposta inválidos"),
+    CHAVE_IDEMPOTENCIA_INVALIDA("Idempotency-Key inválida"),
+    CHAVE_IDEMPOTENCIA_REUTILIZADA("Idempotency-Key já utilizada em uma requisição com outro conteúdo"),
+
+    // Erros sem exceção de domínio própria, atribuídos pelo GlobalExceptionHandler
+    REQUISICAO_INVALIDA("Requisição inválida"),
+    RECURSO_NAO_ENCONTRADO("Recurso não encontrado"),
+    ESTADO_INVALIDO("Estado inválido"),
+    PARAMETRO_INVALIDO("Parâmetro inválido"),
+    CORPO_INVALIDO("Corpo da requisição inválido"),
+    ENDPOINT_NAO_ENCONTRADO("Desculpe, o recurso que você tentou acessar não existe."),
+    CONFLITO_CONCORRENCIA("A operação conflitou com outra alteração simultânea. Tente novamente."),
+    FILA_CHEIA("Muitas propostas aguardando gravação. Tente novamente em instantes."),
+    ERRO_INTERNO("Ocorreu um erro interno no servidor.");
+
+    private final String mensagemPadrao;
+
+    ErrorCode(String mensagemPadrao) {
+        this.mensagemPadrao = mensagemPadrao;
+    }
+
+    public String getMensagemPadrao() {
+        return mensagemPadrao;
+    }
+}
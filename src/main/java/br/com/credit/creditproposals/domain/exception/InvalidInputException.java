@@ -0,0 +1,28 @@
+package br.com.credit.creditproposals.domain.exception;
+
+/**
+ * Dado de entrada inválido (HTTP 400). Sem pilha de chamadas; veja DomainError.
+ */
+public class InvalidInputException extends IllegalArgumentException implements DomainError {
+
+    private final ErrorCode codigo;
+
+    public InvalidInputException(ErrorCode codigo) {
+        this(codigo, codigo.getMensagemPadrao());
+    }
+
+    public InvalidInputException(ErrorCode codigo, String mensagem) {
+        super(mensagem);
+        this.codigo = codigo;
+    }
+
+    @Override
+    public ErrorCode getCodigo() {
+        return codigo;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
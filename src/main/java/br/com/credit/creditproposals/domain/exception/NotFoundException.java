@@ -0,0 +1,30 @@
+package br.com.credit.creditproposals.domain.exception;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Recurso inexistente (HTTP 404). Sem pilha de chamadas; veja DomainError.
+ */
+public class NotFoundException extends NoSuchElementException implements DomainError {
+
+    private final ErrorCode codigo;
+
+    public NotFoundException(ErrorCode codigo) {
+        this(codigo, codigo.getMensagemPadrao());
+    }
+
+    public NotFoundException(ErrorCode codigo, String mensagem) {
+        super(mensagem);
+        this.codigo = codigo;
+    }
+
+    @Override
+    public ErrorCode getCodigo() {
+        return codigo;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
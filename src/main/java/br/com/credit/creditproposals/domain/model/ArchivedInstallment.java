@@ -0,0 +1,61 @@
+package br.com.credit.creditproposals.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Parcela de uma proposta arquivada (parcela_arquivo), com o mesmo ID que tinha em "parcela".
+ * Somente leitura, como a ArchivedProposal.
+ */
+@Entity
+@Immutable
+@Table(name = "parcela_arquivo", uniqueConstraints =
+    @UniqueConstraint(name = "uk_parcela_arquivo_proposta_numero", columnNames = {"proposta_id", "numero"}))
+public class ArchivedInstallment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "numero")
+    private int numero;
+
+    @Column(name = "valor")
+    private BigDecimal valor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private InstallmentStatus status;
+
+    @Column(name = "data_vencimento")
+    private LocalDate dataVencimento;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "proposta_id")
+    private ArchivedProposal proposta;
+
+    protected ArchivedInstallment() {
+        // Construtor padrão para uso do JPA
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public InstallmentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+}
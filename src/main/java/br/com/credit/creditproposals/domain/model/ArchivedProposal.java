@@ -0,0 +1,92 @@
+package br.com.credit.creditproposals.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proposta quitada movida para a tabela de arquivo (proposta_arquivo) pela ProposalArchivalService.
+ * Somente leitura: as linhas são gravadas por INSERT ... SELECT a partir de "proposta", com as mesmas colunas;
+ * as propostas com armazenamento compacto não têm parcelas em parcela_arquivo.
+ */
+@Entity
+@Immutable
+@Table(name = "proposta_arquivo")
+public class ArchivedProposal {
+
+    @Id
+    private Long id;
+
+    @Convert(converter = CpfConverter.class)
+    @Column(name = "cpf", nullable = false)
+    private String cpf;
+
+    @Column(name = "valor_solicitado")
+    private BigDecimal valorSolicitado;
+
+    @Column(name = "quantidade_parcelas")
+    private int quantidadeParcelas;
+
+    @Column(name = "data_solicitacao")
+    private LocalDate dataSolicitacao;
+
+    @Column(name = "valor_parcela", precision = 19, scale = 2)
+    private BigDecimal valorParcela;
+
+    @Column(name = "parcelas_pagas")
+    private Integer parcelasPagas;
+
+    @Column(name = "arquivada_em", nullable = false)
+    private Instant arquivadaEm;
+
+    @OneToMany(mappedBy = "proposta")
+    @OrderBy("numero")
+    private List<ArchivedInstallment> parcelas = new ArrayList<>();
+
+    protected ArchivedProposal() {
+        // Construtor padrão para uso do JPA
+    }
+
+    public boolean isParcelasCompactas() {
+        return valorParcela != null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public BigDecimal getValorSolicitado() {
+        return valorSolicitado;
+    }
+
+    public int getQuantidadeParcelas() {
+        return quantidadeParcelas;
+    }
+
+    public LocalDate getDataSolicitacao() {
+        return dataSolicitacao;
+    }
+
+    public BigDecimal getValorParcela() {
+        return valorParcela;
+    }
+
+    public Instant getArquivadaEm() {
+        return arquivadaEm;
+    }
+
+    /**
+     * Parcelas arquivadas em linhas, em ordem de número (vazia no armazenamento compacto)
+     */
+    public List<ArchivedInstallment> getParcelas() {
+        return List.copyOf(parcelas);
+    }
+}
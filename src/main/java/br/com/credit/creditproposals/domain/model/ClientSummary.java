@@ -0,0 +1,58 @@
+package br.com.credit.creditproposals.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+
+/**
+ * Resumo da exposição de crédito de um CPF
+ * Atualizado por incrementos (ClientSummaryService) na mesma transação que cria propostas
+ * ou paga parcelas; pelo JPA é apenas lido
+ */
+@Entity
+@Immutable
+@Table(name = "cliente_resumo")
+public class ClientSummary {
+
+    // CPF numérico, como em proposta.cpf
+    @Id
+    @Column(name = "cpf")
+    private Long cpf;
+
+    @Column(name = "quantidade_propostas", nullable = false)
+    private int quantidadePropostas;
+
+    @Column(name = "total_solicitado", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSolicitado;
+
+    // Soma dos valores das parcelas não pagas (EM_ABERTO ou VENCIDA)
+    @Column(name = "total_em_aberto", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalEmAberto;
+
+    @Column(name = "parcelas_em_aberto", nullable = false)
+    private int parcelasEmAberto;
+
+    protected ClientSummary() {
+        // Construtor padrão para uso do JPA
+    }
+
+    public Long getCpf() {
+        return cpf;
+    }
+
+    public int getQuantidadePropostas() {
+        return quantidadePropostas;
+    }
+
+    public BigDecimal getTotalSolicitado() {
+        return totalSolicitado;
+    }
+
+    public BigDecimal getTotalEmAberto() {
+        return totalEmAberto;
+    }
+
+    public int getParcelasEmAberto() {
+        return parcelasEmAberto;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.credit.creditproposals.domain.model;
+
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.InvalidInputException;
+
+/**
+ * Conversões do CPF entre o texto recebido pela API e a forma numérica gravada no banco (BIGINT).
+ * O texto pode vir com ou sem pontuação ("123.456.789-09" ou "12345678909");
+ * na volta é sempre devolvido com 11 dígitos, sem pontuação.
+ */
+public final class Cpf {
+
+    private static final int DIGITOS = 11;
+
+    private Cpf() {
+    }
+
+    /**
+     * Valida os dígitos verificadores e converte o CPF para a forma numérica.
+     * Usado nas entradas que não passam pela validação do DTO (parâmetros de consulta, por exemplo).
+     *
+     * @param cpf = CPF com ou sem pontuação
+     * @return CPF numérico
+     * @throws IllegalArgumentException se o CPF for inválido
+     */
+    public static long validar(String cpf) {
+        long numero = paraNumero(cpf);
+        if (!digitosVerificadoresValidos(numero)) {
+            throw new InvalidInputException(ErrorCode.CPF_INVALIDO);
+        }
+        return numero;
+    }
+
+    /**
+     * Converte o CPF para a forma numérica, sem conferir os dígitos verificadores
+     * (o CPF já foi validado na entrada).
+     *
+     * @param cpf = CPF com ou sem pontuação
+     * @return CPF numérico
+     * @throws IllegalArgumentException se o texto não tiver 11 dígitos
+     */
+    public static long paraNumero(String cpf) {
+        if (cpf == null) {
+            throw new InvalidInputException(ErrorCode.CPF_INVALIDO);
+        }
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                numero = numero * 10 + (c - '0');
+                digitos++;
+            } else if (c != '.' && c != '-') {
+                throw new InvalidInputException(ErrorCode.CPF_INVALIDO);
+            }
+        }
+        if (digitos != DIGITOS) {
+            throw new InvalidInputException(ErrorCode.CPF_INVALIDO);
+        }
+        return numero;
+    }
+
+    /**
+     * @param cpf = CPF numérico
+     * @return CPF com 11 dígitos (zeros à esquerda preservados), sem pontuação
+     */
+    public static String formatar(long cpf) {
+        char[] texto = new char[DIGITOS];
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            texto[i] = (char) ('0' + cpf % 10);
+            cpf /= 10;
+        }
+        return new String(texto);
+    }
+
+    /**
+     * Mesmas regras do @CPF do Hibernate Validator: formato "12345678909" ou "123.456.789-09"
+     * (os dois pontos ou nenhum, hífen obrigatório), dígitos verificadores e sequências repetidas.
+     * Não aloca objetos: percorre o texto uma vez e calcula os dígitos verificadores sobre o número.
+     *
+     * @param cpf = CPF recebido na requisição
+     * @return true se o CPF for válido (nulo é inválido)
+     */
+    public static boolean valido(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        int tamanho = cpf.length();
+        long numero = 0;
+        if (tamanho == DIGITOS) {
+            for (int i = 0; i < DIGITOS; i++) {
+                int digito = digito(cpf.charAt(i));
+                if (digito < 0) {
+                    return false;
+                }
+                numero = numero * 10 + digito;
+            }
+            return digitosVerificadoresValidos(numero);
+        }
+
+        // ddd.ddd.ddd-dd ou ddddddddd-dd
+        int i = 0;
+        int pontos = 0;
+        for (int grupo = 0; grupo < 4; grupo++) {
+            if (grupo == 3) {
+                if (i >= tamanho || cpf.charAt(i) != '-') {
+                    return false;
+                }
+                i++;
+            } else if (grupo > 0 && i < tamanho && cpf.charAt(i) == '.') {
+                i++;
+                pontos++;
+            }
+            int digitosGrupo = grupo == 3 ? 2 : 3;
+            for (int k = 0; k < digitosGrupo; k++) {
+                int digito = i < tamanho ? digito(cpf.charAt(i)) : -1;
+                if (digito < 0) {
+                    return false;
+                }
+                numero = numero * 10 + digito;
+                i++;
+            }
+        }
+        return i == tamanho && pontos != 1 && digitosVerificadoresValidos(numero);
+    }
+
+    private static int digito(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    private static boolean digitosVerificadoresValidos(long cpf) {
+        // 000.000.000-00, 111.111.111-11, ... são múltiplos de 11111111111
+        if (cpf % 11_111_111_111L == 0) {
+            return false;
+        }
+        // Pesos 2 a 10 (primeiro dígito) e 3 a 11 (segundo), do nono dígito para o primeiro
+        long resto = cpf / 100;
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int peso = 2; peso <= 10; peso++) {
+            int d = (int) (resto % 10);
+            resto /= 10;
+            soma1 += d * peso;
+            soma2 += d * (peso + 1);
+        }
+        int primeiro = digitoVerificador(soma1);
+        int segundo = digitoVerificador(soma2 + primeiro * 2);
+        return primeiro == (int) (cpf / 10 % 10) && segundo == (int) (cpf % 10);
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
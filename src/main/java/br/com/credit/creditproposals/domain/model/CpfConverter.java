@@ -0,0 +1,21 @@
+package br.com.credit.creditproposals.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava o CPF como número (BIGINT) e o devolve às entidades como texto de 11 dígitos
+ */
+@Converter
+public class CpfConverter implements AttributeConverter<String, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(String cpf) {
+        return cpf == null ? null : Cpf.paraNumero(cpf);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long cpf) {
+        return cpf == null ? null : Cpf.formatar(cpf);
+    }
+}
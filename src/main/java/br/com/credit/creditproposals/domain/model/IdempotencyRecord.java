@@ -0,0 +1,87 @@
+package br.com.credit.creditproposals.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.Instant;
+
+/**
+ * Resposta registrada para uma chave de idempotência (cabeçalho Idempotency-Key)
+ * Permite devolver a resposta original quando o cliente repete a mesma requisição
+ */
+@Entity
+@Table(name = "idempotencia")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "chave", length = 255)
+    private String chave;
+
+    // Hash dos dados da requisição original, para detectar reuso da chave com outro conteúdo
+    @Column(name = "impressao", length = 64)
+    private String impressao;
+
+    @Column(name = "status_http")
+    private int statusHttp;
+
+    @Column(name = "location", length = 255)
+    private String location;
+
+    @Column(name = "corpo", columnDefinition = "TEXT")
+    private String corpo;
+
+    @Column(name = "criado_em")
+    private Instant criadoEm;
+
+    // Registros são sempre inseridos, nunca atualizados (evita o merge do Spring Data)
+    @Transient
+    private boolean novo = true;
+
+    protected IdempotencyRecord() {
+        // Construtor padrão para uso do JPA
+    }
+
+    public IdempotencyRecord(String chave, String impressao, int statusHttp, String location, String corpo, Instant criadoEm) {
+        this.chave = chave;
+        this.impressao = impressao;
+        this.statusHttp = statusHttp;
+        this.location = location;
+        this.corpo = corpo;
+        this.criadoEm = criadoEm;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.novo = false;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    public String getImpressao() {
+        return impressao;
+    }
+
+    public int getStatusHttp() {
+        return statusHttp;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getCorpo() {
+        return corpo;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+}
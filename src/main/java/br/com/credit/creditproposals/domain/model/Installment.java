@@ -1,17 +1,22 @@
 package br.com.credit.creditproposals.domain.model;
 
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
-@Table(name = "parcela")
+@Table(name = "parcela", uniqueConstraints =
+    @UniqueConstraint(name = "uk_parcela_proposta_numero", columnNames = {"proposta_id", "numero"}))
 @Schema(description = "Representa uma parcela de uma proposta de crédito")
 public class Installment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parcela_seq")
+    @SequenceGenerator(name = "parcela_seq", sequenceName = "parcela_seq", allocationSize = 50)
     @Schema(description = "Identificador único da parcela", example = "1")
     private Long id;
 
@@ -25,9 +30,17 @@ public class Installment {
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
-    @Schema(description = "Status atual da parcela", example = "EM_ABERTO", allowableValues = {"EM_ABERTO", "PAGA"})
+    @Schema(description = "Status atual da parcela", example = "EM_ABERTO", allowableValues = {"EM_ABERTO", "VENCIDA", "PAGA"})
     private InstallmentStatus status;
 
+    /**
+     * Data de vencimento: a parcela n vence n meses após a data da solicitação (calcularVencimento)
+     * As parcelas EM_ABERTO são encontradas por vencimento pelo índice parcial idx_parcela_vencimento_em_aberto
+     */
+    @Column(name = "data_vencimento")
+    @Schema(description = "Data de vencimento da parcela", example = "2025-09-12")
+    private LocalDate dataVencimento;
+
     /**
      * Proposta à qual esta parcela pertence
      * Relacionamento ManyToOne para Proposal
@@ -43,23 +56,53 @@ public class Installment {
     }
 
     /**
-     * Construtor para criar uma parcela com número, valor e proposta associada
+     * Construtor para criar uma parcela com número, valor, vencimento e proposta associada
      * Inicializa o status como EM_ABERTO.
      */
-    public Installment(int numero, BigDecimal valor, Proposal proposta) {
+    public Installment(int numero, BigDecimal valor, LocalDate dataVencimento, Proposal proposta) {
         this.numero = numero;
         this.valor = valor;
         this.status = InstallmentStatus.EM_ABERTO;
+        this.dataVencimento = dataVencimento;
+        this.proposta = proposta;
+    }
+
+    // Parcela reconstruída a partir de uma proposta com armazenamento compacto (não é persistida)
+    Installment(int numero, BigDecimal valor, InstallmentStatus status, LocalDate dataVencimento, Proposal proposta) {
+        this.numero = numero;
+        this.valor = valor;
+        this.status = status;
+        this.dataVencimento = dataVencimento;
         this.proposta = proposta;
     }
 
     /**
-     * Marca a parcela como paga.
+     * Calcula o vencimento de uma parcela: n meses após a data da solicitação
+     * (no último dia do mês quando o dia não existe, como em 31/01 + 1 mês = 28/02)
+     * Usado também pelas gravações em lote que não instanciam a entidade
+     */
+    public static LocalDate calcularVencimento(LocalDate dataSolicitacao, int numero) {
+        return dataSolicitacao.plusMonths(numero);
+    }
+
+    /**
+     * Status de uma parcela reconstruída a partir do mapa de pagas (armazenamento compacto), com a mesma regra
+     * da OverdueInstallmentService: não paga e com vencimento anterior a hoje = VENCIDA
+     */
+    public static InstallmentStatus calcularStatus(boolean paga, LocalDate dataVencimento, LocalDate hoje) {
+        if (paga) {
+            return InstallmentStatus.PAGA;
+        }
+        return dataVencimento.isBefore(hoje) ? InstallmentStatus.VENCIDA : InstallmentStatus.EM_ABERTO;
+    }
+
+    /**
+     * Marca a parcela como paga (EM_ABERTO ou VENCIDA).
      * Lança IllegalStateException se a parcela já estiver paga
      */
     public void pagar() {
         if (this.isPaga()) {
-            throw new IllegalStateException("Parcela já está paga");
+            throw new BusinessRuleException(ErrorCode.PARCELA_JA_PAGA);
         }
 
         this.status = InstallmentStatus.PAGA;
@@ -85,6 +128,10 @@ public class Installment {
         return status;
     }
 
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+
     public Proposal getProposta() {
         return proposta;
     }
@@ -5,10 +5,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 /**
  * Representa o status da parcela no sistema de propostas de crédito.
  * EM_ABERTO = indica que a parcela ainda não foi paga.
+ * VENCIDA = indica que a parcela não foi paga até a data de vencimento (marcada pela OverdueInstallmentService).
  * PAGA = indica que a parcela já foi quitada.
  */
-@Schema(description = "Status da parcela no sistema de propostas de crédito", allowableValues = {"EM_ABERTO", "PAGA"})
+@Schema(description = "Status da parcela no sistema de propostas de crédito", allowableValues = {"EM_ABERTO", "VENCIDA", "PAGA"})
 public enum InstallmentStatus {
     EM_ABERTO,
+    VENCIDA,
     PAGA
-}
\ No newline at end of file
+}
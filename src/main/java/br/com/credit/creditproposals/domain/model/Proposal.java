@@ -1,26 +1,38 @@
 package br.com.credit.creditproposals.domain.model;
 
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
-import org.hibernate.validator.constraints.br.CPF;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
-@Table(name = "proposta")
+@Table(name = "proposta", indexes = @Index(name = "idx_proposta_cpf", columnList = "cpf, id"))
 @Schema(description = "Representa uma proposta de crédito com seus dados e parcelas associadas")
 public class Proposal {
 
+    /**
+     * IDs gerados por sequência com alocação em blocos (pooled), o que permite
+     * ao Hibernate agrupar os INSERTs em lotes JDBC
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposta_seq")
+    @SequenceGenerator(name = "proposta_seq", sequenceName = "proposta_seq", allocationSize = 50)
     @Schema(description = "Identificador único da proposta", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
-    @CPF
-    @Column(name = "cpf")
+    /**
+     * Gravado como número (BIGINT), o que reduz o índice idx_proposta_cpf e barateia as comparações.
+     * O CPF é validado na entrada (ProposalRequestValidator), não novamente ao gravar
+     */
+    @Convert(converter = CpfConverter.class)
+    @Column(name = "cpf", nullable = false)
     @Schema(description = "CPF do solicitante da proposta", example = "12345678910", required = true)
     private String cpf;
 
@@ -36,6 +48,21 @@ public class Proposal {
     @Schema(description = "Data da solicitação da proposta", example = "2025-08-12", required = true)
     private LocalDate dataSolicitacao;
 
+    /**
+     * Armazenamento compacto das parcelas (propostas.parcelas.armazenamento=compacto):
+     * em vez de uma linha em "parcela" por parcela, a própria proposta guarda o valor de cada parcela,
+     * e um mapa de bits das parcelas pagas (bit n-1 = parcela n).
+     * Os dois campos ficam nulos nas propostas com parcelas em linhas.
+     * Como no armazenamento em linhas, todas as parcelas têm o valor de calcularValorParcela.
+     */
+    @Column(name = "valor_parcela", precision = 19, scale = 2)
+    @Schema(hidden = true)
+    private BigDecimal valorParcela;
+
+    @Column(name = "parcelas_pagas")
+    @Schema(hidden = true)
+    private Integer parcelasPagas;
+
     @OneToMany(mappedBy = "proposta", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     @Schema(description = "Lista de parcelas associadas a esta proposta", accessMode = Schema.AccessMode.READ_ONLY)
@@ -57,12 +84,46 @@ public class Proposal {
         gerarParcelas();
     }
 
-    // Gera as parcelas com valor dividido igualmente e status inicial EM_ABERTO
+    // Gera as parcelas com valor dividido igualmente, vencimentos mensais a partir da solicitação e status inicial EM_ABERTO
     private void gerarParcelas() {
-        BigDecimal valorParcela = valorSolicitado.divide(new BigDecimal(quantidadeParcelas), 2, BigDecimal.ROUND_HALF_UP);
+        BigDecimal valorParcela = calcularValorParcela(valorSolicitado, quantidadeParcelas);
         for (int i = 1; i <= quantidadeParcelas; i++) {
-            parcelas.add(new Installment(i, valorParcela, this));
+            parcelas.add(new Installment(i, valorParcela, Installment.calcularVencimento(dataSolicitacao, i), this));
+        }
+    }
+
+    /**
+     * Calcula o valor de cada parcela: o valor solicitado dividido igualmente,
+     * com duas casas decimais (arredondamento HALF_UP)
+     * Usado também pelas gravações em lote que não instanciam a entidade
+     */
+    public static BigDecimal calcularValorParcela(BigDecimal valorSolicitado, int quantidadeParcelas) {
+        return valorSolicitado.divide(new BigDecimal(quantidadeParcelas), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Bit que representa a parcela no mapa de parcelas pagas do armazenamento compacto
+     * @param numeroParcela = número da parcela (1 a 31)
+     */
+    public static int bitParcela(int numeroParcela) {
+        return 1 << (numeroParcela - 1);
+    }
+
+    /**
+     * Passa uma proposta recém-criada para o armazenamento compacto:
+     * as parcelas deixam de ser linhas e passam a ser reconstruídas a partir da proposta
+     */
+    public void compactarParcelas() {
+        if (id != null) {
+            throw new IllegalStateException("Somente propostas novas podem ser criadas no armazenamento compacto");
         }
+        this.valorParcela = calcularValorParcela(valorSolicitado, quantidadeParcelas);
+        this.parcelasPagas = 0;
+        this.parcelas.clear();
+    }
+
+    public boolean isParcelasCompactas() {
+        return valorParcela != null;
     }
 
     /**
@@ -72,13 +133,28 @@ public class Proposal {
      * @throws IllegalStateException se a parcela já estiver paga
      */
     public void pagarParcela(int numeroParcela) {
+        if (isParcelasCompactas()) {
+            pagarParcelaCompacta(numeroParcela);
+            return;
+        }
         Installment parcela = parcelas.stream()
                 .filter(p -> p.getNumero() == numeroParcela)
                 .findFirst()
-                .orElseThrow(() -> new java.util.NoSuchElementException("Parcela não encontrada"));
+                .orElseThrow(() -> new NotFoundException(ErrorCode.PARCELA_NAO_ENCONTRADA));
         parcela.pagar();
     }
 
+    private void pagarParcelaCompacta(int numeroParcela) {
+        if (numeroParcela < 1 || numeroParcela > quantidadeParcelas) {
+            throw new NotFoundException(ErrorCode.PARCELA_NAO_ENCONTRADA);
+        }
+        int bit = bitParcela(numeroParcela);
+        if ((parcelasPagas & bit) != 0) {
+            throw new BusinessRuleException(ErrorCode.PARCELA_JA_PAGA);
+        }
+        parcelasPagas |= bit;
+    }
+
     public Long getId() {
         return id;
     }
@@ -99,8 +175,23 @@ public class Proposal {
         return dataSolicitacao;
     }
 
-    // Retorna uma cópia imutável da lista de parcelas.
+    /**
+     * Retorna uma cópia imutável da lista de parcelas.
+     * No armazenamento compacto as parcelas são reconstruídas (sem ID) a partir do valor e do mapa de pagas,
+     * com os vencimentos calculados da data da solicitação; as não pagas com vencimento anterior a hoje são VENCIDA.
+     */
     public List<Installment> getParcelas() {
-        return List.copyOf(parcelas);
+        if (!isParcelasCompactas()) {
+            return List.copyOf(parcelas);
+        }
+        LocalDate hoje = LocalDate.now();
+        List<Installment> reconstruidas = new ArrayList<>(quantidadeParcelas);
+        for (int numero = 1; numero <= quantidadeParcelas; numero++) {
+            LocalDate vencimento = Installment.calcularVencimento(dataSolicitacao, numero);
+            InstallmentStatus status = Installment.calcularStatus(
+                    (parcelasPagas & bitParcela(numero)) != 0, vencimento, hoje);
+            reconstruidas.add(new Installment(numero, valorParcela, status, vencimento, this));
+        }
+        return List.copyOf(reconstruidas);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package br.com.credit.creditproposals.domain.repository;
+
+import br.com.credit.creditproposals.domain.model.ArchivedProposal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.Optional;
+
+/**
+ * Repositório JPA das propostas arquivadas (somente leitura)
+ * Usado quando a proposta não é encontrada nas tabelas principais
+ */
+public interface ArchivedProposalRepository extends JpaRepository<ArchivedProposal, Long> {
+
+    /**
+     * Busca uma proposta arquivada já com as suas parcelas, em uma única consulta
+     */
+    @Query("select p from ArchivedProposal p left join fetch p.parcelas where p.id = :id")
+    Optional<ArchivedProposal> findComParcelasById(Long id);
+
+    /**
+     * Busca apenas a quantidade de parcelas de uma proposta arquivada,
+     * usada para diagnosticar um pagamento que não alterou nenhuma linha.
+     */
+    @Query("select p.quantidadeParcelas from ArchivedProposal p where p.id = :id")
+    Optional<Integer> findQuantidadeParcelasById(Long id);
+}
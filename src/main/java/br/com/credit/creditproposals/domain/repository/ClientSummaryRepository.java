@@ -0,0 +1,11 @@
+package br.com.credit.creditproposals.domain.repository;
+
+import br.com.credit.creditproposals.domain.model.ClientSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório JPA para leitura do resumo de exposição por CPF
+ * As atualizações são feitas por incremento no ClientSummaryService
+ */
+public interface ClientSummaryRepository extends JpaRepository<ClientSummary, Long> {
+}
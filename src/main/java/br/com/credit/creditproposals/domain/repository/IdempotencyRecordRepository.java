@@ -0,0 +1,29 @@
+package br.com.credit.creditproposals.domain.repository;
+
+import br.com.credit.creditproposals.domain.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repositório JPA para as respostas registradas por chave de idempotência
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Busca a resposta registrada, ignorando as que já passaram do prazo de validade
+    Optional<IdempotencyRecord> findByChaveAndCriadoEmAfter(String chave, Instant limite);
+
+    // Remove a resposta expirada de uma chave que ainda não passou pela limpeza, liberando a chave primária
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.chave = :chave and r.criadoEm <= :limite")
+    int removerExpirada(@Param("chave") String chave, @Param("limite") Instant limite);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.criadoEm < :limite")
+    int removerCriadosAntesDe(@Param("limite") Instant limite);
+}
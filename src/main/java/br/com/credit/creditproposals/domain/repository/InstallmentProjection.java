@@ -0,0 +1,13 @@
+package br.com.credit.creditproposals.domain.repository;
+
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projeção de uma parcela com o ID da proposta à qual pertence,
+ * usada para buscar as parcelas de várias propostas em uma única consulta
+ */
+public record InstallmentProjection(Long propostaId, Long id, int numero, BigDecimal valor, InstallmentStatus status,
+                                    LocalDate dataVencimento) {
+}
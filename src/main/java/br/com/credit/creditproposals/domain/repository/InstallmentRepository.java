@@ -0,0 +1,45 @@
+package br.com.credit.creditproposals.domain.repository;
+
+import br.com.credit.creditproposals.domain.model.Installment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório JPA para a entidade Installment
+ * Concentra as consultas de parcelas que não precisam carregar a proposta inteira
+ */
+public interface InstallmentRepository extends JpaRepository<Installment, Long> {
+
+    /**
+     * Busca as parcelas de várias propostas em uma única consulta,
+     * ordenadas por proposta e número da parcela.
+     */
+    @Query("""
+            select new br.com.credit.creditproposals.domain.repository.InstallmentProjection(
+                i.proposta.id, i.id, i.numero, i.valor, i.status, i.dataVencimento)
+            from Installment i
+            where i.proposta.id in :propostaIds
+            order by i.proposta.id, i.numero
+            """)
+    List<InstallmentProjection> findProjectionsByPropostaIds(@Param("propostaIds") Collection<Long> propostaIds);
+
+    /**
+     * Marca uma parcela ainda não paga (EM_ABERTO ou VENCIDA) como PAGA em um único UPDATE condicional,
+     * sem carregar a proposta nem suas parcelas.
+     *
+     * @return quantidade de linhas alteradas (0 se a parcela não existe ou já está paga)
+     */
+    @Modifying
+    @Query("""
+            update Installment i
+            set i.status = br.com.credit.creditproposals.domain.model.InstallmentStatus.PAGA
+            where i.proposta.id = :propostaId
+              and i.numero = :numero
+              and i.status <> br.com.credit.creditproposals.domain.model.InstallmentStatus.PAGA
+            """)
+    int pagar(@Param("propostaId") Long propostaId, @Param("numero") int numero);
+}
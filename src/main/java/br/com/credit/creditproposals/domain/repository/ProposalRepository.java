@@ -3,7 +3,12 @@ package br.com.credit.creditproposals.domain.repository;
 import br.com.credit.creditproposals.domain.model.Proposal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Optional;
 
 /**
  * Repositório JPA para a entidade Proposal
@@ -11,4 +16,42 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface ProposalRepository extends JpaRepository<Proposal, Long> {
     Page<Proposal> findAll(Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Busca as propostas de um CPF pelo índice idx_proposta_cpf.
+     * O CPF é convertido para a forma numérica pelo CpfConverter.
+     */
+    Page<Proposal> findByCpf(String cpf, Pageable pageable);
+
+    /**
+     * Paginação por cursor (keyset): busca as propostas com ID maior que o informado,
+     * em ordem crescente de ID. Usa o índice da chave primária e não executa COUNT.
+     */
+    Slice<Proposal> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Busca apenas a quantidade de parcelas de uma proposta (consulta pela chave primária),
+     * usada para diagnosticar um pagamento que não alterou nenhuma linha.
+     */
+    @Query("select p.quantidadeParcelas from Proposal p where p.id = :id")
+    Optional<Integer> findQuantidadeParcelasById(Long id);
+
+    /**
+     * Marca como paga uma parcela de uma proposta com armazenamento compacto, em um único UPDATE condicional:
+     * soma o bit da parcela ao mapa de pagas somente se ele ainda não estiver ligado
+     * (aritmética inteira, que funciona igual no PostgreSQL e no H2).
+     *
+     * @param bit = Proposal.bitParcela(numero)
+     * @return quantidade de linhas alteradas (0 se a proposta não é compacta, a parcela não existe ou já está paga)
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE proposta
+            SET parcelas_pagas = parcelas_pagas + :bit
+            WHERE id = :id
+              AND parcelas_pagas IS NOT NULL
+              AND :numero BETWEEN 1 AND quantidade_parcelas
+              AND MOD(parcelas_pagas / :bit, 2) = 0
+            """, nativeQuery = true)
+    int pagarParcelaCompacta(@Param("id") Long id, @Param("numero") int numero, @Param("bit") int bit);
+}
@@ -0,0 +1,33 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.application.service.ProposalCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheController {
+
+    private final ProposalCache proposalCache;
+
+    public CacheController(ProposalCache proposalCache) {
+        this.proposalCache = proposalCache;
+    }
+
+    @Operation(summary = "Retorna os contadores do cache de consulta de propostas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Acertos, falhas, remoções e invalidações do cache",
+            content = @Content(schema = @Schema(implementation = ProposalCache.Estatisticas.class)))
+    })
+    @GetMapping("/propostas")
+    public ProposalCache.Estatisticas estatisticasPropostas() {
+        return proposalCache.estatisticas();
+    }
+}
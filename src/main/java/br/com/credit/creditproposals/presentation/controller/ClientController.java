@@ -0,0 +1,37 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.application.query.ClientSummaryView;
+import br.com.credit.creditproposals.application.service.ClientSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/clientes", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ClientController {
+
+    private final ClientSummaryService resumoClientes;
+
+    public ClientController(ClientSummaryService resumoClientes) {
+        this.resumoClientes = resumoClientes;
+    }
+
+    @Operation(summary = "Resumo da exposição de crédito de um CPF",
+        description = "Quantidade de propostas, total solicitado e total ainda em aberto, mantidos a cada criação e pagamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumo encontrado",
+            content = @Content(schema = @Schema(implementation = ClientSummaryView.class))),
+        @ApiResponse(responseCode = "404", description = "Nenhuma proposta para o CPF", content = @Content)
+    })
+    @GetMapping("/{cpf}/resumo")
+    public ClientSummaryView buscarResumo(@PathVariable String cpf) {
+        return resumoClientes.buscarResumo(cpf);
+    }
+}
@@ -1,84 +1,383 @@
 package br.com.credit.creditproposals.presentation.controller;
 
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.application.service.IdempotencyService;
+import br.com.credit.creditproposals.application.service.PaymentBatchService;
+import br.com.credit.creditproposals.application.service.ProposalExportService;
+import br.com.credit.creditproposals.application.service.ProposalImportService;
+import br.com.credit.creditproposals.application.service.ProposalIntakeQueue;
+import br.com.credit.creditproposals.application.service.ProposalRequestValidator;
 import br.com.credit.creditproposals.application.service.ProposalService;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.InvalidInputException;
 import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.presentation.dto.CompactProposalResponse;
+import br.com.credit.creditproposals.presentation.dto.CursorPageResponse;
+import br.com.credit.creditproposals.presentation.dto.PaymentBatchItemRequest;
+import br.com.credit.creditproposals.presentation.dto.PaymentBatchItemResponse;
+import br.com.credit.creditproposals.presentation.dto.PaymentBatchResponse;
+import br.com.credit.creditproposals.presentation.dto.ProposalBatchItemResponse;
+import br.com.credit.creditproposals.presentation.dto.ProposalBatchResponse;
+import br.com.credit.creditproposals.presentation.dto.ProposalCursor;
+import br.com.credit.creditproposals.presentation.dto.ProposalIntakeResponse;
 import br.com.credit.creditproposals.presentation.dto.ProposalRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
-import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/propostas", produces = MediaType.APPLICATION_JSON_VALUE)
 public class ProposalController {
 
+    private static final MediaType COMPACTO = MediaType.parseMediaType(CompactProposalResponse.MEDIA_TYPE);
+
     private final ProposalService propostaService;
+    private final IdempotencyService idempotencia;
+    private final ProposalExportService exportacao;
+    private final ProposalImportService importacao;
+    private final ProposalIntakeQueue recebimento;
+    private final PaymentBatchService pagamentoEmLote;
+    private final ProposalRequestValidator validadorRequisicao;
+    private final ProposalProperties properties;
 
-    public ProposalController(ProposalService propostaService) {
+    public ProposalController(ProposalService propostaService,
+                              IdempotencyService idempotencia,
+                              ProposalExportService exportacao,
+                              ProposalImportService importacao,
+                              ProposalIntakeQueue recebimento,
+                              PaymentBatchService pagamentoEmLote,
+                              ProposalRequestValidator validadorRequisicao,
+                              ProposalProperties properties) {
         this.propostaService = propostaService;
+        this.idempotencia = idempotencia;
+        this.exportacao = exportacao;
+        this.importacao = importacao;
+        this.recebimento = recebimento;
+        this.pagamentoEmLote = pagamentoEmLote;
+        this.validadorRequisicao = validadorRequisicao;
+        this.properties = properties;
     }
 
-    @Operation(summary = "Cria uma nova proposta de crédito")
+    @Operation(summary = "Cria uma nova proposta de crédito",
+        description = "Com o cabeçalho Idempotency-Key, repetições da mesma requisição devolvem a resposta original. "
+            + "Com o recebimento assíncrono habilitado, responde 202 e a proposta é gravada em segundo plano")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Proposta criada com sucesso",
             content = @Content(schema = @Schema(implementation = Long.class))),
-        @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content)
+        @ApiResponse(responseCode = "202", description = "Proposta aceita para gravação; acompanhe pela URL de situação",
+            content = @Content(schema = @Schema(implementation = ProposalIntakeResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Fila de recebimento cheia", content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Long> criarProposta(@Valid @RequestBody ProposalRequest request) {
-        Long id = propostaService.criarProposta(
-            request.getCpf(),
-            request.getValorSolicitado(),
-            request.getQuantidadeParcelas(),
-            request.getDataSolicitacao());
-
-        return ResponseEntity.created(URI.create("/propostas/" + id)).body(id);
+    public ResponseEntity<?> criarProposta(
+            @RequestHeader(value = IdempotencyService.CABECALHO, required = false) String chaveIdempotencia,
+            @RequestBody ProposalRequest request) {
+        // Mesmas regras e mensagens do @Valid, sem o Hibernate Validator
+        List<String> erros = validadorRequisicao.validar(request);
+        if (!erros.isEmpty()) {
+            throw new InvalidInputException(ErrorCode.DADOS_INVALIDOS, erros.get(0));
+        }
+        String conteudo = request.getCpf() + "|" + request.getValorSolicitado() + "|"
+            + request.getQuantidadeParcelas() + "|" + request.getDataSolicitacao();
+
+        return idempotencia.executar(chaveIdempotencia, "criar-proposta", conteudo, () -> {
+            if (recebimento.isHabilitado()) {
+                long id = recebimento.enfileirar(
+                    request.getCpf(),
+                    request.getValorSolicitado(),
+                    request.getQuantidadeParcelas(),
+                    request.getDataSolicitacao());
+
+                ProposalIntakeResponse resposta = ProposalIntakeResponse.de(id, ProposalIntakeQueue.SituacaoRecebimento.PENDENTE);
+                return ResponseEntity.accepted().location(URI.create(resposta.statusUrl())).body(resposta);
+            }
+
+            Long id = propostaService.criarProposta(
+                request.getCpf(),
+                request.getValorSolicitado(),
+                request.getQuantidadeParcelas(),
+                request.getDataSolicitacao());
+
+            return ResponseEntity.created(URI.create("/propostas/" + id)).body(id);
+        });
+    }
+
+    @Operation(summary = "Cria várias propostas de crédito em lote",
+        description = "Cada proposta é validada individualmente; as inválidas são reportadas sem impedir a criação das demais")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado, com o resultado de cada proposta",
+            content = @Content(schema = @Schema(implementation = ProposalBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo", content = @Content)
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<ProposalBatchResponse> criarPropostasEmLote(@RequestBody List<ProposalRequest> requests) {
+        int tamanhoMaximo = properties.getLote().getTamanhoMaximo();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos uma proposta");
+        }
+        if (requests.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + tamanhoMaximo + " propostas");
+        }
+
+        List<List<String>> erros = new ArrayList<>(requests.size());
+        List<Proposal> validas = new ArrayList<>(requests.size());
+        for (ProposalRequest request : requests) {
+            List<String> errosItem = validar(request);
+            erros.add(errosItem);
+            if (errosItem.isEmpty()) {
+                validas.add(new Proposal(
+                    request.getCpf(),
+                    request.getValorSolicitado(),
+                    request.getQuantidadeParcelas(),
+                    request.getDataSolicitacao()));
+            }
+        }
+
+        List<Long> ids = validas.isEmpty() ? List.of() : propostaService.criarPropostasEmLote(validas);
+
+        List<ProposalBatchItemResponse> itens = new ArrayList<>(requests.size());
+        int proximoId = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errosItem = erros.get(i);
+            Long id = errosItem.isEmpty() ? ids.get(proximoId++) : null;
+            itens.add(new ProposalBatchItemResponse(i, id, errosItem));
+        }
+
+        return ResponseEntity.ok(new ProposalBatchResponse(
+            requests.size(), ids.size(), requests.size() - ids.size(), itens));
+    }
+
+    // Valida um item do lote com as mesmas regras do @Valid, retornando as mensagens de erro
+    private List<String> validar(ProposalRequest request) {
+        if (request == null) {
+            return List.of("Proposta ausente");
+        }
+        return validadorRequisicao.validar(request);
+    }
+
+    @Operation(summary = "Importa propostas a partir de um arquivo CSV",
+        description = "Cabeçalho obrigatório: cpf,valorSolicitado,quantidadeParcelas,dataSolicitacao. "
+            + "O arquivo é lido em streaming e gravado em lotes; linhas inválidas são reportadas sem impedir a importação das demais")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importação concluída, com as linhas rejeitadas",
+            content = @Content(schema = @Schema(implementation = ProposalImportService.Resultado.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio ou cabeçalho inválido", content = @Content)
+    })
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ProposalImportService.Resultado> importarPropostas(InputStream corpo) throws IOException {
+        ProposalImportService.Resultado resultado =
+            importacao.importar(new InputStreamReader(corpo, java.nio.charset.StandardCharsets.UTF_8));
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(summary = "Consulta a situação de uma proposta recebida de forma assíncrona")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Situação da gravação (PENDENTE, GRAVADA ou FALHOU)",
+            content = @Content(schema = @Schema(implementation = ProposalIntakeResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Recebimento não encontrado", content = @Content)
+    })
+    @GetMapping("/recebimentos/{id}")
+    public ProposalIntakeResponse consultarRecebimento(@PathVariable Long id) {
+        return ProposalIntakeResponse.de(id, recebimento.situacao(id));
     }
 
-    @Operation(summary = "Busca uma proposta pelo ID")
+    @Operation(summary = "Busca uma proposta pelo ID",
+        description = "Com Accept: " + CompactProposalResponse.MEDIA_TYPE + ", responde no formato compacto "
+            + "(valor único das parcelas e mapa de bits das parcelas pagas)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Proposta encontrada",
-            content = @Content(schema = @Schema(implementation = Proposal.class))),
+            content = {
+                @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProposalView.class)),
+                @Content(mediaType = CompactProposalResponse.MEDIA_TYPE, schema = @Schema(implementation = CompactProposalResponse.class))
+            }),
         @ApiResponse(responseCode = "404", description = "Proposta não encontrada", content = @Content)
     })
-    @GetMapping("/{id}")
-    public ResponseEntity<Proposal> buscarProposta(@PathVariable Long id) {
-        Proposal proposta = propostaService.buscarProposta(id);
-        return ResponseEntity.ok(proposta);
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, CompactProposalResponse.MEDIA_TYPE})
+    public ResponseEntity<?> buscarProposta(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @PathVariable Long id) {
+        ProposalView proposta = propostaService.buscarProposta(id);
+        if (aceitaCompacto(accept)) {
+            return responderCompacto(CompactProposalResponse.de(proposta));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(proposta);
     }
 
-    @Operation(summary = "Lista todas as propostas com paginação")
+    @Operation(summary = "Lista todas as propostas com paginação",
+        description = "Com o parâmetro 'cpf', lista apenas as propostas do CPF informado. "
+            + "Com Accept: " + CompactProposalResponse.MEDIA_TYPE + ", as propostas vêm no formato compacto")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de propostas retornada com sucesso",
-            content = @Content(schema = @Schema(implementation = Page.class)))
+            content = @Content(schema = @Schema(implementation = Page.class))),
+        @ApiResponse(responseCode = "400", description = "CPF inválido", content = @Content)
     })
-    @GetMapping
-    public Page<Proposal> listarPropostas(
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, CompactProposalResponse.MEDIA_TYPE})
+    public ResponseEntity<?> listarPropostas(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String cpf,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        return propostaService.listarPropostas(PageRequest.of(page, size));
+        Page<ProposalView> propostas = cpf != null
+                ? propostaService.listarPropostasPorCpf(cpf, PageRequest.of(page, size, Sort.by("id")))
+                : propostaService.listarPropostas(PageRequest.of(page, size));
+        if (aceitaCompacto(accept)) {
+            return responderCompacto(propostas.map(CompactProposalResponse::de));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(propostas);
+    }
+
+    @Operation(summary = "Lista as propostas com paginação por cursor",
+        description = "Não calcula o total de registros; use o 'nextCursor' retornado no parâmetro 'after' para obter a próxima página. "
+            + "Com Accept: " + CompactProposalResponse.MEDIA_TYPE + ", as propostas vêm no formato compacto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de propostas retornada com sucesso",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido", content = @Content)
+    })
+    @GetMapping(value = "/cursor", produces = {MediaType.APPLICATION_JSON_VALUE, CompactProposalResponse.MEDIA_TYPE})
+    public ResponseEntity<?> listarPropostasPorCursor(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        validarTamanhoPagina(size);
+        Long aposId = after == null || after.isBlank() ? 0L : ProposalCursor.decodificar(after);
+        Slice<ProposalView> fatia = propostaService.listarPropostasAposCursor(aposId, size);
+
+        List<ProposalView> content = fatia.getContent();
+        String proximo = fatia.hasNext() && !content.isEmpty()
+                ? ProposalCursor.codificar(content.get(content.size() - 1).id())
+                : null;
+        if (aceitaCompacto(accept)) {
+            return responderCompacto(
+                new CursorPageResponse<>(CompactProposalResponse.de(content), size, fatia.hasNext(), proximo));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+            .body(new CursorPageResponse<>(content, size, fatia.hasNext(), proximo));
+    }
+
+    private void validarTamanhoPagina(int size) {
+        int tamanhoMaximo = properties.getPaginacao().getTamanhoMaximo();
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser no mínimo 1");
+        }
+        if (size > tamanhoMaximo) {
+            throw new IllegalArgumentException("O tamanho da página deve ser no máximo " + tamanhoMaximo);
+        }
+    }
+
+    // O formato compacto só é usado quando pedido explicitamente; "*/*" e a ausência do cabeçalho mantêm o JSON completo
+    private static boolean aceitaCompacto(String accept) {
+        if (accept == null || !accept.contains(CompactProposalResponse.MEDIA_TYPE)) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+            .anyMatch(tipo -> tipo.equalsTypeAndSubtype(COMPACTO) && tipo.getQualityValue() > 0);
+    }
+
+    private static ResponseEntity<?> responderCompacto(Object corpo) {
+        return ResponseEntity.ok().contentType(COMPACTO).varyBy(HttpHeaders.ACCEPT).body(corpo);
+    }
+
+    @Operation(summary = "Exporta todas as propostas e parcelas em streaming",
+        description = "formato=ndjson (padrão) escreve uma proposta por linha com suas parcelas; formato=csv escreve uma linha por parcela")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Formato inválido", content = @Content)
+    })
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportarPropostas(@RequestParam(defaultValue = "ndjson") String formato) {
+        ProposalExportService.Formato escolhido = switch (formato.toLowerCase()) {
+            case "ndjson" -> ProposalExportService.Formato.NDJSON;
+            case "csv" -> ProposalExportService.Formato.CSV;
+            default -> throw new IllegalArgumentException("Formato de exportação inválido: use ndjson ou csv");
+        };
+        MediaType tipo = escolhido == ProposalExportService.Formato.CSV
+            ? new MediaType("text", "csv", java.nio.charset.StandardCharsets.UTF_8)
+            : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody corpo = saida -> exportacao.exportar(escolhido, saida);
+        return ResponseEntity.ok().contentType(tipo).body(corpo);
     }
 
-    @Operation(summary = "Realiza o pagamento de uma parcela de uma proposta")
+    @Operation(summary = "Realiza o pagamento de uma parcela de uma proposta",
+        description = "Com o cabeçalho Idempotency-Key, repetições do mesmo pagamento devolvem a resposta original")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Parcela paga com sucesso", content = @Content),
         @ApiResponse(responseCode = "400", description = "Erro no pagamento da parcela", content = @Content),
         @ApiResponse(responseCode = "404", description = "Proposta ou parcela não encontrada", content = @Content)
     })
     @PostMapping("/{id}/parcelas/{numeroParcela}/pagar")
-    public ResponseEntity<Void> pagarParcela(
+    public ResponseEntity<?> pagarParcela(
+            @RequestHeader(value = IdempotencyService.CABECALHO, required = false) String chaveIdempotencia,
             @PathVariable Long id,
             @PathVariable int numeroParcela) {
+        return idempotencia.executar(chaveIdempotencia, "pagar-parcela", id + "|" + numeroParcela, () -> {
             propostaService.pagarParcela(id, numeroParcela);
             return ResponseEntity.ok().build();
+        });
+    }
+
+    @Operation(summary = "Paga várias parcelas de propostas diferentes em lote",
+        description = "As parcelas são aplicadas em blocos transacionais com UPDATEs em batch, sem carregar as propostas. "
+            + "Cada item informa se a parcela foi paga, já estava paga ou não foi encontrada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado, com o resultado de cada parcela",
+            content = @Content(schema = @Schema(implementation = PaymentBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, acima do tamanho máximo ou com item incompleto", content = @Content)
+    })
+    @PostMapping("/pagamentos")
+    public ResponseEntity<PaymentBatchResponse> pagarParcelasEmLote(@RequestBody List<PaymentBatchItemRequest> requests) {
+        int tamanhoMaximo = properties.getPagamento().getTamanhoMaximoLote();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos uma parcela");
+        }
+        if (requests.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + tamanhoMaximo + " parcelas");
+        }
+
+        List<PaymentBatchService.ItemPagamento> itens = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            PaymentBatchItemRequest request = requests.get(i);
+            if (request == null || request.propostaId() == null || request.numeroParcela() == null) {
+                throw new IllegalArgumentException("Item " + i + " do lote sem propostaId ou numeroParcela");
+            }
+            itens.add(new PaymentBatchService.ItemPagamento(request.propostaId(), request.numeroParcela()));
+        }
+
+        List<PaymentBatchService.SituacaoPagamento> situacoes = pagamentoEmLote.pagar(itens);
+
+        List<PaymentBatchItemResponse> resultado = new ArrayList<>(itens.size());
+        int[] totais = new int[PaymentBatchService.SituacaoPagamento.values().length];
+        for (int i = 0; i < itens.size(); i++) {
+            PaymentBatchService.SituacaoPagamento situacao = situacoes.get(i);
+            totais[situacao.ordinal()]++;
+            resultado.add(new PaymentBatchItemResponse(i, itens.get(i).propostaId(), itens.get(i).numeroParcela(), situacao));
+        }
+
+        return ResponseEntity.ok(new PaymentBatchResponse(itens.size(),
+            totais[PaymentBatchService.SituacaoPagamento.PAGA.ordinal()],
+            totais[PaymentBatchService.SituacaoPagamento.JA_PAGA.ordinal()],
+            totais[PaymentBatchService.SituacaoPagamento.NAO_ENCONTRADA.ordinal()],
+            resultado));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.application.query.InstallmentView;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Representação compacta de uma proposta (Accept: application/vnd.propostas.compacto+json).
+ * Como todas as parcelas têm o mesmo valor, ele é enviado uma única vez, e a situação das parcelas
+ * vai em mapas de bits, no mesmo formato do armazenamento compacto (bit n-1 = parcela n paga ou vencida).
+ * Os IDs das parcelas não são enviados: o pagamento usa o número da parcela.
+ */
+@Schema(description = "Proposta de crédito em formato compacto: valor único das parcelas e mapas de bits das parcelas pagas e vencidas")
+public record CompactProposalResponse(
+
+    @Schema(description = "Identificador único da proposta", example = "1")
+    Long id,
+
+    @Schema(description = "CPF do solicitante da proposta", example = "12345678910")
+    String cpf,
+
+    @Schema(description = "Valor solicitado para o crédito", example = "1000.00")
+    BigDecimal valorSolicitado,
+
+    @Schema(description = "Quantidade de parcelas para pagamento", example = "12")
+    int quantidadeParcelas,
+
+    @Schema(description = "Data da solicitação da proposta", example = "2025-08-12")
+    LocalDate dataSolicitacao,
+
+    @Schema(description = "Valor de cada parcela", example = "83.33")
+    BigDecimal valorParcela,
+
+    @Schema(description = "Parcelas pagas: o bit n-1 indica a parcela n (5 = parcelas 1 e 3 pagas)", example = "5")
+    int parcelasPagas,
+
+    @Schema(description = "Parcelas vencidas (não pagas, com vencimento anterior a hoje), no mesmo formato de parcelasPagas", example = "2")
+    int parcelasVencidas) {
+
+    public static final String MEDIA_TYPE = "application/vnd.propostas.compacto+json";
+
+    /**
+     * @param proposta = Proposta no formato completo
+     * @return Proposta no formato compacto
+     * @throws IllegalStateException se as parcelas não tiverem o mesmo valor
+     */
+    public static CompactProposalResponse de(ProposalView proposta) {
+        LocalDate hoje = LocalDate.now();
+        BigDecimal valorParcela = null;
+        int pagas = 0;
+        int vencidas = 0;
+        for (InstallmentView parcela : proposta.parcelas()) {
+            if (valorParcela == null) {
+                valorParcela = parcela.valor();
+            } else if (valorParcela.compareTo(parcela.valor()) != 0) {
+                throw new IllegalStateException("As parcelas da proposta " + proposta.id() + " não têm o mesmo valor");
+            }
+            if (parcela.paga()) {
+                pagas |= Proposal.bitParcela(parcela.numero());
+            } else if (vencida(parcela, hoje)) {
+                vencidas |= Proposal.bitParcela(parcela.numero());
+            }
+        }
+        return new CompactProposalResponse(proposta.id(), proposta.cpf(), proposta.valorSolicitado(),
+                proposta.quantidadeParcelas(), proposta.dataSolicitacao(), valorParcela, pagas, vencidas);
+    }
+
+    // Mesma regra de Installment.calcularStatus; nas parcelas em linhas, também as já marcadas pela OverdueInstallmentService
+    private static boolean vencida(InstallmentView parcela, LocalDate hoje) {
+        return parcela.status() == InstallmentStatus.VENCIDA
+                || (parcela.dataVencimento() != null && parcela.dataVencimento().isBefore(hoje));
+    }
+
+    public static List<CompactProposalResponse> de(List<ProposalView> propostas) {
+        return propostas.stream().map(CompactProposalResponse::de).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Página de resultados da paginação por cursor.
+ * Não informa o total de registros, o que evita o COUNT(*) a cada requisição.
+ */
+@Schema(description = "Página de resultados paginada por cursor, sem contagem total")
+public record CursorPageResponse<T>(
+
+    @Schema(description = "Itens da página")
+    List<T> content,
+
+    @Schema(description = "Quantidade de itens solicitada", example = "10")
+    int size,
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    boolean hasNext,
+
+    @Schema(description = "Cursor a ser enviado no parâmetro 'after' para obter a próxima página; nulo na última página")
+    String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Corpo das respostas de erro
+ */
+@Schema(description = "Erro da requisição, com um código estável e uma mensagem legível")
+public record ErrorResponse(
+
+    @Schema(description = "Código do erro; não muda entre versões", example = "PARCELA_JA_PAGA")
+    String codigo,
+
+    @Schema(description = "Descrição do erro", example = "Parcela já está paga")
+    String mensagem) {
+
+    public static ErrorResponse de(ErrorCode codigo, String mensagem) {
+        return new ErrorResponse(codigo.name(), mensagem);
+    }
+}
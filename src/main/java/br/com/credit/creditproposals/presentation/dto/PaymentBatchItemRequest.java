@@ -0,0 +1,16 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Parcela a ser paga no pagamento em lote
+ */
+@Schema(description = "Parcela a ser paga")
+public record PaymentBatchItemRequest(
+
+    @Schema(description = "ID da proposta", example = "1", required = true)
+    Long propostaId,
+
+    @Schema(description = "Número da parcela", example = "1", required = true)
+    Integer numeroParcela) {
+}
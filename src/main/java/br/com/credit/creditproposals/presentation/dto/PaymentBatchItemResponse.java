@@ -0,0 +1,23 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.application.service.PaymentBatchService.SituacaoPagamento;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de um item do pagamento em lote
+ */
+@Schema(description = "Resultado individual de uma parcela enviada no lote")
+public record PaymentBatchItemResponse(
+
+    @Schema(description = "Posição do item na lista enviada (iniciando em 0)", example = "0")
+    int indice,
+
+    @Schema(description = "ID da proposta", example = "1")
+    Long propostaId,
+
+    @Schema(description = "Número da parcela", example = "1")
+    int numeroParcela,
+
+    @Schema(description = "PAGA, JA_PAGA ou NAO_ENCONTRADA", example = "PAGA")
+    SituacaoPagamento situacao) {
+}
@@ -0,0 +1,26 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Resposta do pagamento em lote, com o resultado de cada parcela
+ */
+@Schema(description = "Resumo do pagamento de parcelas em lote")
+public record PaymentBatchResponse(
+
+    @Schema(description = "Quantidade de parcelas recebidas", example = "3")
+    int recebidas,
+
+    @Schema(description = "Quantidade de parcelas pagas", example = "1")
+    int pagas,
+
+    @Schema(description = "Quantidade de parcelas que já estavam pagas", example = "1")
+    int jaPagas,
+
+    @Schema(description = "Quantidade de parcelas ou propostas inexistentes", example = "1")
+    int naoEncontradas,
+
+    @Schema(description = "Resultado de cada parcela, na mesma ordem do envio")
+    List<PaymentBatchItemResponse> itens) {
+}
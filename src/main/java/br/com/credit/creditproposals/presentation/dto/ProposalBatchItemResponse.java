@@ -0,0 +1,21 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Resultado de um item da criação de propostas em lote
+ * Quando a proposta é criada, "id" é preenchido e "erros" fica vazio
+ */
+@Schema(description = "Resultado individual de uma proposta enviada no lote")
+public record ProposalBatchItemResponse(
+
+    @Schema(description = "Posição da proposta na lista enviada (iniciando em 0)", example = "0")
+    int indice,
+
+    @Schema(description = "ID da proposta criada, ou nulo se rejeitada", example = "1")
+    Long id,
+
+    @Schema(description = "Mensagens de validação que impediram a criação")
+    List<String> erros) {
+}
@@ -0,0 +1,23 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Resposta da criação de propostas em lote, com o resultado de cada item
+ */
+@Schema(description = "Resumo da criação de propostas em lote")
+public record ProposalBatchResponse(
+
+    @Schema(description = "Quantidade de propostas recebidas", example = "10")
+    int recebidas,
+
+    @Schema(description = "Quantidade de propostas criadas", example = "9")
+    int criadas,
+
+    @Schema(description = "Quantidade de propostas rejeitadas por validação", example = "1")
+    int rejeitadas,
+
+    @Schema(description = "Resultado de cada proposta, na mesma ordem do envio")
+    List<ProposalBatchItemResponse> itens) {
+}
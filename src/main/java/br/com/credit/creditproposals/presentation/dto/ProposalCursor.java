@@ -0,0 +1,45 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.InvalidInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica o cursor opaco usado na paginação por keyset.
+ * O token carrega o ID da última proposta retornada, em Base64 URL-safe,
+ * para que o cliente não dependa do seu formato interno.
+ */
+public final class ProposalCursor {
+
+    private static final String PREFIXO = "p:";
+
+    private ProposalCursor() {
+    }
+
+    public static String codificar(Long ultimoId) {
+        byte[] bytes = (PREFIXO + ultimoId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decodifica o token recebido do cliente.
+     * @throws IllegalArgumentException se o token não for um cursor válido
+     */
+    public static Long decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new InvalidInputException(ErrorCode.CURSOR_INVALIDO);
+            }
+            long id = Long.parseLong(valor.substring(PREFIXO.length()));
+            if (id < 0) {
+                throw new InvalidInputException(ErrorCode.CURSOR_INVALIDO);
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new InvalidInputException(ErrorCode.CURSOR_INVALIDO);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.application.service.ProposalIntakeQueue.SituacaoRecebimento;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Situação de uma proposta recebida de forma assíncrona
+ * "propostaUrl" só é preenchida depois que a proposta foi gravada
+ */
+@Schema(description = "Situação da gravação de uma proposta aceita pelo recebimento assíncrono")
+public record ProposalIntakeResponse(
+
+    @Schema(description = "ID reservado para a proposta", example = "1")
+    Long id,
+
+    @Schema(description = "Situação da gravação", example = "PENDENTE")
+    SituacaoRecebimento situacao,
+
+    @Schema(description = "URL para acompanhar a situação", example = "/propostas/recebimentos/1")
+    String statusUrl,
+
+    @Schema(description = "URL da proposta, quando gravada", example = "/propostas/1")
+    String propostaUrl) {
+
+    public static ProposalIntakeResponse de(Long id, SituacaoRecebimento situacao) {
+        return new ProposalIntakeResponse(id, situacao, "/propostas/recebimentos/" + id,
+            situacao == SituacaoRecebimento.GRAVADA ? "/propostas/" + id : null);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.application.query.InstallmentView;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Serializadores das respostas de proposta, escritos campo a campo no JsonGenerator
+ * (sem introspecção dos records a cada chamada). O JSON de ProposalView é o mesmo
+ * gerado pelo Jackson a partir do record; os nomes dos campos são constantes.
+ */
+@JsonComponent
+public class ProposalJsonSerializers {
+
+    public static class ProposalViewSerializer extends StdSerializer<ProposalView> {
+
+        public ProposalViewSerializer() {
+            super(ProposalView.class);
+        }
+
+        @Override
+        public void serialize(ProposalView proposta, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeStartObject();
+            escreverCabecalho(gerador, proposta.id(), proposta.cpf(), proposta.valorSolicitado(),
+                    proposta.quantidadeParcelas(), proposta.dataSolicitacao());
+            gerador.writeArrayFieldStart("parcelas");
+            for (InstallmentView parcela : proposta.parcelas()) {
+                gerador.writeStartObject();
+                if (parcela.id() == null) {
+                    gerador.writeNullField("id");
+                } else {
+                    gerador.writeNumberField("id", parcela.id());
+                }
+                gerador.writeNumberField("numero", parcela.numero());
+                gerador.writeNumberField("valor", parcela.valor());
+                gerador.writeStringField("status", parcela.status() == null ? null : parcela.status().name());
+                gerador.writeStringField("dataVencimento",
+                        parcela.dataVencimento() == null ? null : parcela.dataVencimento().toString());
+                gerador.writeBooleanField("paga", parcela.paga());
+                gerador.writeEndObject();
+            }
+            gerador.writeEndArray();
+            gerador.writeEndObject();
+        }
+    }
+
+    public static class CompactProposalSerializer extends StdSerializer<CompactProposalResponse> {
+
+        public CompactProposalSerializer() {
+            super(CompactProposalResponse.class);
+        }
+
+        @Override
+        public void serialize(CompactProposalResponse proposta, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeStartObject();
+            escreverCabecalho(gerador, proposta.id(), proposta.cpf(), proposta.valorSolicitado(),
+                    proposta.quantidadeParcelas(), proposta.dataSolicitacao());
+            gerador.writeNumberField("valorParcela", proposta.valorParcela());
+            gerador.writeNumberField("parcelasPagas", proposta.parcelasPagas());
+            gerador.writeNumberField("parcelasVencidas", proposta.parcelasVencidas());
+            gerador.writeEndObject();
+        }
+    }
+
+    // Campos comuns aos dois formatos, na ordem dos componentes de ProposalView
+    private static void escreverCabecalho(JsonGenerator gerador, Long id, String cpf, BigDecimal valorSolicitado,
+                                          int quantidadeParcelas, LocalDate dataSolicitacao) throws IOException {
+        if (id == null) {
+            gerador.writeNullField("id");
+        } else {
+            gerador.writeNumberField("id", id);
+        }
+        gerador.writeStringField("cpf", cpf);
+        gerador.writeNumberField("valorSolicitado", valorSolicitado);
+        gerador.writeNumberField("quantidadeParcelas", quantidadeParcelas);
+        gerador.writeStringField("dataSolicitacao", dataSolicitacao == null ? null : dataSolicitacao.toString());
+    }
+}
@@ -13,24 +13,36 @@ import org.hibernate.validator.constraints.br.CPF;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 public class ProposalRequest {
-    
+
+    // Mensagens e limites compartilhados com ProposalRequestValidator, que valida sem o Hibernate Validator
+    public static final String CPF_OBRIGATORIO = "CPF é obrigatório";
+    public static final String CPF_INVALIDO = "CPF inválido";
+    public static final String VALOR_OBRIGATORIO = "Valor solicitado é obrigatório";
+    public static final String VALOR_MINIMO = "100.00";
+    public static final String VALOR_ABAIXO_DO_MINIMO = "Valor solicitado deve ser no mínimo R$ 100,00";
+    public static final int PARCELAS_MINIMO = 1;
+    public static final int PARCELAS_MAXIMO = 24;
+    public static final String PARCELAS_ABAIXO_DO_MINIMO = "Quantidade de parcelas deve ser no mínimo 1";
+    public static final String PARCELAS_ACIMA_DO_MAXIMO = "Quantidade de parcelas deve ser no máximo 24";
+    public static final String DATA_OBRIGATORIA = "Data de solicitação é obrigatória";
+
     @Schema(description = "CPF do solicitante", example = "12345678900", required = true)
-    @NotBlank(message = "CPF é obrigatório")
-    @CPF(message = "CPF inválido")
+    @NotBlank(message = CPF_OBRIGATORIO)
+    @CPF(message = CPF_INVALIDO)
     private String cpf;
 
     @Schema(description = "Valor solicitado para crédito (mínimo R$ 100,00)", example = "1500.00", required = true)
-    @NotNull(message = "Valor solicitado é obrigatório")
-    @DecimalMin(value = "100.00", message = "Valor solicitado deve ser no mínimo R$ 100,00")
+    @NotNull(message = VALOR_OBRIGATORIO)
+    @DecimalMin(value = VALOR_MINIMO, message = VALOR_ABAIXO_DO_MINIMO)
     private java.math.BigDecimal valorSolicitado;
 
     @Schema(description = "Quantidade de parcelas (1 a 24)", example = "12", minimum = "1", maximum = "24")
-    @Min(value = 1, message = "Quantidade de parcelas deve ser no mínimo 1")
-    @Max(value = 24, message = "Quantidade de parcelas deve ser no máximo 24")
+    @Min(value = PARCELAS_MINIMO, message = PARCELAS_ABAIXO_DO_MINIMO)
+    @Max(value = PARCELAS_MAXIMO, message = PARCELAS_ACIMA_DO_MAXIMO)
     private int quantidadeParcelas;
 
     @Schema(description = "Data da solicitação da proposta", example = "2025-08-12", required = true)
-    @NotNull(message = "Data de solicitação é obrigatória")
+    @NotNull(message = DATA_OBRIGATORIA)
     private LocalDate dataSolicitacao;
 
     public ProposalRequest() {}
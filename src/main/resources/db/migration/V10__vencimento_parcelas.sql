@@ -0,0 +1,27 @@
+-- Data de vencimento das parcelas (n meses após a solicitação) e índice parcial das parcelas em aberto por vencimento,
+-- usado pela OverdueInstallmentService. Executada fora de transação (V10__vencimento_parcelas.sql.conf):
+-- cada lote do preenchimento é confirmado separadamente e o índice é criado com CONCURRENTLY.
+
+ALTER TABLE parcela ADD COLUMN data_vencimento DATE;
+
+-- Preenche as parcelas existentes em faixas de 10.000 IDs, uma transação por faixa
+DO $$
+DECLARE
+    inicio BIGINT;
+    maximo BIGINT;
+BEGIN
+    SELECT COALESCE(MIN(id), 1) - 1, COALESCE(MAX(id), 0) INTO inicio, maximo FROM parcela;
+    WHILE inicio < maximo LOOP
+        UPDATE parcela i
+        SET data_vencimento = (p.data_solicitacao + i.numero * INTERVAL '1 month')::DATE
+        FROM proposta p
+        WHERE p.id = i.proposta_id
+          AND i.id > inicio AND i.id <= inicio + 10000 AND i.data_vencimento IS NULL;
+        inicio := inicio + 10000;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+-- Somente as parcelas EM_ABERTO: o índice acompanha as parcelas ainda não vencidas, não a tabela inteira
+CREATE INDEX CONCURRENTLY idx_parcela_vencimento_em_aberto ON parcela (data_vencimento, id) WHERE status = 'EM_ABERTO';
@@ -0,0 +1,9 @@
+-- Data de vencimento também nas parcelas arquivadas, copiada de parcela.data_vencimento pela ProposalArchivalService.
+-- As parcelas arquivadas antes desta migração recebem o vencimento calculado da data da solicitação (n meses após).
+-- A tabela de arquivo não recebe tráfego de escrita além do arquivamento, por isso o preenchimento é feito em um único UPDATE.
+ALTER TABLE parcela_arquivo ADD COLUMN data_vencimento DATE;
+
+UPDATE parcela_arquivo i
+SET data_vencimento = (p.data_solicitacao + i.numero * INTERVAL '1 month')::DATE
+FROM proposta_arquivo p
+WHERE p.id = i.proposta_id;
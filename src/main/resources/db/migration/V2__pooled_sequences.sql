@@ -0,0 +1,14 @@
+-- Substitui as colunas BIGSERIAL por sequências com incremento 50,
+-- usadas pelo otimizador pooled do Hibernate (permite INSERTs em lote).
+CREATE SEQUENCE proposta_seq INCREMENT BY 50;
+CREATE SEQUENCE parcela_seq INCREMENT BY 50;
+
+-- Posiciona as sequências acima dos IDs já existentes
+SELECT setval('proposta_seq', COALESCE((SELECT MAX(id) FROM proposta), 0) + 50);
+SELECT setval('parcela_seq', COALESCE((SELECT MAX(id) FROM parcela), 0) + 50);
+
+ALTER TABLE proposta ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE parcela ALTER COLUMN id DROP DEFAULT;
+
+DROP SEQUENCE proposta_id_seq;
+DROP SEQUENCE parcela_id_seq;
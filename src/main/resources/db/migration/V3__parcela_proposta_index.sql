@@ -0,0 +1,4 @@
+-- Índice para buscar as parcelas de um conjunto de propostas (e uma parcela pelo número).
+-- Criado com CONCURRENTLY, fora de transação (V3__parcela_proposta_index.sql.conf), para não bloquear
+-- as escritas em parcela durante a construção.
+CREATE UNIQUE INDEX CONCURRENTLY uk_parcela_proposta_numero ON parcela (proposta_id, numero);
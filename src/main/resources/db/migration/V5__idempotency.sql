@@ -0,0 +1,11 @@
+-- Respostas registradas por chave de idempotência (cabeçalho Idempotency-Key)
+CREATE TABLE idempotencia (
+    chave VARCHAR(255) PRIMARY KEY,
+    impressao VARCHAR(64),
+    status_http INT NOT NULL,
+    location VARCHAR(255),
+    corpo TEXT,
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotencia_criado_em ON idempotencia (criado_em);
@@ -0,0 +1,24 @@
+-- Resumo de exposição por CPF, mantido na mesma transação das criações e pagamentos
+CREATE TABLE cliente_resumo (
+    cpf VARCHAR(14) PRIMARY KEY,
+    quantidade_propostas INT NOT NULL DEFAULT 0,
+    total_solicitado NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    total_em_aberto NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    parcelas_em_aberto INT NOT NULL DEFAULT 0
+);
+
+-- Carga inicial a partir das propostas existentes
+INSERT INTO cliente_resumo (cpf, quantidade_propostas, total_solicitado, total_em_aberto, parcelas_em_aberto)
+SELECT p.cpf,
+       COUNT(*),
+       SUM(p.valor_solicitado),
+       COALESCE(SUM(a.total_em_aberto), 0),
+       COALESCE(SUM(a.parcelas_em_aberto), 0)
+FROM proposta p
+LEFT JOIN (
+    SELECT proposta_id, SUM(valor) AS total_em_aberto, COUNT(*) AS parcelas_em_aberto
+    FROM parcela
+    WHERE status = 'EM_ABERTO'
+    GROUP BY proposta_id
+) a ON a.proposta_id = p.id
+GROUP BY p.cpf;
@@ -0,0 +1,72 @@
+-- Converte proposta.cpf de VARCHAR(14) para BIGINT sem bloquear a tabela durante a cópia.
+-- Executada fora de transação (V7__cpf_numerico.sql.conf): cada lote é confirmado separadamente.
+
+ALTER TABLE proposta ADD COLUMN cpf_numerico BIGINT;
+
+-- Mantém a nova coluna preenchida nas linhas gravadas enquanto a conversão está em andamento
+CREATE FUNCTION proposta_cpf_numerico() RETURNS trigger AS $$
+BEGIN
+    NEW.cpf_numerico := regexp_replace(NEW.cpf, '[^0-9]', '', 'g')::BIGINT;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_proposta_cpf_numerico
+    BEFORE INSERT OR UPDATE OF cpf ON proposta
+    FOR EACH ROW EXECUTE FUNCTION proposta_cpf_numerico();
+
+-- Copia as linhas existentes em faixas de 10.000 IDs, uma transação por faixa
+DO $$
+DECLARE
+    inicio BIGINT;
+    maximo BIGINT;
+BEGIN
+    SELECT COALESCE(MIN(id), 1) - 1, COALESCE(MAX(id), 0) INTO inicio, maximo FROM proposta;
+    WHILE inicio < maximo LOOP
+        UPDATE proposta
+        SET cpf_numerico = regexp_replace(cpf, '[^0-9]', '', 'g')::BIGINT
+        WHERE id > inicio AND id <= inicio + 10000 AND cpf_numerico IS NULL;
+        inicio := inicio + 10000;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+CREATE INDEX CONCURRENTLY idx_proposta_cpf_numerico ON proposta (cpf_numerico, id);
+
+-- A restrição validada permite que o SET NOT NULL abaixo não percorra a tabela
+ALTER TABLE proposta ADD CONSTRAINT ck_proposta_cpf_numerico CHECK (cpf_numerico IS NOT NULL) NOT VALID;
+ALTER TABLE proposta VALIDATE CONSTRAINT ck_proposta_cpf_numerico;
+
+-- Troca das colunas: apenas alterações de metadados, com a tabela travada por pouco tempo.
+-- O resumo por CPF tem uma linha por cliente e é reagrupado pelo CPF numérico
+-- (o mesmo CPF pode ter sido gravado com e sem pontuação).
+BEGIN;
+LOCK TABLE proposta, cliente_resumo IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE proposta ALTER COLUMN cpf_numerico SET NOT NULL;
+ALTER TABLE proposta DROP CONSTRAINT ck_proposta_cpf_numerico;
+DROP TRIGGER trg_proposta_cpf_numerico ON proposta;
+ALTER TABLE proposta DROP COLUMN cpf;
+ALTER TABLE proposta RENAME COLUMN cpf_numerico TO cpf;
+ALTER INDEX idx_proposta_cpf_numerico RENAME TO idx_proposta_cpf;
+
+CREATE TABLE cliente_resumo_numerico (
+    cpf BIGINT PRIMARY KEY,
+    quantidade_propostas INT NOT NULL DEFAULT 0,
+    total_solicitado NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    total_em_aberto NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    parcelas_em_aberto INT NOT NULL DEFAULT 0
+);
+INSERT INTO cliente_resumo_numerico (cpf, quantidade_propostas, total_solicitado, total_em_aberto, parcelas_em_aberto)
+SELECT regexp_replace(cpf, '[^0-9]', '', 'g')::BIGINT,
+       SUM(quantidade_propostas), SUM(total_solicitado), SUM(total_em_aberto), SUM(parcelas_em_aberto)
+FROM cliente_resumo
+GROUP BY 1;
+DROP TABLE cliente_resumo;
+ALTER TABLE cliente_resumo_numerico RENAME TO cliente_resumo;
+ALTER INDEX cliente_resumo_numerico_pkey RENAME TO cliente_resumo_pkey;
+
+COMMIT;
+
+DROP FUNCTION proposta_cpf_numerico();
@@ -0,0 +1,9 @@
+-- Armazenamento compacto das parcelas (propostas.parcelas.armazenamento=compacto).
+-- Colunas nulas nas propostas com parcelas em linhas; as existentes são convertidas em segundo plano
+-- pela InstallmentCompactionService (propostas.parcelas.compactar-existentes=true).
+-- O resto do arredondamento não é guardado: no armazenamento em linhas todas as parcelas têm o mesmo valor
+-- arredondado, sem ajuste na última, e as parcelas reconstruídas seguem a mesma regra (somar o resto só às
+-- reconstruídas faria a mesma proposta ter valores diferentes conforme o armazenamento). Quando necessário,
+-- ele é derivável de valor_solicitado - quantidade_parcelas * valor_parcela.
+ALTER TABLE proposta ADD COLUMN valor_parcela NUMERIC(19, 2);
+ALTER TABLE proposta ADD COLUMN parcelas_pagas INT;
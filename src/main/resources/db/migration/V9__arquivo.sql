@@ -0,0 +1,22 @@
+-- Propostas quitadas e suas parcelas, movidas das tabelas principais pela ProposalArchivalService
+-- (propostas.arquivamento.habilitado=true). Mesmas colunas de proposta e parcela, sem sequências.
+CREATE TABLE proposta_arquivo (
+    id BIGINT PRIMARY KEY,
+    cpf BIGINT NOT NULL,
+    valor_solicitado NUMERIC(19, 2) NOT NULL,
+    quantidade_parcelas INT NOT NULL,
+    data_solicitacao DATE NOT NULL,
+    valor_parcela NUMERIC(19, 2),
+    parcelas_pagas INT,
+    arquivada_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE parcela_arquivo (
+    id BIGINT PRIMARY KEY,
+    proposta_id BIGINT NOT NULL REFERENCES proposta_arquivo(id),
+    numero INT NOT NULL,
+    valor NUMERIC(19, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_parcela_arquivo_proposta_numero ON parcela_arquivo (proposta_id, numero);
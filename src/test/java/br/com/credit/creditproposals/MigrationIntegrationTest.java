@@ -0,0 +1,207 @@
+package br.com.credit.creditproposals;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Executa as migrações do Flyway no PostgreSQL a partir de dados gravados no esquema da V1
+ * e sobe a aplicação com spring.jpa.hibernate.ddl-auto=validate sobre o esquema resultante.
+ *
+ * O banco é um contêiner postgres:15 (Testcontainers); sem Docker, o teste é ignorado.
+ * Para usar um PostgreSQL já existente, informe um banco descartável (o esquema public é recriado):
+ * mvn test -Dtest=MigrationIntegrationTest -Dtestes.postgres.url=jdbc:postgresql://localhost:5432/migracao
+ * -Dtestes.postgres.usuario=postgres -Dtestes.postgres.senha=postgres
+ */
+@SpringBootTest(classes = CreditProposalsApplication.class, properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "propostas.vencimento.habilitado=false"
+})
+@AutoConfigureMockMvc
+public class MigrationIntegrationTest {
+
+    private static final String CPF = "78858021088";
+    private static final String OUTRO_CPF = "94722767092";
+    // Cliente usado apenas pelo teste que grava pela aplicação
+    private static final String CPF_GRAVACAO = "11144477735";
+
+    private static PostgreSQLContainer<?> container;
+    private static String url;
+    private static String usuario;
+    private static String senha;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void prepararBanco() {
+        url = System.getProperty("testes.postgres.url");
+        usuario = System.getProperty("testes.postgres.usuario", "postgres");
+        senha = System.getProperty("testes.postgres.senha", "postgres");
+        if (url == null) {
+            Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "Docker indisponível e testes.postgres.url não informado");
+            container = new PostgreSQLContainer<>("postgres:15");
+            container.start();
+            url = container.getJdbcUrl();
+            usuario = container.getUsername();
+            senha = container.getPassword();
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, usuario, senha);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP SCHEMA public CASCADE");
+        jdbc.execute("CREATE SCHEMA public");
+
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+
+        // O mesmo cliente gravado com e sem pontuação, antes da conversão do CPF para número (V7)
+        jdbc.update("""
+                INSERT INTO proposta (id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao) VALUES
+                (1, '788.580.210-88', 1200.00, 3, '2025-01-15'),
+                (2, '78858021088', 600.00, 2, '2025-03-31'),
+                (3, '947.227.670-92', 500.00, 1, '2025-02-10'),
+                (4, '111.444.777-35', 500.00, 2, '2025-05-20')
+                """);
+        jdbc.update("""
+                INSERT INTO parcela (id, numero, valor, status, proposta_id) VALUES
+                (1, 1, 400.00, 'PAGA', 1),
+                (2, 2, 400.00, 'EM_ABERTO', 1),
+                (3, 3, 400.00, 'EM_ABERTO', 1),
+                (4, 1, 300.00, 'EM_ABERTO', 2),
+                (5, 2, 300.00, 'EM_ABERTO', 2),
+                (6, 1, 500.00, 'PAGA', 3),
+                (7, 1, 250.00, 'EM_ABERTO', 4),
+                (8, 2, 250.00, 'EM_ABERTO', 4)
+                """);
+    }
+
+    @AfterAll
+    static void pararBanco() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    // Chamado ao criar o contexto, depois de prepararBanco: o Flyway da aplicação aplica as migrações a partir da V2
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> usuario);
+        registry.add("spring.datasource.password", () -> senha);
+    }
+
+    @Test
+    void resumoDoClienteReagrupadoPeloCpfNumerico() {
+        assertEquals("bigint", tipoDaColuna("proposta", "cpf"));
+        assertEquals("bigint", tipoDaColuna("cliente_resumo", "cpf"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM proposta WHERE cpf = ?", Integer.class, Long.parseLong(CPF)));
+
+        // V6 gerou uma linha para cada grafia do CPF; a V7 as soma em uma linha por cliente
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cliente_resumo", Integer.class));
+        Map<String, Object> resumo = jdbcTemplate.queryForMap("SELECT * FROM cliente_resumo WHERE cpf = ?", Long.parseLong(CPF));
+        assertEquals(2, resumo.get("quantidade_propostas"));
+        assertEquals(0, new BigDecimal("1800.00").compareTo((BigDecimal) resumo.get("total_solicitado")));
+        assertEquals(0, new BigDecimal("1400.00").compareTo((BigDecimal) resumo.get("total_em_aberto")));
+        assertEquals(4, resumo.get("parcelas_em_aberto"));
+
+        Map<String, Object> outro = jdbcTemplate.queryForMap("SELECT * FROM cliente_resumo WHERE cpf = ?", Long.parseLong(OUTRO_CPF));
+        assertEquals(1, outro.get("quantidade_propostas"));
+        assertEquals(0, outro.get("parcelas_em_aberto"));
+    }
+
+    @Test
+    void indiceDoCpfRenomeadoEValidoAposATroca() {
+        assertEquals("CREATE INDEX idx_proposta_cpf ON public.proposta USING btree (cpf, id)", definicaoDoIndice("idx_proposta_cpf"));
+        assertTrue(jdbcTemplate.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = 'idx_proposta_cpf'::regclass", Boolean.class));
+        assertNull(definicaoDoIndice("idx_proposta_cpf_numerico"));
+        assertNotNull(definicaoDoIndice("cliente_resumo_pkey"));
+
+        // Nenhum resto da conversão: a função e o gatilho da cópia e a restrição do SET NOT NULL foram removidos
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_proc WHERE proname = 'proposta_cpf_numerico'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_trigger WHERE tgrelid = 'proposta'::regclass AND NOT tgisinternal", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'ck_proposta_cpf_numerico'", Integer.class));
+    }
+
+    @Test
+    void vencimentoPreenchidoNasParcelasExistentes() {
+        assertEquals(LocalDate.of(2025, 4, 15), vencimento(1, 3));
+        // Fim de mês: 31/03 + 1 mês = 30/04
+        assertEquals(LocalDate.of(2025, 4, 30), vencimento(2, 1));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM parcela WHERE data_vencimento IS NULL", Integer.class));
+        assertNotNull(definicaoDoIndice("idx_parcela_vencimento_em_aberto"));
+    }
+
+    @Test
+    void aplicacaoLeEGravaSobreOEsquemaMigrado() throws Exception {
+        mockMvc.perform(get("/propostas/1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cpf", is(CPF)))
+            .andExpect(jsonPath("$.parcelas[0].status", is("PAGA")))
+            .andExpect(jsonPath("$.parcelas[1].status", is("EM_ABERTO")));
+
+        mockMvc.perform(get("/propostas").param("cpf", "788.580.210-88"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements", is(2)));
+
+        // Novos IDs vêm das sequências posicionadas pela V2, acima dos já gravados
+        String proposta = """
+            {"cpf": "%s", "valorSolicitado": 900.00, "quantidadeParcelas": 3, "dataSolicitacao": "2025-08-12"}
+            """.formatted(CPF_GRAVACAO);
+        mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(proposta))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/propostas/4/parcelas/1/pagar"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/clientes/" + CPF_GRAVACAO + "/resumo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidadePropostas", is(2)))
+            .andExpect(jsonPath("$.totalSolicitado", is(1400.0)))
+            .andExpect(jsonPath("$.totalEmAberto", is(1150.0)))
+            .andExpect(jsonPath("$.parcelasEmAberto", is(4)));
+    }
+
+    private String tipoDaColuna(String tabela, String coluna) {
+        return jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                String.class, tabela, coluna);
+    }
+
+    private String definicaoDoIndice(String indice) {
+        return jdbcTemplate.query("SELECT indexdef FROM pg_indexes WHERE indexname = ?",
+                rs -> rs.next() ? rs.getString(1) : null, indice);
+    }
+
+    private LocalDate vencimento(long propostaId, int numero) {
+        return jdbcTemplate.queryForObject("SELECT data_vencimento FROM parcela WHERE proposta_id = ? AND numero = ?",
+                LocalDate.class, propostaId, numero);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.credit.creditproposals.application.datasource;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private static final Duration ATRASO = Duration.ofMillis(200);
+
+    private final RecentWriteTracker escritasRecentes = criarTracker();
+    private final ReadYourWritesFilter filtro = new ReadYourWritesFilter(escritasRecentes);
+
+    @Test
+    void escritaMaisLongaQueOAtrasoContaOAtrasoAPartirDoFim() throws Exception {
+        MockHttpServletRequest escrita = requisicao("POST", "cliente-a");
+
+        filtro.doFilter(escrita, new MockHttpServletResponse(), (request, response) -> {
+            try {
+                Thread.sleep(ATRASO.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(escritasRecentes.clienteEscreveuRecentemente("cliente-a"));
+        assertFalse(escritasRecentes.clienteEscreveuRecentemente("cliente-b"));
+    }
+
+    @Test
+    void leituraNaoRegistraOCliente() throws Exception {
+        filtro.doFilter(requisicao("GET", "cliente-c"), new MockHttpServletResponse(), (request, response) -> { });
+
+        assertFalse(escritasRecentes.clienteEscreveuRecentemente("cliente-c"));
+    }
+
+    private static MockHttpServletRequest requisicao(String metodo, String cliente) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, "/propostas");
+        request.addHeader(ReadYourWritesFilter.CABECALHO, cliente);
+        return request;
+    }
+
+    private static RecentWriteTracker criarTracker() {
+        ProposalProperties properties = new ProposalProperties();
+        properties.getReplica().setHabilitado(true);
+        properties.getReplica().setAtrasoMaximo(ATRASO);
+        return new RecentWriteTracker(properties);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.credit.creditproposals.application.logging;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ErrorLogSamplerTest {
+
+    @Test
+    void registraAPrimeiraOcorrenciaEDepoisUmaACadaN() {
+        ErrorLogSampler amostragem = criar(3);
+
+        List<Long> registradas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            long ocorrencia = amostragem.registrar(ErrorCode.PARAMETRO_INVALIDO);
+            if (ocorrencia > 0) {
+                registradas.add(ocorrencia);
+            }
+        }
+
+        assertEquals(List.of(1L, 4L, 7L), registradas);
+        // Cada código tem a sua própria contagem
+        assertEquals(1L, amostragem.registrar(ErrorCode.ENDPOINT_NAO_ENCONTRADO));
+    }
+
+    @Test
+    void amostragemUmRegistraTodas() {
+        ErrorLogSampler amostragem = criar(1);
+
+        for (long i = 1; i <= 5; i++) {
+            assertEquals(i, amostragem.registrar(ErrorCode.DADOS_INVALIDOS));
+        }
+        assertEquals(1, criar(0).getAmostragem());
+    }
+
+    private static ErrorLogSampler criar(int amostragem) {
+        ProposalProperties properties = new ProposalProperties();
+        properties.getLog().setAmostragemErrosCliente(amostragem);
+        return new ErrorLogSampler(properties);
+    }
+}
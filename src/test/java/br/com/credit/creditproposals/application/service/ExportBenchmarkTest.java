@@ -0,0 +1,146 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a exportação em streaming sobre uma massa de dados gerada, em dois tamanhos,
+ * reportando linhas por segundo e o pico de heap usado durante a exportação.
+ * O pico deve ficar estável quando a massa cresce.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ExportBenchmarkTest
+ * (-Dbenchmark.propostas=500000 para alterar o tamanho da maior massa)
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class, properties =
+        // Execução "lazy" no H2 para que o banco também entregue as linhas sob demanda, como um cursor do PostgreSQL
+        "spring.datasource.url=jdbc:h2:mem:exportbench;MODE=PostgreSQL;LAZY_QUERY_EXECUTION=1;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ExportBenchmarkTest {
+
+    private static final int PROPOSTAS = Integer.getInteger("benchmark.propostas", 200_000);
+    private static final int PARCELAS = 12;
+    // IDs bem acima das sequências para não colidir com propostas criadas pela aplicação
+    private static final long ID_INICIAL = 1_000_000_000L;
+
+    @Autowired
+    private ProposalExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportarMassaGrandeComHeapConstante() throws Exception {
+        List<String> relatorio = new ArrayList<>();
+        long gerados = 0;
+        for (int total : new int[] {PROPOSTAS / 4, PROPOSTAS}) {
+            gerarMassa(gerados, total - gerados);
+            gerados = total;
+
+            exportService.exportar(ProposalExportService.Formato.NDJSON, OutputStream.nullOutputStream());
+            for (ProposalExportService.Formato formato : ProposalExportService.Formato.values()) {
+                relatorio.add(medir(formato, total));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-8s %10s %12s %12s %14s %16s%n",
+                "formato", "propostas", "linhas", "linhas/s", "MB escritos", "pico heap (MB)");
+        relatorio.forEach(System.out::println);
+        System.out.println();
+    }
+
+    private String medir(ProposalExportService.Formato formato, int propostasEsperadas) throws Exception {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBase = memoria.getHeapMemoryUsage().getUsed();
+
+        AtomicLong pico = new AtomicLong(heapBase);
+        Thread amostrador = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                pico.accumulateAndGet(memoria.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        amostrador.setDaemon(true);
+        amostrador.start();
+
+        ContadorDeBytes saida = new ContadorDeBytes();
+        ProposalExportService.Resumo resumo;
+        try {
+            resumo = exportService.exportar(formato, saida);
+        } finally {
+            amostrador.interrupt();
+            amostrador.join();
+        }
+
+        assertEquals(propostasEsperadas, resumo.propostas());
+        long linhas = resumo.propostas() + resumo.parcelas();
+        double porSegundo = linhas / Math.max(resumo.duracaoMillis() / 1000.0, 0.001);
+        return String.format("%-8s %10d %12d %12.0f %14.1f %16.1f", formato, resumo.propostas(), linhas, porSegundo,
+                saida.bytes / 1_048_576.0, (pico.get() - heapBase) / 1_048_576.0);
+    }
+
+    // Insere as propostas e parcelas diretamente por JDBC, em lotes
+    private void gerarMassa(long inicio, long quantidade) {
+        BigDecimal valor = new BigDecimal("1200.00");
+        BigDecimal valorParcela = new BigDecimal("100.00");
+        Date data = Date.valueOf(LocalDate.of(2025, 8, 12));
+        int lote = 5_000;
+
+        for (long offset = 0; offset < quantidade; offset += lote) {
+            List<Object[]> propostas = new ArrayList<>(lote);
+            List<Object[]> parcelas = new ArrayList<>(lote * PARCELAS);
+            for (long i = offset; i < Math.min(quantidade, offset + lote); i++) {
+                long id = ID_INICIAL + inicio + i;
+                propostas.add(new Object[] {id, 78858021088L, valor, PARCELAS, data});
+                for (int numero = 1; numero <= PARCELAS; numero++) {
+                    parcelas.add(new Object[] {id * 100 + numero, numero, valorParcela,
+                            numero <= 3 ? "PAGA" : "EM_ABERTO", id});
+                }
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO proposta (id, cpf, valor_solicitado, quantidade_parcelas, data_solicitacao)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, propostas);
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO parcela (id, numero, valor, status, proposta_id)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, parcelas);
+        }
+    }
+
+    private static final class ContadorDeBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.Reader;
+import java.io.StringReader;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a importação em CSV de uma massa gerada sob demanda (o arquivo nunca fica inteiro em memória),
+ * com uma linha inválida a cada mil, reportando propostas por segundo.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ImportBenchmarkTest
+ * (-Dbenchmark.propostas=1000000 para alterar o tamanho da massa)
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@ActiveProfiles("test")
+class ImportBenchmarkTest {
+
+    private static final int PROPOSTAS = Integer.getInteger("benchmark.propostas", 200_000);
+
+    @Autowired
+    private ProposalImportService importService;
+
+    @Test
+    void importarMassaGrande() throws Exception {
+        // Aquecimento da JIT e do pool de conexões
+        importService.importar(new CsvGerado(5_000));
+
+        ProposalImportService.Resultado resultado = importService.importar(new CsvGerado(PROPOSTAS));
+
+        System.out.println();
+        System.out.printf("%10s %10s %10s %12s %14s%n", "linhas", "importadas", "rejeitadas", "duracao (ms)", "propostas/s");
+        System.out.printf("%10d %10d %10d %12d %14.0f%n", resultado.linhasLidas(), resultado.importadas(),
+                resultado.rejeitadas(), resultado.duracaoMillis(), resultado.propostasPorSegundo());
+        System.out.println();
+
+        assertEquals(PROPOSTAS, resultado.linhasLidas());
+        assertEquals(PROPOSTAS / 1000, resultado.rejeitadas());
+        assertEquals(PROPOSTAS - PROPOSTAS / 1000, resultado.importadas());
+    }
+
+    // Gera o CSV linha a linha conforme é lido
+    private static final class CsvGerado extends Reader {
+
+        private final int linhas;
+        private int proxima = -1;
+        private StringReader atual = new StringReader("");
+
+        CsvGerado(int linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public int read(char[] destino, int inicio, int tamanho) throws java.io.IOException {
+            int lidos = atual.read(destino, inicio, tamanho);
+            while (lidos == -1) {
+                if (proxima >= linhas) {
+                    return -1;
+                }
+                atual = new StringReader(gerarLinha(proxima++));
+                lidos = atual.read(destino, inicio, tamanho);
+            }
+            return lidos;
+        }
+
+        private static String gerarLinha(int indice) {
+            if (indice < 0) {
+                return "cpf,valorSolicitado,quantidadeParcelas,dataSolicitacao\n";
+            }
+            // Uma linha a cada mil tem CPF inválido
+            String cpf = indice % 1000 == 999 ? "11111111111" : "78858021088";
+            return cpf + "," + (1000 + indice % 5000) + ".00," + (1 + indice % 24) + ",2025-08-12\n";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.config.ProposalProperties.Parcelas.Armazenamento;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara o armazenamento das parcelas em linhas (entidade Installment) com o armazenamento compacto
+ * na própria proposta: espaço ocupado pelas tabelas, criação, leitura e pagamento de parcelas.
+ *
+ * O banco H2 fica em arquivo (target/armazenamento-bench) para que DISK_SPACE_USED reflita as páginas
+ * gravadas; o valor não inclui os índices, o que favorece o armazenamento em linhas.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=InstallmentStorageBenchmarkTest
+ * (-Dbenchmark.propostas=50000 para alterar a quantidade de propostas por armazenamento)
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class, properties =
+        "spring.datasource.url=jdbc:h2:file:./target/armazenamento-bench;MODE=PostgreSQL")
+@ActiveProfiles("test")
+class InstallmentStorageBenchmarkTest {
+
+    private static final int PROPOSTAS = Integer.getInteger("benchmark.propostas", 20_000);
+    private static final int PARCELAS = 24;
+    private static final int LOTE = 500;
+
+    @Autowired
+    private ProposalService proposalService;
+
+    @Autowired
+    private ProposalProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compararArmazenamentoEmLinhasComCompacto() {
+        List<Resultado> resultados = new ArrayList<>();
+        try {
+            for (Armazenamento armazenamento : Armazenamento.values()) {
+                properties.getParcelas().setArmazenamento(armazenamento);
+                // Aquecimento da JIT com o mesmo armazenamento
+                pagar(criar(LOTE));
+                resultados.add(medir(armazenamento));
+            }
+        } finally {
+            properties.getParcelas().setArmazenamento(Armazenamento.LINHAS);
+        }
+
+        System.out.println();
+        System.out.printf("propostas=%d parcelas/proposta=%d%n", PROPOSTAS, PARCELAS);
+        System.out.printf("%-10s %14s %12s %14s %14s %14s%n",
+                "formato", "bytes/proposta", "linhas/prop.", "criadas/s", "lidas/s", "pagamentos/s");
+        for (Resultado r : resultados) {
+            System.out.printf("%-10s %14.0f %12.1f %14.0f %14.0f %14.0f%n", r.armazenamento, r.bytesPorProposta,
+                    r.linhasPorProposta, r.criadasPorSegundo, r.lidasPorSegundo, r.pagamentosPorSegundo);
+        }
+        System.out.println();
+    }
+
+    private Resultado medir(Armazenamento armazenamento) {
+        long espacoAntes = espacoUsado();
+        long linhasAntes = contarLinhas();
+
+        long inicio = System.nanoTime();
+        List<Long> ids = criar(PROPOSTAS);
+        double criadas = PROPOSTAS / segundosDesde(inicio);
+
+        double bytes = (double) (espacoUsado() - espacoAntes) / PROPOSTAS;
+        double linhas = (double) (contarLinhas() - linhasAntes) / PROPOSTAS;
+
+        inicio = System.nanoTime();
+        int lidas = ler(ids.get(0) - 1, PROPOSTAS);
+        double lidasPorSegundo = lidas / segundosDesde(inicio);
+        assertEquals(PROPOSTAS, lidas);
+
+        inicio = System.nanoTime();
+        int pagamentos = pagar(ids);
+        double pagamentosPorSegundo = pagamentos / segundosDesde(inicio);
+
+        return new Resultado(armazenamento, bytes, linhas, criadas, lidasPorSegundo, pagamentosPorSegundo);
+    }
+
+    private List<Long> criar(int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int offset = 0; offset < quantidade; offset += LOTE) {
+            List<Proposal> lote = new ArrayList<>(LOTE);
+            for (int i = offset; i < Math.min(quantidade, offset + LOTE); i++) {
+                lote.add(new Proposal("78858021088", new BigDecimal("2400.00"), PARCELAS, LocalDate.of(2025, 8, 12)));
+            }
+            ids.addAll(proposalService.criarPropostasEmLote(lote));
+        }
+        return ids;
+    }
+
+    // Lê as propostas com as parcelas, em páginas de 100 pelo cursor
+    private int ler(long aposId, int quantidade) {
+        int lidas = 0;
+        while (lidas < quantidade) {
+            Slice<ProposalView> pagina = proposalService.listarPropostasAposCursor(aposId, 100);
+            for (ProposalView proposta : pagina.getContent()) {
+                assertEquals(PARCELAS, proposta.parcelas().size());
+            }
+            lidas += pagina.getNumberOfElements();
+            if (!pagina.hasNext()) {
+                break;
+            }
+            aposId = pagina.getContent().get(pagina.getNumberOfElements() - 1).id();
+        }
+        return Math.min(lidas, quantidade);
+    }
+
+    // Paga as parcelas 1, 12 e 24 de cada proposta pelo UPDATE direto
+    private int pagar(List<Long> ids) {
+        int pagamentos = 0;
+        for (Long id : ids) {
+            for (int numero : new int[] {1, 12, PARCELAS}) {
+                proposalService.pagarParcela(id, numero);
+                pagamentos++;
+            }
+        }
+        return pagamentos;
+    }
+
+    private long espacoUsado() {
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('PROPOSTA') + DISK_SPACE_USED('PARCELA')", Long.class);
+    }
+
+    private long contarLinhas() {
+        return jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM proposta) + (SELECT COUNT(*) FROM parcela)", Long.class);
+    }
+
+    private static double segundosDesde(long inicioNanos) {
+        return Math.max((System.nanoTime() - inicioNanos) / 1_000_000_000.0, 0.001);
+    }
+
+    private record Resultado(Armazenamento armazenamento, double bytesPorProposta, double linhasPorProposta,
+                             double criadasPorSegundo, double lidasPorSegundo, double pagamentosPorSegundo) {
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dispara pagamentos simultâneos contra uma única proposta "quente" a partir de várias threads
+ * e verifica que cada parcela é paga exatamente uma vez pelo UPDATE condicional, reportando vazão
+ * e conflitos de bloqueio do banco não resolvidos.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=PaymentContentionBenchmarkTest
+ * (-Dbenchmark.threads=32 -Dbenchmark.rodadas=50 para alterar a carga)
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@ActiveProfiles("test")
+class PaymentContentionBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 20);
+    private static final int PARCELAS = 24;
+
+    @Autowired
+    private ProposalService proposalService;
+
+    @Test
+    void pagamentosConcorrentesNaMesmaProposta() throws Exception {
+        Resultado direto = executar("update direto", proposalService::pagarParcela);
+
+        System.out.println();
+        System.out.printf("threads=%d rodadas=%d parcelas/proposta=%d%n", THREADS, RODADAS, PARCELAS);
+        System.out.printf("%-15s %10s %10s %10s %14s %12s%n",
+                "caminho", "tentativas", "pagas", "ja pagas", "nao resolvidos", "tentativas/s");
+        System.out.printf("%-15s %10d %10d %10d %14d %12.0f%n",
+                direto.nome, direto.tentativas, direto.pagas, direto.jaPagas, direto.naoResolvidos, direto.porSegundo());
+        System.out.println();
+
+        assertEquals((long) RODADAS * PARCELAS, direto.pagas, "cada parcela deve ser paga exatamente uma vez");
+        assertTrue(direto.duplicadas == 0, "nenhuma parcela pode ser paga duas vezes");
+    }
+
+    private Resultado executar(String nome, BiConsumer<Long, Integer> pagamento) throws Exception {
+        LongAdder tentativas = new LongAdder();
+        LongAdder pagas = new LongAdder();
+        LongAdder jaPagas = new LongAdder();
+        LongAdder conflitosNaoResolvidos = new LongAdder();
+        long duplicadas = 0;
+        long duracaoNanos = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                Long propostaId = proposalService.criarPropostasEmLote(List.of(
+                        new Proposal("78858021088", new BigDecimal("2400.00"), PARCELAS, LocalDate.of(2025, 8, 12)))).get(0);
+                // Quantas vezes cada parcela foi paga com sucesso nesta rodada
+                AtomicIntegerArray sucessos = new AtomicIntegerArray(PARCELAS + 1);
+                CountDownLatch largada = new CountDownLatch(1);
+
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    tarefas.add(executor.submit(() -> {
+                        largada.await();
+                        // Cada thread tenta pagar todas as parcelas, em ordem aleatória
+                        for (int numero : ordemAleatoria()) {
+                            tentativas.increment();
+                            try {
+                                pagamento.accept(propostaId, numero);
+                                sucessos.incrementAndGet(numero);
+                                pagas.increment();
+                            } catch (IllegalStateException e) {
+                                jaPagas.increment();
+                            } catch (ConcurrencyFailureException e) {
+                                conflitosNaoResolvidos.increment();
+                            } catch (NoSuchElementException e) {
+                                throw new AssertionError("Parcela deveria existir", e);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+
+                long inicio = System.nanoTime();
+                largada.countDown();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get(2, TimeUnit.MINUTES);
+                }
+                duracaoNanos += System.nanoTime() - inicio;
+
+                // Parcelas que falharam por conflito de bloqueio ainda podem ser pagas
+                for (int numero = 1; numero <= PARCELAS; numero++) {
+                    if (sucessos.get(numero) == 0) {
+                        pagamento.accept(propostaId, numero);
+                        sucessos.incrementAndGet(numero);
+                        pagas.increment();
+                    }
+                    if (sucessos.get(numero) > 1) {
+                        duplicadas++;
+                    }
+                }
+                assertTrue(proposalService.buscarProposta(propostaId).parcelas().stream().allMatch(p -> p.paga()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Resultado(nome, tentativas.sum(), pagas.sum(), jaPagas.sum(),
+                conflitosNaoResolvidos.sum(), duplicadas, duracaoNanos);
+    }
+
+    private static int[] ordemAleatoria() {
+        int[] numeros = new int[PARCELAS];
+        for (int i = 0; i < PARCELAS; i++) {
+            numeros[i] = i + 1;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = PARCELAS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = numeros[i];
+            numeros[i] = numeros[j];
+            numeros[j] = temp;
+        }
+        return numeros;
+    }
+
+    private record Resultado(String nome, long tentativas, long pagas, long jaPagas,
+                             long naoResolvidos, long duplicadas, long duracaoNanos) {
+
+        double porSegundo() {
+            return tentativas / (duracaoNanos / 1_000_000_000.0);
+        }
+    }
+}
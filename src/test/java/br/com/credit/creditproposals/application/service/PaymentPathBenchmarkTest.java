@@ -0,0 +1,141 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.domain.model.Proposal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o pagamento de parcelas uma a uma, por UPDATE condicional direto,
+ * com o pagamento em lote (UPDATEs em batch JDBC, que não passam pelas estatísticas do Hibernate).
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=PaymentPathBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@ActiveProfiles("test")
+class PaymentPathBenchmarkTest {
+
+    private static final int PROPOSTAS = Integer.getInteger("benchmark.propostas", 2000);
+    private static final int PARCELAS = 24;
+
+    @Autowired
+    private ProposalService proposalService;
+
+    @Autowired
+    private PaymentBatchService pagamentoEmLote;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void compararPagamentoDiretoComPagamentoEmLote() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+
+        List<Long> direto = criarPropostas(PROPOSTAS);
+        List<Long> lote = criarPropostas(PROPOSTAS);
+
+        // Aquecimento da JIT e do pool de conexões nas duas abordagens
+        pagarTodas(criarPropostas(100), proposalService::pagarParcela);
+        pagamentoEmLote.pagar(itens(criarPropostas(100)));
+
+        Resultado resultadoDireto = medir("update direto", direto, proposalService::pagarParcela, estatisticas);
+        Resultado resultadoLote = medirLote(lote);
+
+        System.out.println();
+        System.out.printf("%-15s %12s %14s %16s%n", "caminho", "pagamentos", "pagamentos/s", "comandos SQL/op");
+        for (Resultado r : List.of(resultadoDireto, resultadoLote)) {
+            System.out.printf("%-15s %12d %14.0f %16s%n", r.nome, r.operacoes, r.porSegundo(),
+                    r.comandos < 0 ? "batch" : String.format("%.2f", r.comandosPorOperacao()));
+        }
+        System.out.println();
+
+        // Todas as parcelas pagas devem estar com status PAGA nas duas abordagens
+        assertEquals(PROPOSTAS * 3L, contarPagas(direto));
+        assertEquals(PROPOSTAS * 3L, contarPagas(lote));
+    }
+
+    private Resultado medir(String nome, List<Long> ids, BiConsumer<Long, Integer> pagamento, Statistics estatisticas) {
+        estatisticas.clear();
+        long inicio = System.nanoTime();
+        int operacoes = pagarTodas(ids, pagamento);
+        long duracao = System.nanoTime() - inicio;
+        return new Resultado(nome, operacoes, duracao, estatisticas.getPrepareStatementCount());
+    }
+
+    private Resultado medirLote(List<Long> ids) {
+        List<PaymentBatchService.ItemPagamento> itens = itens(ids);
+        long inicio = System.nanoTime();
+        List<PaymentBatchService.SituacaoPagamento> situacoes = pagamentoEmLote.pagar(itens);
+        long duracao = System.nanoTime() - inicio;
+        assertTrue(situacoes.stream().allMatch(s -> s == PaymentBatchService.SituacaoPagamento.PAGA));
+        return new Resultado("lote", itens.size(), duracao, -1);
+    }
+
+    // As mesmas parcelas 1, 12 e 24 de cada proposta, em uma única lista
+    private static List<PaymentBatchService.ItemPagamento> itens(List<Long> ids) {
+        List<PaymentBatchService.ItemPagamento> itens = new ArrayList<>(ids.size() * 3);
+        for (Long id : ids) {
+            for (int numero : new int[] {1, 12, PARCELAS}) {
+                itens.add(new PaymentBatchService.ItemPagamento(id, numero));
+            }
+        }
+        return itens;
+    }
+
+    // Paga as parcelas 1, 12 e 24 de cada proposta
+    private int pagarTodas(List<Long> ids, BiConsumer<Long, Integer> pagamento) {
+        int operacoes = 0;
+        for (Long id : ids) {
+            for (int numero : new int[] {1, 12, PARCELAS}) {
+                pagamento.accept(id, numero);
+                operacoes++;
+            }
+        }
+        return operacoes;
+    }
+
+    private List<Long> criarPropostas(int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += 500) {
+            List<Proposal> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(quantidade, inicio + 500); i++) {
+                lote.add(new Proposal("78858021088", new BigDecimal("2400.00"), PARCELAS, LocalDate.of(2025, 8, 12)));
+            }
+            ids.addAll(proposalService.criarPropostasEmLote(lote));
+        }
+        return ids;
+    }
+
+    private long contarPagas(List<Long> ids) {
+        return ids.stream()
+                .flatMap(id -> proposalService.buscarProposta(id).parcelas().stream())
+                .filter(p -> p.paga())
+                .count();
+    }
+
+    private record Resultado(String nome, int operacoes, long duracaoNanos, long comandos) {
+
+        double porSegundo() {
+            return operacoes / (duracaoNanos / 1_000_000_000.0);
+        }
+
+        double comandosPorOperacao() {
+            return (double) comandos / operacoes;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.datasource.RecentWriteTracker;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProposalCacheTest {
+
+    private final ProposalCache cache = new ProposalCache(new ProposalProperties(), new RecentWriteTracker(new ProposalProperties()));
+    private final AtomicInteger carregamentos = new AtomicInteger();
+
+    @Test
+    void invalidacaoNaoEsperaCarregamentoEmAndamento() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ProposalView> leitura = CompletableFuture.supplyAsync(() -> cache.obter(1L, id -> {
+            iniciado.countDown();
+            try {
+                // Simula a espera por uma conexão ocupada por quem vai invalidar a proposta
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return carregar(id);
+        }));
+        assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture.runAsync(() -> cache.invalidar(1L)).get(5, TimeUnit.SECONDS);
+        liberar.countDown();
+        assertEquals(1L, leitura.get(5, TimeUnit.SECONDS).id());
+
+        // O carregamento invalidado não fica no cache
+        cache.obter(1L, this::carregar);
+        assertEquals(2, carregamentos.get());
+        assertEquals(1, cache.estatisticas().invalidacoes());
+    }
+
+    @Test
+    void carregamentoComErroNaoFicaNoCache() {
+        assertThrows(NotFoundException.class, () -> cache.obter(2L, id -> {
+            throw new NotFoundException(ErrorCode.PROPOSTA_NAO_ENCONTRADA);
+        }));
+
+        assertEquals(2L, cache.obter(2L, this::carregar).id());
+        assertEquals(2L, cache.obter(2L, this::carregar).id());
+        assertEquals(1, carregamentos.get());
+    }
+
+    private ProposalView carregar(Long id) {
+        carregamentos.incrementAndGet();
+        return new ProposalView(id, "78858021088", new BigDecimal("300.00"), 3, LocalDate.of(2025, 8, 12), List.of());
+    }
+}
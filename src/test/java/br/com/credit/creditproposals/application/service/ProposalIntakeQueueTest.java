@@ -0,0 +1,133 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.exception.IntakeQueueFullException;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.application.service.ProposalIntakeQueue.SituacaoRecebimento;
+import br.com.credit.creditproposals.domain.repository.ProposalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProposalIntakeQueueTest {
+
+    @Mock
+    private ProposalBulkWriter writer;
+
+    @Mock
+    private SequenceIdAllocator idAllocator;
+
+    @Mock
+    private ProposalRepository propostaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ProposalProperties properties = new ProposalProperties();
+
+    // IDs gravados, na ordem das chamadas ao writer
+    private final List<Long> gravados = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(idAllocator.reservar(eq(SequenceIdAllocator.SEQUENCIA_PROPOSTA), anyInt()))
+            .thenReturn(LongStream.rangeClosed(1, 50).toArray());
+        when(writer.gravar(anyList(), any(long[].class))).thenAnswer(invocation -> {
+            long[] ids = invocation.getArgument(1);
+            for (long id : ids) {
+                gravados.add(id);
+            }
+            return List.of();
+        });
+
+        ProposalProperties.RecebimentoAssincrono config = properties.getRecebimentoAssincrono();
+        config.setHabilitado(true);
+        config.setTamanhoLote(2);
+        config.setIntervaloMaximo(Duration.ofMillis(10));
+    }
+
+    private ProposalIntakeQueue criarFila() {
+        return new ProposalIntakeQueue(writer, idAllocator, propostaRepository, transactionManager,
+            new ProposalMetrics(new SimpleMeterRegistry()), properties);
+    }
+
+    private long enfileirar(ProposalIntakeQueue fila) {
+        return fila.enfileirar("78858021088", new BigDecimal("1000.00"), 5, LocalDate.of(2025, 8, 12));
+    }
+
+    @Test
+    void enfileirar_deveReservarIdsDoMesmoBlocoSemNovaConsulta() {
+        ProposalIntakeQueue fila = criarFila();
+        fila.start();
+        try {
+            assertEquals(1, enfileirar(fila));
+            assertEquals(2, enfileirar(fila));
+            verify(idAllocator, times(1)).reservar(eq(SequenceIdAllocator.SEQUENCIA_PROPOSTA), anyInt());
+        } finally {
+            fila.stop();
+        }
+    }
+
+    @Test
+    void stop_deveGravarTodasAsPropostasAceitasEmLotes() {
+        ProposalIntakeQueue fila = criarFila();
+        fila.start();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(enfileirar(fila));
+        }
+
+        fila.stop();
+
+        assertEquals(ids, gravados);
+        ids.forEach(id -> assertEquals(SituacaoRecebimento.GRAVADA, fila.situacao(id)));
+        // Lotes de no máximo "tamanho-lote" propostas
+        verify(writer, atLeast(3)).gravar(anyList(), any(long[].class));
+        assertThrows(IntakeQueueFullException.class, () -> enfileirar(fila));
+    }
+
+    @Test
+    void enfileirar_deveRecusarQuandoFilaCheia() throws Exception {
+        properties.getRecebimentoAssincrono().setCapacidadeFila(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(writer.gravar(anyList(), any(long[].class))).thenAnswer(invocation -> {
+            liberar.await();
+            return List.of();
+        });
+        ProposalIntakeQueue fila = criarFila();
+        fila.start();
+        try {
+            long primeira = enfileirar(fila);
+            // A primeira proposta já saiu da fila e está sendo gravada; a segunda ocupa a única vaga
+            verify(writer, timeout(2000)).gravar(anyList(), any(long[].class));
+            long segunda = enfileirar(fila);
+
+            assertThrows(IntakeQueueFullException.class, () -> enfileirar(fila));
+            assertEquals(SituacaoRecebimento.PENDENTE, fila.situacao(primeira));
+            assertEquals(SituacaoRecebimento.PENDENTE, fila.situacao(segunda));
+        } finally {
+            liberar.countDown();
+            fila.stop();
+        }
+    }
+
+    @Test
+    void situacao_deveLancarExcecaoQuandoDesconhecida() {
+        ProposalIntakeQueue fila = criarFila();
+        when(propostaRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> fila.situacao(99L));
+    }
+}
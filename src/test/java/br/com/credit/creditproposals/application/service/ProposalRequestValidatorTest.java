@@ -0,0 +1,87 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.presentation.dto.ProposalRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o ProposalRequestValidator com o Hibernate Validator (anotações do DTO):
+ * as mensagens devem ser as mesmas para qualquer requisição.
+ */
+class ProposalRequestValidatorTest {
+
+    private static ValidatorFactory factory;
+    private static Validator hibernateValidator;
+
+    private final ProposalRequestValidator validador = new ProposalRequestValidator();
+
+    @BeforeAll
+    static void criarValidator() {
+        factory = Validation.buildDefaultValidatorFactory();
+        hibernateValidator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void fecharValidator() {
+        factory.close();
+    }
+
+    @Test
+    void requisicaoValidaNaoTemErros() {
+        assertTrue(validador.validar(request("78858021088", new BigDecimal("1500.00"), 12, LocalDate.of(2025, 8, 12))).isEmpty());
+        assertTrue(validador.validar(request("788.580.210-88", new BigDecimal("100.00"), 1, LocalDate.of(2025, 8, 12))).isEmpty());
+    }
+
+    @Test
+    void mesmasMensagensDoHibernateValidator() {
+        List<String> cpfs = new ArrayList<>();
+        cpfs.add(null);
+        cpfs.addAll(List.of("", "   ", "78858021088", "788.580.210-88", "788580210-88", "788.580210-88", "788580.210-88",
+                "78858021089", "788.580.210-89", "11111111111", "000.000.000-00", "788.580.210.88",
+                "78858021088 ", "7885802108", "788585021088", "788.580.210-8", "abc.def.ghi-jk",
+                "03905334402", "039.053.344-02", "12345678909", "52998224725"));
+        List<BigDecimal> valores = new ArrayList<>();
+        valores.add(null);
+        valores.addAll(List.of(new BigDecimal("99.99"), new BigDecimal("100"), new BigDecimal("100.00"), new BigDecimal("1500.00")));
+        int[] parcelas = {-1, 0, 1, 12, 24, 25};
+        List<LocalDate> datas = new ArrayList<>();
+        datas.add(null);
+        datas.add(LocalDate.of(2025, 8, 12));
+
+        for (String cpf : cpfs) {
+            for (BigDecimal valor : valores) {
+                for (int quantidade : parcelas) {
+                    for (LocalDate data : datas) {
+                        ProposalRequest request = request(cpf, valor, quantidade, data);
+                        List<String> esperadas = hibernateValidator.validate(request).stream()
+                                .map(ConstraintViolation::getMessage)
+                                .sorted()
+                                .toList();
+                        assertEquals(esperadas, validador.validar(request),
+                                "cpf=" + cpf + " valor=" + valor + " parcelas=" + quantidade + " data=" + data);
+                    }
+                }
+            }
+        }
+    }
+
+    private static ProposalRequest request(String cpf, BigDecimal valor, int parcelas, LocalDate data) {
+        ProposalRequest request = new ProposalRequest();
+        request.setCpf(cpf);
+        request.setValorSolicitado(valor);
+        request.setQuantidadeParcelas(parcelas);
+        request.setDataSolicitacao(data);
+        return request;
+    }
+}
@@ -1,11 +1,25 @@
 package br.com.credit.creditproposals.application.service;
 
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.datasource.RecentWriteTracker;
+import br.com.credit.creditproposals.application.metrics.ProposalMetrics;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.exception.BusinessRuleException;
+import br.com.credit.creditproposals.domain.exception.ErrorCode;
+import br.com.credit.creditproposals.domain.exception.NotFoundException;
+import br.com.credit.creditproposals.domain.model.ArchivedProposal;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
 import br.com.credit.creditproposals.domain.model.Proposal;
+import br.com.credit.creditproposals.domain.repository.ArchivedProposalRepository;
+import br.com.credit.creditproposals.domain.repository.InstallmentProjection;
+import br.com.credit.creditproposals.domain.repository.InstallmentRepository;
 import br.com.credit.creditproposals.domain.repository.ProposalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
@@ -21,6 +35,27 @@ class ProposalServiceTest {
     @Mock
     private ProposalRepository propostaRepository;
 
+    @Mock
+    private InstallmentRepository parcelaRepository;
+
+    @Mock
+    private ArchivedProposalRepository arquivoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ProposalProperties properties = new ProposalProperties();
+
+    @Spy
+    private ProposalCache cache = new ProposalCache(new ProposalProperties(), new RecentWriteTracker(new ProposalProperties()));
+
+    @Spy
+    private ProposalMetrics metricas = new ProposalMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private ClientSummaryService resumoClientes;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
@@ -57,6 +92,23 @@ class ProposalServiceTest {
         assertNotNull(id);
         assertEquals(1L, id);
         verify(propostaRepository, times(1)).save(any(Proposal.class));
+        verify(metricas).propostasCriadas(ProposalMetrics.ORIGEM_INDIVIDUAL, 1);
+        verify(resumoClientes).registrarPropostas(anyList());
+    }
+
+    @Test
+    void criarProposta_comArmazenamentoCompactoGuardaAsParcelasNaProposta() {
+        properties.getParcelas().setArmazenamento(ProposalProperties.Parcelas.Armazenamento.COMPACTO);
+        ArgumentCaptor<Proposal> salva = ArgumentCaptor.forClass(Proposal.class);
+
+        proposalService.criarProposta("12345678909", new BigDecimal("1000.00"), 3, LocalDate.of(2025, 8, 12));
+
+        verify(propostaRepository).save(salva.capture());
+        Proposal proposta = salva.getValue();
+        assertTrue(proposta.isParcelasCompactas());
+        assertEquals(3, proposta.getParcelas().size());
+        assertTrue(proposta.getParcelas().stream()
+            .allMatch(p -> p.getId() == null && p.getValor().equals(new BigDecimal("333.33")) && !p.isPaga()));
     }
 
     @Test
@@ -65,11 +117,37 @@ class ProposalServiceTest {
         setId(proposta, 1L);
 
         when(propostaRepository.findById(1L)).thenReturn(Optional.of(proposta));
+        when(parcelaRepository.findProjectionsByPropostaIds(List.of(1L))).thenReturn(List.of(
+                new InstallmentProjection(1L, 10L, 1, new BigDecimal("200.00"), InstallmentStatus.EM_ABERTO,
+                        LocalDate.of(2025, 9, 12)),
+                new InstallmentProjection(1L, 11L, 2, new BigDecimal("200.00"), InstallmentStatus.PAGA,
+                        LocalDate.of(2025, 10, 12))));
 
-        Proposal resultado = proposalService.buscarProposta(1L);
+        ProposalView resultado = proposalService.buscarProposta(1L);
 
         assertNotNull(resultado);
-        assertEquals(1L, resultado.getId());
+        assertEquals(1L, resultado.id());
+        assertEquals(2, resultado.parcelas().size());
+        assertTrue(resultado.parcelas().get(1).paga());
+    }
+
+    @Test
+    void buscarProposta_deveUsarCacheAteOPagamentoDeUmaParcela() {
+        Proposal proposta = new Proposal("12345678900", new BigDecimal("1000"), 5, LocalDate.now());
+        setId(proposta, 1L);
+        when(propostaRepository.findById(1L)).thenReturn(Optional.of(proposta));
+        when(parcelaRepository.pagar(1L, 1)).thenReturn(1);
+
+        proposalService.buscarProposta(1L);
+        proposalService.buscarProposta(1L);
+        verify(propostaRepository, times(1)).findById(1L);
+
+        proposalService.pagarParcela(1L, 1);
+        proposalService.buscarProposta(1L);
+        verify(propostaRepository, times(2)).findById(1L);
+
+        assertEquals(1, cache.estatisticas().acertos());
+        assertEquals(1, cache.estatisticas().invalidacoes());
     }
 
     @Test
@@ -82,6 +160,42 @@ class ProposalServiceTest {
         assertEquals("Proposta não encontrada", exception.getMessage());
     }
 
+    @Test
+    void buscarProposta_deveProcurarNoArquivoQuandoNaoEstiverNasTabelasPrincipais() {
+        ArchivedProposal arquivada = mock(ArchivedProposal.class);
+        when(arquivada.getId()).thenReturn(7L);
+        when(arquivada.getCpf()).thenReturn("12345678909");
+        when(arquivada.getValorSolicitado()).thenReturn(new BigDecimal("300.00"));
+        when(arquivada.getQuantidadeParcelas()).thenReturn(3);
+        when(arquivada.getDataSolicitacao()).thenReturn(LocalDate.of(2025, 8, 12));
+        when(arquivada.isParcelasCompactas()).thenReturn(true);
+        when(arquivada.getValorParcela()).thenReturn(new BigDecimal("100.00"));
+        when(propostaRepository.findById(7L)).thenReturn(Optional.empty());
+        when(arquivoRepository.findComParcelasById(7L)).thenReturn(Optional.of(arquivada));
+
+        ProposalView resultado = proposalService.buscarProposta(7L);
+
+        assertEquals(7L, resultado.id());
+        assertEquals(3, resultado.parcelas().size());
+        assertTrue(resultado.parcelas().stream().allMatch(p -> p.paga() && p.id() == null));
+        assertEquals(LocalDate.of(2025, 11, 12), resultado.parcelas().get(2).dataVencimento());
+    }
+
+    @Test
+    void pagarParcelaDePropostaArquivadaDevolveParcelaJaPaga() {
+        when(propostaRepository.findById(7L)).thenReturn(Optional.empty());
+        when(propostaRepository.findQuantidadeParcelasById(7L)).thenReturn(Optional.empty());
+        when(arquivoRepository.findQuantidadeParcelasById(7L)).thenReturn(Optional.of(3));
+
+        BusinessRuleException paga = assertThrows(BusinessRuleException.class,
+                () -> proposalService.pagarParcela(7L, 2));
+        NotFoundException inexistente = assertThrows(NotFoundException.class,
+                () -> proposalService.pagarParcela(7L, 4));
+
+        assertEquals(ErrorCode.PARCELA_JA_PAGA, paga.getCodigo());
+        assertEquals(ErrorCode.PARCELA_NAO_ENCONTRADA, inexistente.getCodigo());
+    }
+
     @Test
     void listarPropostas_deveRetornarPaginaDePropostas() {
         Proposal p1 = new Proposal("11122233344", new BigDecimal("1000"), 5, LocalDate.now());
@@ -95,34 +209,114 @@ class ProposalServiceTest {
 
         when(propostaRepository.findAll(pageable)).thenReturn(pagina);
 
-        Page<Proposal> resultado = proposalService.listarPropostas(pageable);
+        Page<ProposalView> resultado = proposalService.listarPropostas(pageable);
 
         assertEquals(2, resultado.getContent().size());
         verify(propostaRepository, times(1)).findAll(pageable);
+        // As parcelas da página inteira são buscadas em uma única consulta
+        verify(parcelaRepository, times(1)).findProjectionsByPropostaIds(List.of(1L, 2L));
     }
 
     @Test
-    void pagarParcela_deveChamarMetodoPagarParcelaESalvar() {
-        Proposal proposta = spy(new Proposal("12345678900", new BigDecimal("1000"), 5, LocalDate.now()));
-        setId(proposta, 1L);
+    void listarPropostasPorCpf_deveBuscarPeloCpfNormalizado() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(propostaRepository.findByCpf("03905334402", pageable)).thenReturn(Page.empty(pageable));
 
-        when(propostaRepository.findById(1L)).thenReturn(Optional.of(proposta));
-        when(propostaRepository.save(proposta)).thenReturn(proposta);
+        proposalService.listarPropostasPorCpf("039.053.344-02", pageable);
+
+        verify(propostaRepository, times(1)).findByCpf("03905334402", pageable);
+    }
+
+    @Test
+    void listarPropostasPorCpf_deveRecusarCpfInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> proposalService.listarPropostasPorCpf("12345678900", PageRequest.of(0, 10)));
+
+        verify(propostaRepository, never()).findByCpf(any(), any());
+    }
+
+    @Test
+    void listarPropostasAposCursor_deveBuscarAPartirDoUltimoId() {
+        Proposal p1 = new Proposal("11122233344", new BigDecimal("1000"), 5, LocalDate.now());
+        setId(p1, 11L);
+        Slice<Proposal> fatia = new SliceImpl<>(List.of(p1), PageRequest.of(0, 1), true);
+
+        when(propostaRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 1))).thenReturn(fatia);
+
+        Slice<ProposalView> resultado = proposalService.listarPropostasAposCursor(10L, 1);
+
+        assertEquals(1, resultado.getContent().size());
+        assertTrue(resultado.hasNext());
+    }
+
+    @Test
+    void pagarParcela_deveAtualizarSemCarregarAProposta() {
+        when(parcelaRepository.pagar(1L, 2)).thenReturn(1);
 
         proposalService.pagarParcela(1L, 2);
 
-        verify(propostaRepository, times(1)).findById(1L);
-        verify(proposta, times(1)).pagarParcela(2);
-        verify(propostaRepository, times(1)).save(proposta);
+        verify(propostaRepository, never()).findById(any());
+        verify(propostaRepository, never()).findQuantidadeParcelasById(any());
+        verify(resumoClientes).registrarPagamento(1L, 2);
+    }
+
+    @Test
+    void pagarParcela_deveUsarOMapaDeBitsQuandoAParcelaNaoEstiverEmLinha() {
+        when(parcelaRepository.pagar(1L, 3)).thenReturn(0);
+        when(propostaRepository.pagarParcelaCompacta(1L, 3, 4)).thenReturn(1);
+
+        proposalService.pagarParcela(1L, 3);
+
+        verify(propostaRepository, never()).findQuantidadeParcelasById(any());
+        verify(resumoClientes).registrarPagamento(1L, 3);
+    }
+
+    @Test
+    void pagarParcela_deveLancarExcecaoSeParcelaJaEstiverPaga() {
+        when(parcelaRepository.pagar(1L, 2)).thenReturn(0);
+        when(propostaRepository.findQuantidadeParcelasById(1L)).thenReturn(Optional.of(5));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> proposalService.pagarParcela(1L, 2));
+
+        assertEquals("Parcela já está paga", exception.getMessage());
+        verify(resumoClientes, never()).registrarPagamento(any(), anyInt());
+    }
+
+    @Test
+    void pagarParcela_deveLancarExcecaoSeParcelaNaoExistir() {
+        when(propostaRepository.findQuantidadeParcelasById(1L)).thenReturn(Optional.of(5));
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class,
+                () -> proposalService.pagarParcela(1L, 6));
+
+        assertEquals("Parcela não encontrada", exception.getMessage());
     }
 
     @Test
     void pagarParcela_deveLancarExcecaoSePropostaNaoExistir() {
-        when(propostaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(propostaRepository.findQuantidadeParcelasById(99L)).thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
-                () -> proposalService.pagarParcela(1L, 1));
+                () -> proposalService.pagarParcela(99L, 1));
 
         assertEquals("Proposta não encontrada", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void errosDeNegocioTemCodigoESemPilha() {
+        when(parcelaRepository.pagar(1L, 2)).thenReturn(0);
+        when(propostaRepository.findQuantidadeParcelasById(1L)).thenReturn(Optional.of(5));
+        when(propostaRepository.findQuantidadeParcelasById(99L)).thenReturn(Optional.empty());
+
+        BusinessRuleException jaPaga = assertThrows(BusinessRuleException.class,
+                () -> proposalService.pagarParcela(1L, 2));
+        NotFoundException inexistente = assertThrows(NotFoundException.class,
+                () -> proposalService.pagarParcela(99L, 1));
+
+        assertEquals(ErrorCode.PARCELA_JA_PAGA, jaPaga.getCodigo());
+        assertEquals(ErrorCode.PROPOSTA_NAO_ENCONTRADA, inexistente.getCodigo());
+        assertEquals(0, jaPaga.getStackTrace().length);
+        assertEquals(0, inexistente.getStackTrace().length);
+    }
+}
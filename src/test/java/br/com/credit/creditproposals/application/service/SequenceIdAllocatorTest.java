@@ -0,0 +1,31 @@
+package br.com.credit.creditproposals.application.service;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.stream.LongStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@ActiveProfiles("test")
+class SequenceIdAllocatorTest {
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    @Test
+    void reservasConsecutivasDevolvemBlocosAdjacentes() {
+        // Descarta o bloco inicial da sequência, menor que o tamanho do bloco
+        idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PARCELA, 1);
+
+        long[] primeiro = idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PARCELA, SequenceIdAllocator.TAMANHO_BLOCO);
+        long[] segundo = idAllocator.reservar(SequenceIdAllocator.SEQUENCIA_PARCELA, SequenceIdAllocator.TAMANHO_BLOCO);
+
+        long inicio = primeiro[0];
+        assertArrayEquals(LongStream.range(inicio, inicio + SequenceIdAllocator.TAMANHO_BLOCO).toArray(), primeiro);
+        assertArrayEquals(LongStream.range(inicio + SequenceIdAllocator.TAMANHO_BLOCO,
+                inicio + 2L * SequenceIdAllocator.TAMANHO_BLOCO).toArray(), segundo);
+    }
+}
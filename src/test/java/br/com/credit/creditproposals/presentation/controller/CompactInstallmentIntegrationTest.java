@@ -0,0 +1,137 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.service.InstallmentCompactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDate;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = CreditProposalsApplication.class, properties = "propostas.parcelas.armazenamento=compacto")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class CompactInstallmentIntegrationTest {
+
+    private static final String PROPOSTA = """
+        {"cpf": "94722767092", "valorSolicitado": 1000.00, "quantidadeParcelas": 4, "dataSolicitacao": "%s"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProposalProperties properties;
+
+    @Autowired
+    private InstallmentCompactionService compactacao;
+
+    @Test
+    void criarEPagarPropostaNoArmazenamentoCompacto() throws Exception {
+        String id = criarProposta();
+
+        assertEquals(0, contarParcelasEmLinha(id));
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas", hasSize(4)))
+            .andExpect(jsonPath("$.parcelas[0].id", nullValue()))
+            .andExpect(jsonPath("$.parcelas[0].numero", is(1)))
+            .andExpect(jsonPath("$.parcelas[*].valor", everyItem(is(250.0))))
+            .andExpect(jsonPath("$.parcelas[*].status", everyItem(is("EM_ABERTO"))));
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar"))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/5/pagar"))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas[1].status", is("PAGA")))
+            .andExpect(jsonPath("$.parcelas[1].paga", is(true)))
+            .andExpect(jsonPath("$.parcelas[0].status", is("EM_ABERTO")));
+    }
+
+    @Test
+    void parcelasReconstruidasNaoPagasComVencimentoAnteriorAHojeFicamVencidas() throws Exception {
+        // Parcelas 1 e 2 vencidas (a 2ª há cerca de 10 dias); 3 e 4 a vencer
+        String id = criarProposta(LocalDate.now().minusMonths(2).minusDays(10));
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas[*].status", contains("PAGA", "VENCIDA", "EM_ABERTO", "EM_ABERTO")));
+        mockMvc.perform(get("/propostas/" + id).accept("application/vnd.propostas.compacto+json"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelasPagas", is(1)))
+            .andExpect(jsonPath("$.parcelasVencidas", is(2)));
+
+        // Uma parcela vencida continua podendo ser paga
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(jsonPath("$.parcelas[*].status", contains("PAGA", "PAGA", "EM_ABERTO", "EM_ABERTO")));
+    }
+
+    @Test
+    void compactarPropostasGravadasEmLinhas() throws Exception {
+        String id;
+        properties.getParcelas().setArmazenamento(ProposalProperties.Parcelas.Armazenamento.LINHAS);
+        try {
+            id = criarProposta();
+            mockMvc.perform(post("/propostas/" + id + "/parcelas/3/pagar"))
+                .andExpect(status().isOk());
+        } finally {
+            properties.getParcelas().setArmazenamento(ProposalProperties.Parcelas.Armazenamento.COMPACTO);
+        }
+        assertEquals(4, contarParcelasEmLinha(id));
+
+        while (compactacao.compactarLote() > 0) {
+            // converte todas as propostas ainda em linhas
+        }
+
+        assertEquals(0, contarParcelasEmLinha(id));
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas", hasSize(4)))
+            .andExpect(jsonPath("$.parcelas[*].valor", everyItem(is(250.0))))
+            .andExpect(jsonPath("$.parcelas[2].status", is("PAGA")))
+            .andExpect(jsonPath("$.parcelas[3].status", is("EM_ABERTO")));
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/3/pagar"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/4/pagar"))
+            .andExpect(status().isOk());
+    }
+
+    // Solicitada hoje: nenhuma parcela vencida
+    private String criarProposta() throws Exception {
+        return criarProposta(LocalDate.now());
+    }
+
+    private String criarProposta(LocalDate dataSolicitacao) throws Exception {
+        return mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON)
+                .content(PROPOSTA.formatted(dataSolicitacao)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private int contarParcelasEmLinha(String propostaId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM parcela WHERE proposta_id = ?",
+            Integer.class, Long.valueOf(propostaId));
+    }
+}
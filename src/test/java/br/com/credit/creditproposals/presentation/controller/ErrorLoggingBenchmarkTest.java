@@ -0,0 +1,112 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latência das requisições sob uma carga com maioria de erros do cliente (parâmetro com tipo inválido,
+ * endpoint inexistente e JSON malformado, todos registrados em WARN/INFO) e uma parte de buscas válidas:
+ *
+ * - sincrono: configuração anterior, cada requisição escreve o log no console (src/test/resources/logback-sincrono.xml)
+ * - assincrono: logback-spring.xml em JSON, com o appender assíncrono, registrando todos os erros
+ * - amostragem: assíncrono, registrando a 1ª ocorrência de cada código e depois 1 a cada "log.amostragem"
+ *
+ * Cada configuração sobe uma instância própria da aplicação (perfil de teste, H2).
+ * Os logs saem no console do teste; para medir com a saída em arquivo, redirecione o stdout do Maven.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ErrorLoggingBenchmarkTest
+ * Parâmetros (-D): carga.taxa=2000 (req/s), carga.duracao=20 (segundos), log.amostragem=100
+ */
+@Tag("benchmark")
+class ErrorLoggingBenchmarkTest {
+
+    private static final int TAXA = Integer.getInteger("carga.taxa", 2000);
+    private static final int DURACAO = Integer.getInteger("carga.duracao", 20);
+    private static final int AMOSTRAGEM = Integer.getInteger("log.amostragem", 100);
+    private static final String PROPOSTA_JSON = """
+            {"cpf":"78858021088","valorSolicitado":2400.00,"quantidadeParcelas":24,"dataSolicitacao":"2025-08-12"}""";
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void compararLogSincronoAssincronoEAmostragem() throws Exception {
+        Map<String, LoadGenerator.Resultado> resultados = new LinkedHashMap<>();
+        resultados.put("sincrono", medir("sincrono", "logging.config=classpath:logback-sincrono.xml",
+                "propostas.log.amostragem-erros-cliente=1"));
+        resultados.put("assincrono", medir("assincrono", "propostas.log.amostragem-erros-cliente=1"));
+        resultados.put("amostragem", medir("amostragem", "propostas.log.amostragem-erros-cliente=" + AMOSTRAGEM));
+
+        System.out.println();
+        System.out.printf("taxa=%d req/s duracao=%ds amostragem=%d%n", TAXA, DURACAO, AMOSTRAGEM);
+        System.out.printf("%-12s %-8s %12s %10s %10s %10s %10s%n",
+                "log", "operacao", "requisicoes", "req/s", "p50 (ms)", "p99 (ms)", "p999 (ms)");
+        resultados.forEach((modo, resultado) -> {
+            imprimir(modo, "todas", LoadGenerator.Medicoes.combinar(resultado.operacoes().values()));
+            imprimir(modo, "buscar", resultado.operacoes().get("buscar"));
+        });
+        System.out.println();
+    }
+
+    private LoadGenerator.Resultado medir(String nome, String... propriedades) throws Exception {
+        List<String> configuracao = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:log" + nome + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000"));
+        configuracao.addAll(List.of(propriedades));
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CreditProposalsApplication.class)
+                // log-json: mesmo formato de produção no logback-spring.xml
+                .profiles("test", "log-json")
+                // Argumentos de linha de comando: properties() só define valores padrão, e o application.properties
+                // já define propostas.log.amostragem-erros-cliente
+                .run(configuracao.stream().map(propriedade -> "--" + propriedade).toArray(String[]::new))) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            HttpResponse<String> criada = cliente.send(post(porta, "/propostas", PROPOSTA_JSON),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, criada.statusCode(), criada.body());
+            String id = criada.body();
+
+            List<LoadGenerator.Operacao> operacoes = List.of(
+                    new LoadGenerator.Operacao("buscar", 1, () -> get(porta, "/propostas/" + id)),
+                    new LoadGenerator.Operacao("parametro-invalido", 2, () -> get(porta, "/propostas/abc")),
+                    new LoadGenerator.Operacao("endpoint-inexistente", 1, () -> get(porta, "/inexistente")),
+                    new LoadGenerator.Operacao("json-malformado", 1, () -> post(porta, "/propostas", "{\"cpf\": ")));
+
+            LoadGenerator gerador = new LoadGenerator(cliente, operacoes, TAXA * 10);
+            gerador.executar(TAXA, Duration.ofSeconds(5));
+            return gerador.executar(TAXA, Duration.ofSeconds(DURACAO));
+        }
+    }
+
+    private static void imprimir(String modo, String operacao, LoadGenerator.Medicoes m) {
+        System.out.printf("%-12s %-8s %12d %10.1f %10.2f %10.2f %10.2f%n", modo, operacao, m.requisicoes(), m.vazao(),
+                m.percentilMillis(50), m.percentilMillis(99), m.percentilMillis(99.9));
+    }
+
+    private static HttpRequest get(int porta, String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(int porta, String caminho, String corpo) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+}
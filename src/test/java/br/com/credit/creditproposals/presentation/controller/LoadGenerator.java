@@ -0,0 +1,194 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições são disparadas em uma taxa de chegada fixa,
+ * independentemente de as anteriores já terem respondido.
+ *
+ * A latência é medida a partir do instante planejado de cada requisição (e não do envio efetivo),
+ * para que atrasos do próprio gerador ou do servidor não fiquem escondidos (omissão coordenada).
+ */
+final class LoadGenerator {
+
+    private final HttpClient cliente;
+    private final List<Operacao> operacoes;
+    private final int pesoTotal;
+    private final int maxEmAndamento;
+
+    /**
+     * @param cliente = Cliente HTTP usado em todas as requisições
+     * @param operacoes = Operações e seus pesos no mix de carga
+     * @param maxEmAndamento = Limite de requisições sem resposta; acima dele novas requisições contam como erro
+     */
+    LoadGenerator(HttpClient cliente, List<Operacao> operacoes, int maxEmAndamento) {
+        this.cliente = cliente;
+        this.operacoes = List.copyOf(operacoes);
+        this.pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        this.maxEmAndamento = maxEmAndamento;
+        if (pesoTotal <= 0) {
+            throw new IllegalArgumentException("O mix de carga deve ter ao menos uma operação com peso positivo");
+        }
+    }
+
+    /**
+     * Dispara requisições na taxa informada durante o tempo informado e aguarda as respostas pendentes.
+     *
+     * @param taxa = Requisições por segundo
+     * @param duracao = Tempo de disparo
+     * @return Medições por operação, na ordem do mix, e a quantidade de requisições que ficaram sem resposta
+     */
+    Resultado executar(int taxa, Duration duracao) throws InterruptedException {
+        Map<String, Medicoes> medicoes = new LinkedHashMap<>();
+        for (Operacao operacao : operacoes) {
+            medicoes.put(operacao.nome(), new Medicoes());
+        }
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long total = duracao.toNanos() / intervalo;
+        AtomicInteger emAndamento = new AtomicInteger();
+        long inicio = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long planejado = inicio + i * intervalo;
+            long espera = planejado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Operacao operacao = sortear();
+            Medicoes medicao = medicoes.get(operacao.nome());
+            if (emAndamento.get() >= maxEmAndamento) {
+                medicao.registrar(System.nanoTime() - planejado, false);
+                continue;
+            }
+
+            emAndamento.incrementAndGet();
+            cliente.sendAsync(operacao.requisicao().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        boolean sucesso = erro == null && resposta.statusCode() < 400;
+                        medicao.registrar(System.nanoTime() - planejado, sucesso);
+                        emAndamento.decrementAndGet();
+                    });
+        }
+        long fimDisparo = System.nanoTime();
+
+        // Aguarda as respostas pendentes; as que não chegarem ficam fora das medições
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (emAndamento.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        for (Medicoes medicao : medicoes.values()) {
+            medicao.finalizar(fimDisparo - inicio);
+        }
+        return new Resultado(medicoes, emAndamento.get());
+    }
+
+    private Operacao sortear() {
+        int valor = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            valor -= operacao.peso();
+            if (valor < 0) {
+                return operacao;
+            }
+        }
+        return operacoes.get(operacoes.size() - 1);
+    }
+
+    record Resultado(Map<String, Medicoes> operacoes, int semResposta) {
+    }
+
+    /**
+     * Operação do mix de carga
+     *
+     * @param nome = Nome usado no relatório
+     * @param peso = Peso relativo no mix
+     * @param requisicao = Monta a próxima requisição da operação
+     */
+    record Operacao(String nome, int peso, Supplier<HttpRequest> requisicao) {
+    }
+
+    /**
+     * Latências e erros de uma operação
+     */
+    static final class Medicoes {
+
+        private final List<Long> latencias = new ArrayList<>();
+        private long erros;
+        private long duracaoNanos;
+        private long[] ordenadas;
+
+        synchronized void registrar(long latenciaNanos, boolean sucesso) {
+            latencias.add(latenciaNanos);
+            if (!sucesso) {
+                erros++;
+            }
+        }
+
+        synchronized void finalizar(long duracaoNanos) {
+            this.duracaoNanos = duracaoNanos;
+            this.ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(ordenadas);
+        }
+
+        synchronized long requisicoes() {
+            return ordenadas.length;
+        }
+
+        synchronized long erros() {
+            return erros;
+        }
+
+        synchronized double vazao() {
+            return ordenadas.length / (duracaoNanos / 1_000_000_000.0);
+        }
+
+        synchronized double taxaErro() {
+            return ordenadas.length == 0 ? 0 : (double) erros / ordenadas.length;
+        }
+
+        /**
+         * @param percentil = Percentil entre 0 e 100
+         * @return Latência do percentil, em milissegundos
+         */
+        synchronized double percentilMillis(double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))] / 1_000_000.0;
+        }
+
+        /**
+         * Junta as medições de várias operações
+         */
+        static Medicoes combinar(Iterable<Medicoes> partes) {
+            Medicoes total = new Medicoes();
+            long duracao = 0;
+            for (Medicoes parte : partes) {
+                synchronized (parte) {
+                    for (long latencia : parte.ordenadas) {
+                        total.latencias.add(latencia);
+                    }
+                    total.erros += parte.erros;
+                    duracao = Math.max(duracao, parte.duracaoNanos);
+                }
+            }
+            total.finalizar(duracao);
+            return total;
+        }
+    }
+}
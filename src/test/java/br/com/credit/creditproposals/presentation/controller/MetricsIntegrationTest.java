@@ -0,0 +1,58 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusExpoeMetricasDeEndpointsPoolHibernateENegocio() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "78858021088",
+              "valorSolicitado": 1500.00,
+              "quantidadeParcelas": 12,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+        var result = mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String id = result.getResponse().getContentAsString();
+
+        mockMvc.perform(get("/propostas/" + id)).andExpect(status().isOk());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/propostas/{id}\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_requisicao_comandos_count")))
+                .andExpect(content().string(containsString("hibernate_requisicao_entidades_carregadas_count")))
+                .andExpect(content().string(containsString("propostas_criadas_total")))
+                .andExpect(content().string(containsString("origem=\"individual\"")))
+                .andExpect(content().string(containsString("parcelas_pagas_total")))
+                .andExpect(content().string(containsString("caminho=\"direto\"")));
+    }
+}
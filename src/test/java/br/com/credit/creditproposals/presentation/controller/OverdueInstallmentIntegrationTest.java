@@ -0,0 +1,98 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.service.OverdueInstallmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OverdueInstallmentIntegrationTest {
+
+    private static final String PROPOSTA = """
+        {"cpf": "94722767092", "valorSolicitado": 1200.00, "quantidadeParcelas": 4, "dataSolicitacao": "2025-08-12"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProposalProperties properties;
+
+    @Autowired
+    private OverdueInstallmentService vencimento;
+
+    @Test
+    void gerarVencimentosMensaisAPartirDaSolicitacao() throws Exception {
+        String id = criarProposta();
+
+        List<LocalDate> vencimentos = jdbcTemplate.queryForList(
+                "SELECT data_vencimento FROM parcela WHERE proposta_id = ? ORDER BY numero", Date.class, Long.valueOf(id))
+            .stream().map(Date::toLocalDate).toList();
+
+        assertEquals(List.of(LocalDate.of(2025, 9, 12), LocalDate.of(2025, 10, 12),
+                LocalDate.of(2025, 11, 12), LocalDate.of(2025, 12, 12)), vencimentos);
+    }
+
+    @Test
+    void marcarParcelasEmAbertoVencidasEmLotes() throws Exception {
+        String id = criarProposta();
+        mockMvc.perform(get("/propostas/" + id)).andExpect(status().isOk());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar")).andExpect(status().isOk());
+
+        int tamanhoLote = properties.getVencimento().getTamanhoLote();
+        properties.getVencimento().setTamanhoLote(1);
+        try {
+            // Parcelas com vencimento em 12/09, 12/10, 12/11 e 12/12; a 1ª já está paga
+            assertTrue(vencimento.marcarVencidas(LocalDate.of(2025, 11, 13)) >= 2);
+        } finally {
+            properties.getVencimento().setTamanhoLote(tamanhoLote);
+        }
+
+        // A consulta em cache é invalidada pela marcação
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas[*].status", contains("PAGA", "VENCIDA", "VENCIDA", "EM_ABERTO")))
+            .andExpect(jsonPath("$.parcelas[*].paga", contains(true, false, false, false)))
+            .andExpect(jsonPath("$.parcelas[*].dataVencimento",
+                contains("2025-09-12", "2025-10-12", "2025-11-12", "2025-12-12")));
+
+        // Uma parcela vencida continua podendo ser paga, individualmente ou em lote
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar")).andExpect(status().isOk());
+        mockMvc.perform(post("/propostas/pagamentos").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"propostaId\": " + id + ", \"numeroParcela\": 3}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens[0].situacao", is("PAGA")));
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.codigo", is("PARCELA_JA_PAGA")));
+
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(jsonPath("$.parcelas[*].status", contains("PAGA", "PAGA", "PAGA", "EM_ABERTO")));
+    }
+
+    private String criarProposta() throws Exception {
+        return mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(PROPOSTA))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.application.config.ProposalProperties;
+import br.com.credit.creditproposals.application.service.ProposalArchivalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = CreditProposalsApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ProposalArchivalIntegrationTest {
+
+    private static final String PROPOSTA = """
+        {"cpf": "94722767092", "valorSolicitado": 900.00, "quantidadeParcelas": 3, "dataSolicitacao": "2025-08-12"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProposalProperties properties;
+
+    @Autowired
+    private ProposalArchivalService arquivamento;
+
+    @Test
+    void arquivarPropostasQuitadasMantendoAConsultaPorId() throws Exception {
+        String quitada = criarProposta();
+        String emAberto = criarProposta();
+        for (int numero = 1; numero <= 3; numero++) {
+            mockMvc.perform(post("/propostas/" + quitada + "/parcelas/" + numero + "/pagar")).andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/propostas/" + emAberto + "/parcelas/1/pagar")).andExpect(status().isOk());
+        int idParcela = contar("SELECT MIN(id) FROM parcela WHERE proposta_id = ?", quitada);
+
+        arquivarTodas();
+
+        assertEquals(0, contar("SELECT COUNT(*) FROM proposta WHERE id = ?", quitada));
+        assertEquals(0, contar("SELECT COUNT(*) FROM parcela WHERE proposta_id = ?", quitada));
+        assertEquals(3, contar("SELECT COUNT(*) FROM parcela_arquivo WHERE proposta_id = ?", quitada));
+        assertEquals(1, contar("SELECT COUNT(*) FROM proposta WHERE id = ?", emAberto));
+
+        mockMvc.perform(get("/propostas/" + quitada))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cpf", is("94722767092")))
+            .andExpect(jsonPath("$.parcelas", hasSize(3)))
+            .andExpect(jsonPath("$.parcelas[0].id", is(idParcela)))
+            .andExpect(jsonPath("$.parcelas[*].dataVencimento", contains("2025-09-12", "2025-10-12", "2025-11-12")))
+            .andExpect(jsonPath("$.parcelas[*].status", everyItem(is("PAGA"))));
+
+        mockMvc.perform(post("/propostas/" + quitada + "/parcelas/2/pagar"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.codigo", is("PARCELA_JA_PAGA")));
+        mockMvc.perform(post("/propostas/" + quitada + "/parcelas/4/pagar"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void arquivarPropostaQuitadaNoArmazenamentoCompacto() throws Exception {
+        String quitada;
+        properties.getParcelas().setArmazenamento(ProposalProperties.Parcelas.Armazenamento.COMPACTO);
+        try {
+            quitada = criarProposta();
+            for (int numero = 1; numero <= 3; numero++) {
+                mockMvc.perform(post("/propostas/" + quitada + "/parcelas/" + numero + "/pagar")).andExpect(status().isOk());
+            }
+        } finally {
+            properties.getParcelas().setArmazenamento(ProposalProperties.Parcelas.Armazenamento.LINHAS);
+        }
+
+        arquivarTodas();
+
+        assertEquals(1, contar("SELECT COUNT(*) FROM proposta_arquivo WHERE id = ?", quitada));
+        mockMvc.perform(get("/propostas/" + quitada))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas", hasSize(3)))
+            .andExpect(jsonPath("$.parcelas[*].valor", everyItem(is(300.0))))
+            .andExpect(jsonPath("$.parcelas[*].paga", everyItem(is(true))))
+            .andExpect(jsonPath("$.parcelas[*].dataVencimento", contains("2025-09-12", "2025-10-12", "2025-11-12")));
+        mockMvc.perform(post("/propostas/pagamentos").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"propostaId\": " + quitada + ", \"numeroParcela\": 1}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens[0].situacao", is("JA_PAGA")));
+    }
+
+    private void arquivarTodas() {
+        while (arquivamento.arquivarLote().verificadas() > 0) {
+            // percorre a tabela inteira
+        }
+    }
+
+    private String criarProposta() throws Exception {
+        return mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(PROPOSTA))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private int contar(String sql, String id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, Long.valueOf(id));
+    }
+}
@@ -6,8 +6,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -21,6 +26,9 @@ public class ProposalControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void criarPropostaSucesso() throws Exception {
         String propostaJson = """
@@ -90,7 +98,9 @@ public class ProposalControllerIntegrationTest {
     @Test
     void buscarPropostaNotFound() throws Exception {
         mockMvc.perform(get("/propostas/999999"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.codigo", is("PROPOSTA_NAO_ENCONTRADA")))
+                .andExpect(jsonPath("$.mensagem").exists());
     }
 
     @Test
@@ -133,4 +143,449 @@ public class ProposalControllerIntegrationTest {
         mockMvc.perform(post("/propostas/99999/parcelas/1/pagamento"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void criarPropostasEmLoteComItemInvalido() throws Exception {
+        String loteJson = """
+            [
+              {
+                "cpf": "78858021088",
+                "valorSolicitado": 1500.00,
+                "quantidadeParcelas": 12,
+                "dataSolicitacao": "2025-08-12"
+              },
+              {
+                "cpf": "123",
+                "valorSolicitado": 1500.00,
+                "quantidadeParcelas": 12,
+                "dataSolicitacao": "2025-08-12"
+              },
+              {
+                "cpf": "57958645015",
+                "valorSolicitado": 900.00,
+                "quantidadeParcelas": 24,
+                "dataSolicitacao": "2025-08-12"
+              }
+            ]
+            """;
+
+        mockMvc.perform(post("/propostas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loteJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidas", is(3)))
+                .andExpect(jsonPath("$.criadas", is(2)))
+                .andExpect(jsonPath("$.rejeitadas", is(1)))
+                .andExpect(jsonPath("$.itens[0].id", notNullValue()))
+                .andExpect(jsonPath("$.itens[1].id", nullValue()))
+                .andExpect(jsonPath("$.itens[1].erros", hasItem("CPF inválido")))
+                .andExpect(jsonPath("$.itens[2].id", notNullValue()));
+    }
+
+    @Test
+    void criarPropostasEmLoteVazioBadRequest() throws Exception {
+        mockMvc.perform(post("/propostas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listarPropostasPorCursorPercorreTodasAsPaginas() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "78858021088",
+              "valorSolicitado": 1000.00,
+              "quantidadeParcelas": 2,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/propostas")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(propostaJson))
+                    .andExpect(status().isCreated());
+        }
+
+        var primeira = mockMvc.perform(get("/propostas/cursor?size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+
+        String cursor = com.jayway.jsonpath.JsonPath.read(primeira.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/propostas/cursor?size=2&after=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+    }
+
+    @Test
+    void listarPropostasPorCursorComTamanhoDePaginaAcimaDoMaximoBadRequest() throws Exception {
+        mockMvc.perform(get("/propostas/cursor?size=100"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/propostas/cursor?size=101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo", is("REQUISICAO_INVALIDA")));
+        mockMvc.perform(get("/propostas/cursor?size=0"))
+                .andExpect(status().isBadRequest());
+
+        // A listagem paginada existente mantém o comportamento anterior, sem limite
+        mockMvc.perform(get("/propostas?page=0&size=101"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listarPropostasPorCursorInvalidoBadRequest() throws Exception {
+        mockMvc.perform(get("/propostas/cursor?after=invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void criarPropostaComIdempotencyKeyRepetidaDevolveMesmoId() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "94722767092",
+              "valorSolicitado": 1800.00,
+              "quantidadeParcelas": 6,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+
+        var primeira = mockMvc.perform(post("/propostas")
+                .header("Idempotency-Key", "criar-teste-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        mockMvc.perform(post("/propostas")
+                .header("Idempotency-Key", "criar-teste-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", primeira.getResponse().getHeader("Location")))
+                .andExpect(content().string(primeira.getResponse().getContentAsString()));
+    }
+
+    @Test
+    void idempotencyKeyExpiradaAindaNaoRemovidaExecutaNovamente() throws Exception {
+        // Resposta registrada há mais que o ttl (24h), que a limpeza periódica ainda não removeu
+        jdbcTemplate.update("""
+            INSERT INTO idempotencia (chave, impressao, status_http, location, corpo, criado_em)
+            VALUES (?, ?, 201, '/propostas/999999', '999999', ?)
+            """, "criar-proposta:expirada-1", "0".repeat(64), Timestamp.from(Instant.now().minus(Duration.ofDays(2))));
+        String propostaJson = """
+            {
+              "cpf": "94722767092",
+              "valorSolicitado": 1200.00,
+              "quantidadeParcelas": 4,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+
+        var criada = mockMvc.perform(post("/propostas")
+                .header("Idempotency-Key", "expirada-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        String location = criada.getResponse().getHeader("Location");
+
+        // A resposta expirada foi substituída pela nova
+        mockMvc.perform(post("/propostas")
+                .header("Idempotency-Key", "expirada-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", location));
+    }
+
+    @Test
+    void pagamentoComIdempotencyKeyRepetidaNaoFalha() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "94722767092",
+              "valorSolicitado": 1000.00,
+              "quantidadeParcelas": 5,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+
+        var result = mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String id = result.getResponse().getContentAsString().replaceAll("[^0-9]", "");
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar")
+                .header("Idempotency-Key", "pagar-teste-" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar")
+                .header("Idempotency-Key", "pagar-teste-" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        // Sem a chave, o segundo pagamento continua sendo recusado
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/2/pagar"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo", is("PARCELA_JA_PAGA")));
+    }
+
+    @Test
+    void exportarPropostasEmNdjsonECsv() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "57958645015",
+              "valorSolicitado": 300.00,
+              "quantidadeParcelas": 3,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+        mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isCreated());
+
+        var ndjson = mockMvc.perform(get("/propostas/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"valor\":100.00")))
+                .andExpect(content().string(containsString("\"dataVencimento\":\"2025-09-12\"")));
+
+        var csv = mockMvc.perform(get("/propostas/export?formato=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("proposta_id,cpf,")))
+                .andExpect(content().string(containsString(",57958645015,300.00,3,2025-08-12,")))
+                .andExpect(content().string(containsString(",1,100.00,EM_ABERTO,2025-09-12\n")));
+    }
+
+    @Test
+    void exportarPropostasFormatoInvalidoBadRequest() throws Exception {
+        mockMvc.perform(get("/propostas/export?formato=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importarPropostasEmCsvComLinhaInvalida() throws Exception {
+        String csv = """
+            cpf,valorSolicitado,quantidadeParcelas,dataSolicitacao
+            78858021088,1234.56,4,2025-08-12
+            123,1500.00,12,2025-08-12
+
+            57958645015,abc,30,2025-08-12
+            57958645015,900.00,3,2025-08-13
+            """;
+
+        mockMvc.perform(post("/propostas/importacao")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(4))
+                .andExpect(jsonPath("$.importadas").value(2))
+                .andExpect(jsonPath("$.rejeitadas").value(2))
+                .andExpect(jsonPath("$.rejeicoes[0].linha").value(3))
+                .andExpect(jsonPath("$.rejeicoes[0].erros[0]").value("CPF inválido"))
+                .andExpect(jsonPath("$.rejeicoes[1].linha").value(5))
+                .andExpect(jsonPath("$.rejeicoes[1].erros[0]").value(startsWith("Valor solicitado inválido")));
+
+        // As parcelas são geradas como em Proposal.gerarParcelas: 1234.56 / 4 = 308.64
+        var exportacao = mockMvc.perform(get("/propostas/export?formato=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(exportacao))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(",78858021088,1234.56,4,2025-08-12,")))
+                .andExpect(content().string(containsString(",4,308.64,EM_ABERTO")));
+    }
+
+    @Test
+    void importarPropostasSemCabecalhoBadRequest() throws Exception {
+        mockMvc.perform(post("/propostas/importacao")
+                .contentType("text/csv")
+                .content("78858021088,1500.00,12,2025-08-12\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void resumoDoClienteAcompanhaCriacaoEPagamento() throws Exception {
+        String primeira = """
+            {"cpf": "11144477735", "valorSolicitado": 1000.00, "quantidadeParcelas": 4, "dataSolicitacao": "2025-08-12"}
+            """;
+        String segunda = """
+            {"cpf": "11144477735", "valorSolicitado": 600.00, "quantidadeParcelas": 3, "dataSolicitacao": "2025-08-13"}
+            """;
+
+        String id = mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(primeira))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(segunda))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/clientes/11144477735/resumo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cpf", is("11144477735")))
+            .andExpect(jsonPath("$.quantidadePropostas", is(2)))
+            .andExpect(jsonPath("$.totalSolicitado", is(1600.0)))
+            .andExpect(jsonPath("$.totalEmAberto", is(1350.0)))
+            .andExpect(jsonPath("$.parcelasEmAberto", is(6)));
+    }
+
+    @Test
+    void resumoDeClienteSemPropostasNotFound() throws Exception {
+        mockMvc.perform(get("/clientes/52998224725/resumo"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listarPropostasPorCpfComESemPontuacao() throws Exception {
+        for (String cpf : List.of("039.053.344-02", "03905334402")) {
+            mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"cpf": "%s", "valorSolicitado": 500.00, "quantidadeParcelas": 2, "dataSolicitacao": "2025-08-12"}
+                    """.formatted(cpf)))
+                .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/propostas").param("cpf", "039.053.344-02"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements", is(2)))
+            .andExpect(jsonPath("$.content[*].cpf", everyItem(is("03905334402"))))
+            .andExpect(jsonPath("$.content[0].parcelas", hasSize(2)));
+
+        mockMvc.perform(get("/clientes/03905334402/resumo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidadePropostas", is(2)));
+    }
+
+    @Test
+    void listarPropostasPorCpfInvalidoBadRequest() throws Exception {
+        mockMvc.perform(get("/propostas").param("cpf", "12345678900"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pagarParcelasEmLoteInformaOResultadoDeCadaItem() throws Exception {
+        String proposta = """
+            {"cpf": "94722767092", "valorSolicitado": 900.00, "quantidadeParcelas": 3, "dataSolicitacao": "2025-08-12"}
+            """;
+        String id1 = mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(proposta))
+            .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        String id2 = mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content(proposta))
+            .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/propostas/" + id2 + "/parcelas/3/pagar"))
+            .andExpect(status().isOk());
+
+        String lote = """
+            [
+              {"propostaId": %1$s, "numeroParcela": 2},
+              {"propostaId": %2$s, "numeroParcela": 1},
+              {"propostaId": %1$s, "numeroParcela": 2},
+              {"propostaId": %2$s, "numeroParcela": 3},
+              {"propostaId": %1$s, "numeroParcela": 4},
+              {"propostaId": 99999999, "numeroParcela": 1}
+            ]
+            """.formatted(id1, id2);
+
+        mockMvc.perform(post("/propostas/pagamentos").contentType(MediaType.APPLICATION_JSON).content(lote))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.recebidas", is(6)))
+            .andExpect(jsonPath("$.pagas", is(2)))
+            .andExpect(jsonPath("$.jaPagas", is(2)))
+            .andExpect(jsonPath("$.naoEncontradas", is(2)))
+            .andExpect(jsonPath("$.itens[0].situacao", is("PAGA")))
+            .andExpect(jsonPath("$.itens[1].situacao", is("PAGA")))
+            .andExpect(jsonPath("$.itens[2].situacao", is("JA_PAGA")))
+            .andExpect(jsonPath("$.itens[3].situacao", is("JA_PAGA")))
+            .andExpect(jsonPath("$.itens[4].situacao", is("NAO_ENCONTRADA")))
+            .andExpect(jsonPath("$.itens[5].situacao", is("NAO_ENCONTRADA")))
+            .andExpect(jsonPath("$.itens[5].indice", is(5)));
+
+        mockMvc.perform(get("/propostas/" + id1))
+            .andExpect(jsonPath("$.parcelas[1].status", is("PAGA")))
+            .andExpect(jsonPath("$.parcelas[0].status", is("EM_ABERTO")));
+    }
+
+    @Test
+    void pagarParcelasEmLoteVazioBadRequest() throws Exception {
+        mockMvc.perform(post("/propostas/pagamentos").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void buscarPropostaNoFormatoCompacto() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "78858021088",
+              "valorSolicitado": 1500.00,
+              "quantidadeParcelas": 12,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+
+        String id = mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar")).andExpect(status().isOk());
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/3/pagar")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/propostas/" + id).accept("application/vnd.propostas.compacto+json"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/vnd.propostas.compacto+json"))
+            .andExpect(header().string("Vary", containsString("Accept")))
+            .andExpect(jsonPath("$.id", is(Integer.parseInt(id))))
+            .andExpect(jsonPath("$.valorParcela", is(125.0)))
+            .andExpect(jsonPath("$.parcelasPagas", is(5)))
+            .andExpect(jsonPath("$.parcelas").doesNotExist());
+
+        mockMvc.perform(get("/propostas/" + id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.parcelas", hasSize(12)))
+            .andExpect(jsonPath("$.parcelas[2].paga", is(true)));
+
+        mockMvc.perform(get("/propostas/cursor").param("size", "100").accept("application/vnd.propostas.compacto+json"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].valorParcela").exists())
+            .andExpect(jsonPath("$.content[0].parcelas").doesNotExist());
+    }
+
+    @Test
+    void corpoMalformadoBadRequest() throws Exception {
+        mockMvc.perform(post("/propostas").contentType(MediaType.APPLICATION_JSON).content("{\"cpf\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo", is("CORPO_INVALIDO")));
+    }
+
+    @Test
+    void correlationIdRecebidoOuGeradoNaResposta() throws Exception {
+        mockMvc.perform(get("/propostas/999999").header("X-Correlation-Id", "pedido-123"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Correlation-Id", "pedido-123"));
+
+        mockMvc.perform(get("/propostas/999999").header("X-Correlation-Id", "quebra\nde linha"))
+                .andExpect(header().string("X-Correlation-Id", matchesPattern("[0-9a-f-]{36}")));
+
+        mockMvc.perform(get("/propostas/999999"))
+                .andExpect(header().string("X-Correlation-Id", matchesPattern("[0-9a-f-]{36}")));
+    }
+}
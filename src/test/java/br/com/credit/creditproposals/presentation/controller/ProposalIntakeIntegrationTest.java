@@ -0,0 +1,66 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = CreditProposalsApplication.class, properties = "propostas.recebimento-assincrono.habilitado=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ProposalIntakeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void criarPropostaAssincronaAceitaEGravaEmSegundoPlano() throws Exception {
+        String propostaJson = """
+            {
+              "cpf": "78858021088",
+              "valorSolicitado": 1500.00,
+              "quantidadeParcelas": 12,
+              "dataSolicitacao": "2025-08-12"
+            }
+            """;
+
+        var result = mockMvc.perform(post("/propostas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(propostaJson))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/propostas/recebimentos/")))
+                .andExpect(jsonPath("$.situacao", anyOf(is("PENDENTE"), is("GRAVADA"))))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+
+        String situacao = "PENDENTE";
+        for (int tentativa = 0; tentativa < 100 && situacao.equals("PENDENTE"); tentativa++) {
+            Thread.sleep(50);
+            String resposta = mockMvc.perform(get("/propostas/recebimentos/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            situacao = JsonPath.read(resposta, "$.situacao");
+        }
+        assertEquals("GRAVADA", situacao);
+
+        mockMvc.perform(get("/propostas/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parcelas", hasSize(12)))
+                .andExpect(jsonPath("$.parcelas[0].valor").value(125.00));
+    }
+
+    @Test
+    void consultarRecebimentoInexistenteNotFound() throws Exception {
+        mockMvc.perform(get("/propostas/recebimentos/999999"))
+                .andExpect(status().isNotFound());
+    }
+}
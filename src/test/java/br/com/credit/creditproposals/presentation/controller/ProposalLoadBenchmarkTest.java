@@ -0,0 +1,195 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação em uma porta HTTP real (perfil de teste, H2)
+ * e dispara um mix de criações, buscas, listagens e pagamentos em taxa de chegada fixa.
+ *
+ * O relatório (vazão, latências p50/p99/p999 e taxa de erros por operação) é impresso e gravado em JSON
+ * em target/carga, para comparação entre commits.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ProposalLoadBenchmarkTest
+ * Parâmetros (-D): carga.taxa=200 (req/s), carga.duracao=30 e carga.aquecimento=10 (segundos),
+ * carga.mix=criar=20,buscar=50,listar=20,pagar=10, carga.rotulo (identificação da execução no relatório),
+ * carga.max-taxa-erro=0.01
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = CreditProposalsApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProposalLoadBenchmarkTest {
+
+    private static final int TAXA = Integer.getInteger("carga.taxa", 200);
+    private static final int DURACAO = Integer.getInteger("carga.duracao", 30);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.aquecimento", 10);
+    private static final String MIX = System.getProperty("carga.mix", "criar=20,buscar=50,listar=20,pagar=10");
+    private static final String ROTULO = System.getProperty("carga.rotulo", "local");
+    private static final double MAX_TAXA_ERRO = Double.parseDouble(System.getProperty("carga.max-taxa-erro", "0.01"));
+
+    private static final int PARCELAS = 24;
+    private static final String PROPOSTA_JSON = """
+            {"cpf":"78858021088","valorSolicitado":2400.00,"quantidadeParcelas":24,"dataSolicitacao":"2025-08-12"}""";
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void mixDeOperacoesEmTaxaFixa() throws Exception {
+        Map<String, Integer> pesos = lerMix(MIX);
+        int pesoTotal = pesos.values().stream().mapToInt(Integer::intValue).sum();
+
+        // Propostas pré-criadas para buscas e pagamentos; cada pagamento quita uma parcela diferente
+        long pagamentosEsperados = (long) TAXA * (DURACAO + AQUECIMENTO) * pesos.getOrDefault("pagar", 0) / pesoTotal;
+        List<Long> ids = criarPropostasIniciais((int) Math.max(200, pagamentosEsperados / PARCELAS * 12 / 10 + 1));
+        AtomicLong proximoPagamento = new AtomicLong();
+
+        List<LoadGenerator.Operacao> operacoes = new ArrayList<>();
+        for (Map.Entry<String, Integer> peso : pesos.entrySet()) {
+            operacoes.add(new LoadGenerator.Operacao(peso.getKey(), peso.getValue(), switch (peso.getKey()) {
+                case "criar" -> () -> post("/propostas", PROPOSTA_JSON);
+                case "buscar" -> () -> get("/propostas/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+                case "listar" -> () -> get("/propostas?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=10");
+                case "pagar" -> () -> {
+                    long sequencial = proximoPagamento.getAndIncrement();
+                    long id = ids.get((int) (sequencial / PARCELAS % ids.size()));
+                    return post("/propostas/" + id + "/parcelas/" + (sequencial % PARCELAS + 1) + "/pagar", "");
+                };
+                default -> throw new IllegalArgumentException("Operação desconhecida no mix: " + peso.getKey());
+            }));
+        }
+
+        LoadGenerator gerador = new LoadGenerator(cliente, operacoes, Math.max(1000, TAXA * 10));
+        gerador.executar(TAXA, Duration.ofSeconds(AQUECIMENTO));
+        LoadGenerator.Resultado resultado = gerador.executar(TAXA, Duration.ofSeconds(DURACAO));
+
+        LoadGenerator.Medicoes total = LoadGenerator.Medicoes.combinar(resultado.operacoes().values());
+        imprimir(resultado, total);
+        Path arquivo = gravarRelatorio(pesos, resultado, total);
+        System.out.println("Relatório: " + arquivo.toAbsolutePath());
+
+        assertEquals(0, resultado.semResposta(), "todas as requisições devem ser respondidas");
+        assertTrue(total.taxaErro() <= MAX_TAXA_ERRO, "taxa de erro acima do limite: " + total.taxaErro());
+    }
+
+    private List<Long> criarPropostasIniciais(int quantidade) throws Exception {
+        List<Long> ids = new ArrayList<>(quantidade);
+        while (ids.size() < quantidade) {
+            int tamanho = Math.min(1000, quantidade - ids.size());
+            String lote = "[" + String.join(",", Collections.nCopies(tamanho, PROPOSTA_JSON)) + "]";
+            HttpResponse<String> resposta = cliente.send(post("/propostas/lote", lote), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, resposta.statusCode(), resposta.body());
+            for (JsonNode item : objectMapper.readTree(resposta.body()).get("itens")) {
+                ids.add(item.get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(uri(caminho)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String caminho, String corpo) {
+        return HttpRequest.newBuilder(uri(caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    private static Map<String, Integer> lerMix(String mix) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : mix.split(",")) {
+            String[] chaveValor = parte.strip().split("=");
+            pesos.put(chaveValor[0].strip(), Integer.parseInt(chaveValor[1].strip()));
+        }
+        return pesos;
+    }
+
+    private static void imprimir(LoadGenerator.Resultado resultado, LoadGenerator.Medicoes total) {
+        System.out.println();
+        System.out.printf("taxa=%d req/s duracao=%ds mix=%s%n", TAXA, DURACAO, MIX);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operacao", "requisicoes", "req/s", "erros", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)");
+        Map<String, LoadGenerator.Medicoes> linhas = new LinkedHashMap<>(resultado.operacoes());
+        linhas.put("total", total);
+        linhas.forEach((nome, m) -> System.out.printf("%-8s %10d %10.1f %9.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+                nome, m.requisicoes(), m.vazao(), m.taxaErro() * 100, m.percentilMillis(50),
+                m.percentilMillis(99), m.percentilMillis(99.9), m.percentilMillis(100)));
+        System.out.println();
+    }
+
+    private Path gravarRelatorio(Map<String, Integer> pesos, LoadGenerator.Resultado resultado,
+                                 LoadGenerator.Medicoes total) throws Exception {
+        Instant agora = Instant.now();
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("rotulo", ROTULO);
+        relatorio.put("inicio", agora.toString());
+        relatorio.put("java", System.getProperty("java.version"));
+        relatorio.put("processadores", Runtime.getRuntime().availableProcessors());
+        relatorio.put("configuracao", Map.of("taxa", TAXA, "duracaoSegundos", DURACAO,
+                "aquecimentoSegundos", AQUECIMENTO, "mix", pesos));
+        relatorio.put("semResposta", resultado.semResposta());
+        relatorio.put("total", resumo(total));
+        Map<String, Object> porOperacao = new LinkedHashMap<>();
+        resultado.operacoes().forEach((nome, m) -> porOperacao.put(nome, resumo(m)));
+        relatorio.put("operacoes", porOperacao);
+
+        Path diretorio = Path.of("target", "carga");
+        Files.createDirectories(diretorio);
+        String carimbo = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(agora);
+        Path arquivo = diretorio.resolve("relatorio-" + ROTULO + "-" + carimbo + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+        return arquivo;
+    }
+
+    private static Map<String, Object> resumo(LoadGenerator.Medicoes m) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("requisicoes", m.requisicoes());
+        resumo.put("vazao", m.vazao());
+        resumo.put("erros", m.erros());
+        resumo.put("taxaErro", m.taxaErro());
+        resumo.put("p50Millis", m.percentilMillis(50));
+        resumo.put("p99Millis", m.percentilMillis(99));
+        resumo.put("p999Millis", m.percentilMillis(99.9));
+        resumo.put("maxMillis", m.percentilMillis(100));
+        return resumo;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import br.com.credit.creditproposals.application.datasource.ReadYourWritesFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import javax.sql.DataSource;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Dois bancos H2 em memória: o principal (spring.datasource.url) e a réplica.
+ * A replicação é feita pelo teste, copiando o banco principal inteiro para a réplica (replicar()).
+ */
+@SpringBootTest(classes = CreditProposalsApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:primario;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "propostas.replica.habilitado=true",
+    "propostas.replica.url=jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "propostas.replica.usuario=sa",
+    "propostas.replica.senha=",
+    "propostas.replica.atraso-maximo=PT1M"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primarioDataSource")
+    private DataSource primario;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Test
+    void leiturasNaReplicaEEscritasNoPrincipal() throws Exception {
+        replicar();
+        String id = criarProposta("cliente-a", "94722767092");
+
+        // Outro cliente lê da réplica, que ainda não recebeu a proposta
+        mockMvc.perform(get("/propostas/" + id).header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/propostas").param("cpf", "94722767092").header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements", is(0)));
+
+        // Quem escreveu lê do principal durante o atraso máximo
+        mockMvc.perform(get("/propostas/" + id).header(ReadYourWritesFilter.CABECALHO, "cliente-a"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cpf", is("94722767092")));
+
+        replicar();
+        mockMvc.perform(get("/propostas").param("cpf", "94722767092").header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void propostaAlteradaRecarregadaDoPrincipalNoCache() throws Exception {
+        String id = criarProposta("cliente-a", "78858021088");
+        replicar();
+        mockMvc.perform(get("/propostas/" + id).header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas[0].status", is("EM_ABERTO")));
+
+        mockMvc.perform(post("/propostas/" + id + "/parcelas/1/pagar").header(ReadYourWritesFilter.CABECALHO, "cliente-a"))
+            .andExpect(status().isOk());
+
+        // A consulta por ID não guarda no cache a versão da réplica, anterior ao pagamento
+        mockMvc.perform(get("/propostas/" + id).header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcelas[0].status", is("PAGA")));
+        // A listagem de outro cliente continua na réplica até a replicação
+        mockMvc.perform(get("/propostas").param("cpf", "78858021088").header(ReadYourWritesFilter.CABECALHO, "cliente-b"))
+            .andExpect(jsonPath("$.content[0].parcelas[0].status", is("EM_ABERTO")));
+    }
+
+    private String criarProposta(String cliente, String cpf) throws Exception {
+        String proposta = """
+            {"cpf": "%s", "valorSolicitado": 900.00, "quantidadeParcelas": 3, "dataSolicitacao": "2025-08-12"}
+            """.formatted(cpf);
+        return mockMvc.perform(post("/propostas").header(ReadYourWritesFilter.CABECALHO, cliente)
+                .contentType(MediaType.APPLICATION_JSON).content(proposta))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    // Recria a réplica com o esquema e os dados atuais do principal
+    private void replicar() {
+        JdbcTemplate destino = new JdbcTemplate(replica);
+        destino.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primario).queryForList("SCRIPT", String.class).stream()
+            .filter(comando -> !comando.startsWith("--"))
+            .forEach(destino::execute);
+    }
+}
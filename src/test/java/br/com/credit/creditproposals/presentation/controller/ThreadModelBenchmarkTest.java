@@ -0,0 +1,154 @@
+package br.com.credit.creditproposals.presentation.controller;
+
+import br.com.credit.creditproposals.CreditProposalsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara o modelo atual (uma thread do pool do Tomcat por requisição) com o modo de threads virtuais,
+ * sob a mesma carga de alta concorrência: buscas sem cache e pagamentos, em taxa de chegada fixa.
+ *
+ * Cada modo sobe uma instância própria da aplicação (perfil de teste, H2) com o mesmo limite de concorrência
+ * (server.tomcat.threads.max e propostas.threads-virtuais.max-concorrencia).
+ *
+ * A tabela de resultados é impressa e gravada em Markdown em target/carga/threads-*.md,
+ * no formato da seção "Threads de plataforma x threads virtuais" do README.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ThreadModelBenchmarkTest
+ * Parâmetros (-D): carga.taxa=2000 (req/s), carga.duracao=20 (segundos), carga.concorrencia=200
+ */
+@Tag("benchmark")
+class ThreadModelBenchmarkTest {
+
+    private static final int TAXA = Integer.getInteger("carga.taxa", 2000);
+    private static final int DURACAO = Integer.getInteger("carga.duracao", 20);
+    private static final int CONCORRENCIA = Integer.getInteger("carga.concorrencia", 200);
+    private static final int PARCELAS = 24;
+    private static final String PROPOSTA_JSON = """
+            {"cpf":"78858021088","valorSolicitado":2400.00,"quantidadeParcelas":24,"dataSolicitacao":"2025-08-12"}""";
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compararThreadsDePlataformaComThreadsVirtuais() throws Exception {
+        Map<String, LoadGenerator.Medicoes> resultados = new LinkedHashMap<>();
+        resultados.put("plataforma", medir(false));
+        resultados.put("virtual", medir(true));
+
+        System.out.println();
+        System.out.printf("taxa=%d req/s duracao=%ds concorrencia=%d%n", TAXA, DURACAO, CONCORRENCIA);
+        System.out.printf("%-12s %12s %10s %10s %10s %10s %10s%n",
+                "modo", "requisicoes", "req/s", "erros", "p50 (ms)", "p99 (ms)", "p999 (ms)");
+        resultados.forEach((modo, m) -> System.out.printf("%-12s %12d %10.1f %9.2f%% %10.2f %10.2f %10.2f%n",
+                modo, m.requisicoes(), m.vazao(), m.taxaErro() * 100, m.percentilMillis(50),
+                m.percentilMillis(99), m.percentilMillis(99.9)));
+        System.out.println();
+        System.out.println("Relatório: " + gravarRelatorio(resultados).toAbsolutePath());
+    }
+
+    private Path gravarRelatorio(Map<String, LoadGenerator.Medicoes> resultados) throws Exception {
+        Instant agora = Instant.now();
+        StringBuilder tabela = new StringBuilder()
+                .append(String.format("Java %s, %d processadores; taxa=%d req/s, duracao=%ds, concorrencia=%d%n%n",
+                        System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(),
+                        TAXA, DURACAO, CONCORRENCIA))
+                .append("| modo | requisições | req/s | erros | p50 (ms) | p99 (ms) | p999 (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|\n");
+        resultados.forEach((modo, m) -> tabela.append(String.format(Locale.ROOT,
+                "| %s | %d | %.1f | %.2f%% | %.2f | %.2f | %.2f |%n", modo, m.requisicoes(), m.vazao(),
+                m.taxaErro() * 100, m.percentilMillis(50), m.percentilMillis(99), m.percentilMillis(99.9))));
+
+        Path diretorio = Path.of("target", "carga");
+        Files.createDirectories(diretorio);
+        String carimbo = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(agora);
+        return Files.writeString(diretorio.resolve("threads-" + carimbo + ".md"), tabela);
+    }
+
+    private LoadGenerator.Medicoes medir(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CreditProposalsApplication.class)
+                .profiles("test")
+                // Argumentos de linha de comando: ao contrário de properties(), que só define valores padrão,
+                // prevalecem sobre o application.properties e o perfil de teste
+                .run(
+                        "--server.port=0",
+                        // Banco próprio por instância, e todas as buscas indo ao banco
+                        "--spring.datasource.url=jdbc:h2:mem:threads" + threadsVirtuais + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--propostas.cache.habilitado=false",
+                        "--server.tomcat.threads.max=" + CONCORRENCIA,
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=10000",
+                        "--propostas.threads-virtuais.habilitado=" + threadsVirtuais,
+                        "--propostas.threads-virtuais.max-concorrencia=" + CONCORRENCIA)) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            List<Long> ids = criarPropostas(porta, (int) ((long) TAXA * (DURACAO + 5) / 2 / PARCELAS) + 100);
+            AtomicLong proximoPagamento = new AtomicLong();
+
+            List<LoadGenerator.Operacao> operacoes = List.of(
+                    new LoadGenerator.Operacao("buscar", 1, () -> get(porta,
+                            "/propostas/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))),
+                    new LoadGenerator.Operacao("pagar", 1, () -> {
+                        long sequencial = proximoPagamento.getAndIncrement();
+                        long id = ids.get((int) (sequencial / PARCELAS % ids.size()));
+                        return post(porta, "/propostas/" + id + "/parcelas/" + (sequencial % PARCELAS + 1) + "/pagar", "");
+                    }));
+
+            LoadGenerator gerador = new LoadGenerator(cliente, operacoes, TAXA * 10);
+            gerador.executar(TAXA, Duration.ofSeconds(5));
+            LoadGenerator.Resultado resultado = gerador.executar(TAXA, Duration.ofSeconds(DURACAO));
+            return LoadGenerator.Medicoes.combinar(resultado.operacoes().values());
+        }
+    }
+
+    private List<Long> criarPropostas(int porta, int quantidade) throws Exception {
+        List<Long> ids = new ArrayList<>(quantidade);
+        while (ids.size() < quantidade) {
+            int tamanho = Math.min(1000, quantidade - ids.size());
+            String lote = "[" + String.join(",", Collections.nCopies(tamanho, PROPOSTA_JSON)) + "]";
+            HttpResponse<String> resposta = cliente.send(post(porta, "/propostas/lote", lote),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, resposta.statusCode(), resposta.body());
+            for (JsonNode item : objectMapper.readTree(resposta.body()).get("itens")) {
+                ids.add(item.get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private static HttpRequest get(int porta, String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(int porta, String caminho, String corpo) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.credit.creditproposals.presentation.dto;
+
+import br.com.credit.creditproposals.application.query.InstallmentView;
+import br.com.credit.creditproposals.application.query.ProposalView;
+import br.com.credit.creditproposals.domain.model.InstallmentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProposalJsonSerializersTest {
+
+    // Datas como texto ISO, como no ObjectMapper do Spring Boot
+    private final ObjectMapper introspeccao = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper serializadores = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializers(new ProposalJsonSerializers.ProposalViewSerializer(),
+                    new ProposalJsonSerializers.CompactProposalSerializer())
+            .build();
+
+    private final ProposalView proposta = new ProposalView(7L, "78858021088", new BigDecimal("300.00"), 3,
+            LocalDate.of(2025, 8, 12), List.of(
+                    new InstallmentView(10L, 1, new BigDecimal("100.00"), InstallmentStatus.PAGA, LocalDate.of(2025, 9, 12)),
+                    new InstallmentView(null, 2, new BigDecimal("100.00"), InstallmentStatus.EM_ABERTO, null),
+                    new InstallmentView(12L, 3, new BigDecimal("100.00"), InstallmentStatus.PAGA, LocalDate.of(2025, 11, 12))));
+
+    @Test
+    void serializadorDedicadoGeraOMesmoJsonDoRecord() throws Exception {
+        assertEquals(introspeccao.writeValueAsString(proposta), serializadores.writeValueAsString(proposta));
+    }
+
+    @Test
+    void formatoCompactoEnviaValorUnicoEMapaDePagas() throws Exception {
+        CompactProposalResponse compacta = CompactProposalResponse.de(proposta);
+
+        assertEquals("{\"id\":7,\"cpf\":\"78858021088\",\"valorSolicitado\":300.00,\"quantidadeParcelas\":3,"
+                        + "\"dataSolicitacao\":\"2025-08-12\",\"valorParcela\":100.00,\"parcelasPagas\":5,"
+                        + "\"parcelasVencidas\":0}",
+                serializadores.writeValueAsString(compacta));
+        assertEquals(introspeccao.writeValueAsString(compacta), serializadores.writeValueAsString(compacta));
+    }
+
+    @Test
+    void formatoCompactoMarcaAsParcelasNaoPagasComVencimentoAnteriorAHoje() {
+        LocalDate hoje = LocalDate.now();
+        ProposalView emAtraso = new ProposalView(8L, "78858021088", new BigDecimal("300.00"), 3, hoje.minusMonths(3), List.of(
+                new InstallmentView(null, 1, new BigDecimal("100.00"), InstallmentStatus.PAGA, hoje.minusMonths(2)),
+                new InstallmentView(null, 2, new BigDecimal("100.00"), InstallmentStatus.EM_ABERTO, hoje.minusDays(1)),
+                new InstallmentView(null, 3, new BigDecimal("100.00"), InstallmentStatus.EM_ABERTO, hoje)));
+
+        CompactProposalResponse compacta = CompactProposalResponse.de(emAtraso);
+
+        assertEquals(1, compacta.parcelasPagas());
+        assertEquals(2, compacta.parcelasVencidas());
+    }
+}